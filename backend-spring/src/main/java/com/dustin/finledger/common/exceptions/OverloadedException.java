@@ -0,0 +1,21 @@
+package com.dustin.finledger.common.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the service has no capacity left for a request; the client
+ * should retry after {@link #getRetryAfter()}.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,13 @@
+package com.dustin.finledger.common.id;
+
+import java.util.UUID;
+
+/**
+ * Source of new identifiers for ledger aggregates and journal lines.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+    UUID nextId();
+}
@@ -0,0 +1,30 @@
+package com.dustin.finledger.common.id;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Process-wide access point for the configured {@link IdGenerator}.
+ * <p>
+ * Value objects such as {@code AccountId.newId()} call {@link #next()} so the
+ * domain stays free of framework wiring. Defaults to {@link UuidV7Generator};
+ * the application swaps it at startup from {@code finledger.ids.generator}.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = new UuidV7Generator();
+
+    private Ids() {}
+
+    public static UUID next() {
+        return generator.nextId();
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = Objects.requireNonNull(idGenerator, "idGenerator");
+    }
+
+    public static IdGenerator current() {
+        return generator;
+    }
+}
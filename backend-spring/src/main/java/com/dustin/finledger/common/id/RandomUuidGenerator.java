@@ -0,0 +1,14 @@
+package com.dustin.finledger.common.id;
+
+import java.util.UUID;
+
+/**
+ * Generates random version 4 UUIDs via {@link UUID#randomUUID()}.
+ */
+public final class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,51 @@
+package com.dustin.finledger.common.money;
+
+import java.util.Currency;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Fraction digits and the matching power of ten for a currency, looked up
+ * once and cached so minor-unit arithmetic never recomputes them.
+ */
+public final class CurrencyScale {
+
+    private static final ConcurrentMap<Currency, CurrencyScale> CACHE = new ConcurrentHashMap<>();
+
+    private final Currency currency;
+    private final int fractionDigits;
+    private final long minorUnitsPerMajor;
+
+    private CurrencyScale(Currency currency) {
+        this.currency = currency;
+        // Pseudo-currencies such as XXX report -1; treat them as whole units.
+        this.fractionDigits = Math.max(0, currency.getDefaultFractionDigits());
+        this.minorUnitsPerMajor = pow10(fractionDigits);
+    }
+
+    public static CurrencyScale of(Currency currency) {
+        Objects.requireNonNull(currency, "currency");
+        return CACHE.computeIfAbsent(currency, CurrencyScale::new);
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    public int fractionDigits() {
+        return fractionDigits;
+    }
+
+    public long minorUnitsPerMajor() {
+        return minorUnitsPerMajor;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
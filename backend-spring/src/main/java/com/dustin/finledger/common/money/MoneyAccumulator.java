@@ -0,0 +1,64 @@
+package com.dustin.finledger.common.money;
+
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Mutable running total in minor units for reductions over many amounts,
+ * such as summing the lines of a journal entry. Each {@code add} is a single
+ * overflow-checked {@code long} addition; nothing is allocated per step.
+ * <p>
+ * Not thread-safe.
+ */
+public final class MoneyAccumulator {
+
+    private final Currency currency;
+    private long minorUnits;
+
+    public MoneyAccumulator(Currency currency) {
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code money} is in another currency
+     * @throws ArithmeticException if the total overflows
+     */
+    public MoneyAccumulator add(Money money) {
+        requireCurrency(money.currency());
+        return addMinorUnits(MoneyMinor.toMinorUnits(money.amount(), currency));
+    }
+
+    public MoneyAccumulator add(MoneyMinor money) {
+        requireCurrency(money.currency());
+        return addMinorUnits(money.minorUnits());
+    }
+
+    public MoneyAccumulator addMinorUnits(long amount) {
+        minorUnits = Math.addExact(minorUnits, amount);
+        return this;
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public MoneyMinor toMoneyMinor() {
+        return new MoneyMinor(minorUnits, currency);
+    }
+
+    public Money toMoney() {
+        return new Money(MoneyMinor.toDecimal(minorUnits, currency), currency);
+    }
+
+    private void requireCurrency(Currency other) {
+        if (!currency.equals(other)) {
+            throw new IllegalArgumentException(
+                "Currency mismatch: " + currency + " vs " + other
+            );
+        }
+    }
+}
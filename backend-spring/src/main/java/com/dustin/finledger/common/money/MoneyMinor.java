@@ -0,0 +1,96 @@
+package com.dustin.finledger.common.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of money held as a {@code long} count of the currency's minor
+ * units (cents for USD, yen for JPY).
+ * <p>
+ * Arithmetic is exact and allocation-free apart from the result record;
+ * overflow throws {@link ArithmeticException} instead of wrapping. Convert
+ * to and from {@link Money} / {@link BigDecimal} only at the edges (JSON, database).
+ * 
+ * Example usage:
+ * <pre>
+ * MoneyMinor fee = MoneyMinor.of(new BigDecimal("1.25"), Currency.getInstance("USD")); // 125
+ * MoneyMinor total = fee.add(fee);                                                     // 250
+ * Money money = total.toMoney();                                                        // 2.50 USD
+ * </pre>
+ */
+public record MoneyMinor(long minorUnits, Currency currency) {
+
+    public MoneyMinor {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static MoneyMinor zero(Currency currency) {
+        return new MoneyMinor(0L, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more decimal places than
+     *                             the currency allows or does not fit in a {@code long}
+     */
+    public static MoneyMinor of(BigDecimal amount, Currency currency) {
+        return new MoneyMinor(toMinorUnits(amount, currency), currency);
+    }
+
+    public static MoneyMinor from(Money money) {
+        return of(money.amount(), money.currency());
+    }
+
+    /**
+     * Converts a decimal amount to minor units of {@code currency}.
+     *
+     * @throws ArithmeticException if precision would be lost or the result overflows
+     */
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        int digits = CurrencyScale.of(currency).fractionDigits();
+        return amount.setScale(digits, RoundingMode.UNNECESSARY).movePointRight(digits).longValueExact();
+    }
+
+    /**
+     * Converts minor units of {@code currency} back to a decimal amount at the currency's scale.
+     */
+    public static BigDecimal toDecimal(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, CurrencyScale.of(currency).fractionDigits());
+    }
+
+    public MoneyMinor add(MoneyMinor other) {
+        requireSameCurrency(other);
+        return new MoneyMinor(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public MoneyMinor subtract(MoneyMinor other) {
+        requireSameCurrency(other);
+        return new MoneyMinor(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public MoneyMinor negate() {
+        return new MoneyMinor(Math.negateExact(minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toDecimal(minorUnits, currency);
+    }
+
+    public Money toMoney() {
+        return new Money(toBigDecimal(), currency);
+    }
+
+    private void requireSameCurrency(MoneyMinor other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                "Currency mismatch: " + this.currency + " vs " + other.currency
+            );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dustin.finledger.common.threads;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by an unbounded set of keys.
+ * <p>
+ * Each key maps to one stripe by its hash, so memory stays constant however
+ * many keys there are, at the cost of unrelated keys occasionally sharing a
+ * lock. {@link #lockAll} takes every stripe a group of keys needs in ascending
+ * stripe order. Because all callers use that one order, two callers locking
+ * overlapping groups can never wait on each other in a cycle.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        if (stripes < 1 || stripes > 1 << 30) {
+            throw new IllegalArgumentException("stripes must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    int stripeFor(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Blocks until the stripes of all {@code keys} are held by the current
+     * thread. Keys that share a stripe lock it only once.
+     */
+    public Held lockAll(Collection<?> keys) {
+        int[] stripes = new int[keys.size()];
+        int n = 0;
+        for (Object key : keys) {
+            stripes[n++] = stripeFor(key);
+        }
+        Arrays.sort(stripes);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || stripes[distinct - 1] != stripes[i]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+        int[] held = Arrays.copyOf(stripes, distinct);
+        for (int i = 0; i < held.length; i++) {
+            locks[held[i]].lock();
+        }
+        return new Held(held);
+    }
+
+    /** Stripes held by one {@link #lockAll} call; closing releases them. */
+    public final class Held implements AutoCloseable {
+
+        private final int[] stripes;
+        private boolean released;
+
+        private Held(int[] stripes) {
+            this.stripes = stripes;
+        }
+
+        /** Releases the stripes. Must run on the thread that locked them; later calls do nothing. */
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dustin.finledger.common.threads;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event and publishes it as the
+ * {@code jvm.threads.virtual.pinned} timer.
+ * <p>
+ * A virtual thread is pinned when it blocks while it cannot unmount from its
+ * carrier, on Java 21 typically inside a {@code synchronized} block or a native
+ * frame. Each pin holds a carrier thread, so a steady count here means
+ * blocking code that caps throughput in virtual-thread mode. Pins longer than
+ * {@code threshold} are counted; the frame that pinned is logged at debug level.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (stream != null) return;
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isDebugEnabled() && event.getStackTrace() != null && !event.getStackTrace().getFrames().isEmpty()) {
+            RecordedFrame top = event.getStackTrace().getFrames().get(0);
+            log.debug("Virtual thread pinned for {} at {}.{}:{}", event.getDuration(),
+                top.getMethod().getType().getName(), top.getMethod().getName(), top.getLineNumber());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.dustin.finledger.common.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps how many requests run at once, with a cap that follows observed latency
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * Every completed request is a sample. A sample slower than
+ * {@code latencyThreshold}, or one the caller reports as overloaded, cuts the
+ * limit by {@code backoffRatio}; any other sample taken while at least half
+ * the limit is in use raises it by {@code 1 / limit}, so a fully used limit
+ * grows by about one per round of requests. The limit stays between
+ * {@code minLimit} and {@code maxLimit}.
+ * <p>
+ * The limit is cut at most once per round trip: requests that started before
+ * the last cut were admitted under the old limit, so their slow samples report
+ * the same overload and are not counted again. Requests whose latency says
+ * nothing about load can be released without a sample.
+ * <p>
+ * A request over the limit may wait, up to {@code maxQueue} of them at a time,
+ * for a slot to free up; beyond that, or after the wait, it is refused.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Guarded by lock.
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private boolean cut;
+    private long lastCutNanos;
+
+    public AdaptiveConcurrencyLimiter(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        Duration latencyThreshold,
+        double backoffRatio,
+        int maxQueue
+    ) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("maxQueue must not be negative");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Takes a slot, waiting up to {@code maxWait} if none is free. A caller
+     * that gets one must {@link #release} it.
+     *
+     * @return whether a slot was taken
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueue) {
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot and adjusts the limit.
+     *
+     * @param startedNanos   {@link System#nanoTime()} when the request took the slot
+     * @param finishedNanos  {@link System#nanoTime()} when it finished
+     * @param overloaded     whether the request failed because something downstream was overloaded
+     */
+    public void release(long startedNanos, long finishedNanos, boolean overloaded) {
+        boolean slow = finishedNanos - startedNanos > latencyThresholdNanos;
+        release(startedNanos, finishedNanos, overloaded || slow, true);
+    }
+
+    /**
+     * Gives back a slot without a latency sample, for requests whose duration
+     * depends on their size rather than on load. Only an overload still cuts
+     * the limit.
+     */
+    public void releaseWithoutSample(long startedNanos, long finishedNanos, boolean overloaded) {
+        release(startedNanos, finishedNanos, overloaded, false);
+    }
+
+    private void release(long startedNanos, long finishedNanos, boolean backOff, boolean sampled) {
+        lock.lock();
+        try {
+            int used = inFlight--;
+            if (backOff) {
+                if (!cut || startedNanos - lastCutNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    cut = true;
+                    lastCutNanos = finishedNanos;
+                }
+            } else if (sampled && used * 2 >= currentLimit()) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            if (inFlight < currentLimit()) {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Requests waiting for a slot. */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+}
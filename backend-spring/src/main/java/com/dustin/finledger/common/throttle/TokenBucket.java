@@ -0,0 +1,49 @@
+package com.dustin.finledger.common.throttle;
+
+/**
+ * Token bucket: lets through bursts of up to {@code capacity} requests and
+ * {@code ratePerSecond} on average after that.
+ * <p>
+ * Tokens are not refilled by a timer but worked out from the time elapsed
+ * since the last call, so an idle bucket costs nothing. Time is passed in as
+ * {@link System#nanoTime()} readings. All methods are thread-safe.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    /** Starts full. */
+    public TokenBucket(double ratePerSecond, int capacity, long nowNanos) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    public synchronized long tryAcquire(long nowNanos) {
+        long elapsed = nowNanos - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = nowNanos;
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+}
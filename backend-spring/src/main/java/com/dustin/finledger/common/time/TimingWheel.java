@@ -0,0 +1,191 @@
+package com.dustin.finledger.common.time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hierarchical timing wheel: O(1) scheduling and cancellation of many
+ * timeouts, fired in batches as time is advanced.
+ * <p>
+ * Level 0 has 64 slots of one tick each; every level above has 64 slots, each
+ * as long as the whole level below. A timeout goes into the lowest level whose
+ * span covers its delay. When the wheel below wraps around, the next slot of
+ * the level above is emptied and its timeouts are re-inserted lower down
+ * ("cascaded"), so each timeout is touched at most once per level, however
+ * long its delay. Delays beyond the top level wait in its farthest slot and
+ * are re-placed each time that slot comes round.
+ * <p>
+ * Time is measured in ticks, starting at {@code startTick}, and only moves when
+ * {@link #advanceTo} is called, typically from one driver thread. All methods
+ * are thread-safe.
+ *
+ * @param <T> what a timeout carries to its handler
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final Bucket[][] wheels;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(int levels, long startTick) {
+        if (levels < 1 || levels > 10) {
+            throw new IllegalArgumentException("levels must be between 1 and 10");
+        }
+        this.wheels = new Bucket[levels][SLOTS];
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /** A scheduled timeout; pass it to {@link #cancel} to drop it before it fires. */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Bucket bucket;
+        private Timeout<?> prev;
+        private Timeout<?> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadlineTick() {
+            return deadlineTick;
+        }
+    }
+
+    public synchronized long currentTick() {
+        return currentTick;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Schedules {@code payload} to fire at {@code deadlineTick}. A deadline
+     * that has already passed fires on the next advance.
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineTick) {
+        Objects.requireNonNull(payload, "payload must not be null");
+        Timeout<T> timeout = new Timeout<>(payload, deadlineTick);
+        place(timeout, 1);
+        size++;
+        return timeout;
+    }
+
+    /** @return {@code false} if the timeout already fired or was cancelled */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /** Moves time forward to {@code tick} and returns the payloads that came due. */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> advanceTo(long tick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            // Cascade from the top so a timeout can drop several levels in one tick.
+            for (int level = wheels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    Bucket bucket = wheels[level][slot(currentTick, level)];
+                    for (Timeout<?> t = bucket.drain(); t != null; ) {
+                        Timeout<?> next = t.next;
+                        t.next = null;
+                        // Level 0 of this tick is drained below, so one due now still fires on time.
+                        place(t, 0);
+                        t = next;
+                    }
+                }
+            }
+            Bucket due = wheels[0][slot(currentTick, 0)];
+            for (Timeout<?> t = due.drain(); t != null; ) {
+                Timeout<?> next = t.next;
+                t.next = null;
+                if (t.deadlineTick <= currentTick) {
+                    size--;
+                    expired.add((T) t.payload);
+                } else {
+                    place(t, 1);
+                }
+                t = next;
+            }
+        }
+        return expired;
+    }
+
+    private void place(Timeout<?> timeout, long minDelay) {
+        long delay = Math.max(minDelay, timeout.deadlineTick - currentTick);
+        int level = 0;
+        while (level < wheels.length - 1 && delay >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        long target = level == wheels.length - 1 && delay >= 1L << (BITS * (level + 1))
+            // Beyond the top level: park in the slot just behind the current one.
+            ? currentTick + ((long) MASK << (BITS * level))
+            : currentTick + delay;
+        wheels[level][slot(target, level)].add(timeout);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (BITS * level)) & MASK);
+    }
+
+    /** Doubly linked list of timeouts, so cancellation is O(1). */
+    private static final class Bucket {
+        private Timeout<?> head;
+
+        void add(Timeout<?> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<?> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /** Empties the bucket and returns its former head; the chain stays linked through {@code next}. */
+        Timeout<?> drain() {
+            Timeout<?> first = head;
+            head = null;
+            for (Timeout<?> t = first; t != null; t = t.next) {
+                t.bucket = null;
+                t.prev = null;
+            }
+            return first;
+        }
+    }
+}
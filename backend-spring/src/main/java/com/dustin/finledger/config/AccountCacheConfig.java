@@ -0,0 +1,48 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.infrastructure.cache.CachedAccount;
+import com.dustin.finledger.ledger.infrastructure.cache.CachingAccountRepository;
+import com.dustin.finledger.ledger.infrastructure.persistence.AccountJpaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Wraps the JPA account repository in a bounded Caffeine cache when
+ * {@code finledger.cache.accounts.enabled=true}. Hit, miss and eviction
+ * counts are published as {@code cache.*} metrics tagged {@code cache=accounts}.
+ * Not used under the {@code in-memory} profile, which has no JPA repository.
+ */
+@Configuration
+@Profile("!in-memory")
+@EnableConfigurationProperties(AccountCacheProperties.class)
+@ConditionalOnProperty(prefix = "finledger.cache.accounts", name = "enabled", havingValue = "true")
+public class AccountCacheConfig {
+
+    @Bean
+    public Cache<AccountId, CachedAccount> accountCache(AccountCacheProperties properties, MeterRegistry meterRegistry) {
+        Cache<AccountId, CachedAccount> cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+
+    @Bean
+    @Primary
+    public AccountRepository cachingAccountRepository(AccountJpaRepository accountJpaRepository, Cache<AccountId, CachedAccount> accountCache) {
+        return new CachingAccountRepository(accountJpaRepository, accountCache);
+    }
+}
@@ -0,0 +1,20 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-process account cache ({@code finledger.cache.accounts.*}).
+ *
+ * @param enabled           whether the cache decorator is installed
+ * @param maximumSize       upper bound on cached accounts before size-based eviction
+ * @param expireAfterWrite  how long an account may stay cached after it was loaded
+ */
+@ConfigurationProperties(prefix = "finledger.cache.accounts")
+public record AccountCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration expireAfterWrite
+) {}
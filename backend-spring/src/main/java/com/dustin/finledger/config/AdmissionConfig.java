@@ -0,0 +1,37 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.dustin.finledger.ledger.api.AdmissionFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Installs admission control in front of the write endpoints when
+ * {@code finledger.admission.enabled=true}. It runs before every other filter,
+ * so a refused request costs as little as possible.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "finledger.admission", name = "enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+        AdmissionProperties properties,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<AdmissionFilter> registration =
+            new FilterRegistrationBean<>(new AdmissionFilter(properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/transactions", "/transactions/*", "/accounts", "/accounts/*", "/holds", "/holds/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
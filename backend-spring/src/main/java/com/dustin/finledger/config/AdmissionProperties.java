@@ -0,0 +1,49 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for admission control on the write endpoints ({@code finledger.admission.*}).
+ *
+ * @param enabled            whether write requests go through admission control at all
+ * @param clientHeader       request header naming the client, honoured only from a trusted proxy
+ * @param trustedProxies     remote addresses whose {@code clientHeader} is believed; every other
+ *                           request is keyed on its remote address
+ * @param clientRate         requests per second each client may make on average
+ * @param clientBurst        requests a client may make at once after being idle
+ * @param maxClients         clients whose token buckets are kept in memory
+ * @param clientIdleTimeout  how long an unused bucket is kept before it is dropped
+ * @param initialLimit       concurrent write requests allowed at startup
+ * @param minLimit           lowest the concurrency limit goes under load
+ * @param maxLimit           highest the concurrency limit goes
+ * @param latencyThreshold   latency above which a request counts as a sign of overload
+ * @param latencyExemptPaths paths whose latency grows with the request's size, such as batches;
+ *                           they still take a slot, but only a {@code 503} from them cuts the limit
+ * @param backoffRatio       factor the limit is multiplied by on overload
+ * @param maxQueue           requests that may wait for a slot when the limit is reached
+ * @param maxQueueWait       how long a request waits for a slot before it is refused
+ * @param retryAfter         {@code Retry-After} sent when the concurrency limit refuses a request
+ */
+@ConfigurationProperties(prefix = "finledger.admission")
+public record AdmissionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("X-Client-Id") String clientHeader,
+    @DefaultValue List<String> trustedProxies,
+    @DefaultValue("100") double clientRate,
+    @DefaultValue("200") int clientBurst,
+    @DefaultValue("100000") long maxClients,
+    @DefaultValue("10m") Duration clientIdleTimeout,
+    @DefaultValue("32") int initialLimit,
+    @DefaultValue("4") int minLimit,
+    @DefaultValue("256") int maxLimit,
+    @DefaultValue("500ms") Duration latencyThreshold,
+    @DefaultValue("/transactions/batch") List<String> latencyExemptPaths,
+    @DefaultValue("0.9") double backoffRatio,
+    @DefaultValue("64") int maxQueue,
+    @DefaultValue("50ms") Duration maxQueueWait,
+    @DefaultValue("1s") Duration retryAfter
+) {}
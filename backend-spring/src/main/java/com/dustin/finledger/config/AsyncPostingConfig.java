@@ -0,0 +1,28 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.ledger.application.AsyncPostingService;
+import com.dustin.finledger.ledger.application.RecordJournalEntryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Starts the workers behind {@code POST /transactions?mode=async} and drains
+ * the queue on shutdown.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncPostingProperties.class)
+public class AsyncPostingConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AsyncPostingService asyncPostingService(
+        RecordJournalEntryService recordJournalEntryService,
+        AsyncPostingProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new AsyncPostingService(recordJournalEntryService, properties, meterRegistry);
+    }
+}
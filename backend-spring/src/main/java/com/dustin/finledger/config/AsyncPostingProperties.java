@@ -0,0 +1,24 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for asynchronous postings ({@code finledger.async-posting.*}).
+ *
+ * @param queueCapacity    postings waiting for a worker before new ones are refused
+ * @param workers          threads recording queued postings
+ * @param ticketRetention  how long a ticket can be polled after it was last updated
+ * @param maxTickets       upper bound on tickets kept for polling
+ * @param maxWait          longest a status request may long-poll
+ */
+@ConfigurationProperties(prefix = "finledger.async-posting")
+public record AsyncPostingProperties(
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("4") int workers,
+    @DefaultValue("10m") Duration ticketRetention,
+    @DefaultValue("1000000") long maxTickets,
+    @DefaultValue("30s") Duration maxWait
+) {}
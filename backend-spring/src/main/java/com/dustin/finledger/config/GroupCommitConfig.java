@@ -0,0 +1,33 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.ledger.application.GroupCommitCoordinator;
+import com.dustin.finledger.ledger.application.RecordJournalEntryBatchService;
+import com.dustin.finledger.ledger.application.RecordJournalEntryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes single postings through a {@link GroupCommitCoordinator} when
+ * {@code finledger.group-commit.enabled=true}, so concurrent requests share
+ * one database commit.
+ */
+@Configuration
+@EnableConfigurationProperties(GroupCommitProperties.class)
+@ConditionalOnProperty(prefix = "finledger.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public GroupCommitCoordinator groupCommitCoordinator(
+        RecordJournalEntryBatchService batchService,
+        RecordJournalEntryService singleService,
+        GroupCommitProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new GroupCommitCoordinator(batchService, singleService, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for group commit of single journal postings ({@code finledger.group-commit.*}).
+ *
+ * @param enabled        whether {@code POST /transactions} goes through the coordinator
+ * @param window         how long the coordinator waits for more postings after the first
+ * @param maxBatch       most postings written in one transaction
+ * @param queueCapacity  postings waiting for a batch before callers block
+ */
+@ConfigurationProperties(prefix = "finledger.group-commit")
+public record GroupCommitProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("2ms") Duration window,
+    @DefaultValue("256") int maxBatch,
+    @DefaultValue("10000") int queueCapacity
+) {}
@@ -0,0 +1,33 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.ledger.application.HoldService;
+import com.dustin.finledger.ledger.application.OverdraftGuard;
+import com.dustin.finledger.ledger.application.RecordJournalEntryService;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.HoldRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(HoldProperties.class)
+public class HoldConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public HoldService holdService(
+        HoldRepository holdRepository,
+        AccountRepository accountRepository,
+        OverdraftGuard overdraftGuard,
+        RecordJournalEntryService recordJournalEntryService,
+        PlatformTransactionManager transactionManager,
+        HoldProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new HoldService(holdRepository, accountRepository, overdraftGuard,
+            recordJournalEntryService, transactionManager, properties, meterRegistry);
+    }
+}
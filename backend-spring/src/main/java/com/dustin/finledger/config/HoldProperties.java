@@ -0,0 +1,22 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for authorization holds ({@code finledger.holds.*}).
+ *
+ * @param defaultExpiry  how long a hold lasts when the request does not say
+ * @param maxExpiry      longest expiry a request may ask for
+ * @param tick           resolution of the expiry timing wheel; holds expire up to one tick late
+ * @param wheelLevels    levels of the timing wheel, each covering 64 times the span of the one below
+ */
+@ConfigurationProperties(prefix = "finledger.holds")
+public record HoldProperties(
+    @DefaultValue("7d") Duration defaultExpiry,
+    @DefaultValue("30d") Duration maxExpiry,
+    @DefaultValue("1s") Duration tick,
+    @DefaultValue("4") int wheelLevels
+) {}
@@ -0,0 +1,29 @@
+package com.dustin.finledger.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.common.id.IdGenerator;
+import com.dustin.finledger.common.id.Ids;
+import com.dustin.finledger.common.id.RandomUuidGenerator;
+import com.dustin.finledger.common.id.UuidV7Generator;
+
+/**
+ * Selects the identifier strategy from {@code finledger.ids.generator}
+ * ({@code uuidv7} by default, or {@code random}) and installs it in {@link Ids}.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${finledger.ids.generator:uuidv7}") String strategy) {
+        IdGenerator generator = switch (strategy.trim().toLowerCase()) {
+            case "uuidv7" -> new UuidV7Generator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Invalid id generator: " + strategy);
+        };
+        Ids.use(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,34 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.ledger.api.IdempotencyFilter;
+import com.dustin.finledger.ledger.application.IdempotencyService;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyKeyRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Installs {@code Idempotency-Key} handling in front of the transaction endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean(initMethod = "start")
+    public IdempotencyService idempotencyService(IdempotencyKeyRepository repository, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return new IdempotencyService(repository, properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+            new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, objectMapper));
+        registration.addUrlPatterns("/transactions", "/transactions/*");
+        return registration;
+    }
+}
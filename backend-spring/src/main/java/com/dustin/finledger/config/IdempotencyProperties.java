@@ -0,0 +1,24 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for {@code Idempotency-Key} handling ({@code finledger.idempotency.*}).
+ *
+ * @param retention          how long a key is remembered after it is first used
+ * @param expectedKeys       keys the Bloom filter is sized for within one retention window
+ * @param falsePositiveRate  target rate of new keys that still need a database lookup
+ * @param cacheSize          completed responses kept in memory for fast replay
+ * @param cleanupInterval    how often expired keys are purged and the filter rebuilt
+ */
+@ConfigurationProperties(prefix = "finledger.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration retention,
+    @DefaultValue("1000000") long expectedKeys,
+    @DefaultValue("0.01") double falsePositiveRate,
+    @DefaultValue("10000") long cacheSize,
+    @DefaultValue("1h") Duration cleanupInterval
+) {}
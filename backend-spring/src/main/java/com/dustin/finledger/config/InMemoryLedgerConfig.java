@@ -0,0 +1,52 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryViewRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalExportRepository;
+import com.dustin.finledger.ledger.infrastructure.memory.InMemoryAccountRepository;
+import com.dustin.finledger.ledger.infrastructure.memory.InMemoryJournalEntryRepository;
+import com.dustin.finledger.ledger.infrastructure.memory.InMemoryJournalEntryViewRepository;
+import com.dustin.finledger.ledger.infrastructure.memory.InMemoryJournalExportRepository;
+import com.dustin.finledger.ledger.infrastructure.memory.InMemoryLedgerEngine;
+
+/**
+ * Backs every ledger repository with the in-memory engine under the
+ * {@code in-memory} profile. The JPA and JDBC repositories, the account cache
+ * and the balance verification job are switched off in that profile.
+ */
+@Configuration
+@Profile("in-memory")
+@EnableConfigurationProperties(InMemoryLedgerProperties.class)
+public class InMemoryLedgerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public InMemoryLedgerEngine inMemoryLedgerEngine(InMemoryLedgerProperties properties) {
+        return new InMemoryLedgerEngine(properties);
+    }
+
+    @Bean
+    public AccountRepository inMemoryAccountRepository(InMemoryLedgerEngine engine) {
+        return new InMemoryAccountRepository(engine);
+    }
+
+    @Bean
+    public JournalEntryRepository inMemoryJournalEntryRepository(InMemoryLedgerEngine engine) {
+        return new InMemoryJournalEntryRepository(engine);
+    }
+
+    @Bean
+    public JournalEntryViewRepository inMemoryJournalEntryViewRepository(InMemoryLedgerEngine engine) {
+        return new InMemoryJournalEntryViewRepository(engine);
+    }
+
+    @Bean
+    public JournalExportRepository inMemoryJournalExportRepository(InMemoryLedgerEngine engine) {
+        return new InMemoryJournalExportRepository(engine);
+    }
+}
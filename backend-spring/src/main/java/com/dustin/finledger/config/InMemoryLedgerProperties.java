@@ -0,0 +1,29 @@
+package com.dustin.finledger.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the in-memory ledger engine ({@code finledger.in-memory.*}),
+ * active under the {@code in-memory} profile.
+ *
+ * @param directory         where WAL segments and snapshots are kept
+ * @param walSegmentSize    size of each memory-mapped WAL segment file
+ * @param ringCapacity      pending postings the writer queue holds before callers block
+ * @param maxBatch          most commands the writer applies per group commit
+ * @param snapshotEvery     WAL records written between snapshots
+ * @param balanceIndexCapacity initial slots in the off-heap balance index; it
+ *                          doubles whenever it is three quarters full
+ */
+@ConfigurationProperties(prefix = "finledger.in-memory")
+public record InMemoryLedgerProperties(
+    @DefaultValue("data/ledger") Path directory,
+    @DefaultValue("64MB") DataSize walSegmentSize,
+    @DefaultValue("65536") int ringCapacity,
+    @DefaultValue("1024") int maxBatch,
+    @DefaultValue("100000") long snapshotEvery,
+    @DefaultValue("1048576") int balanceIndexCapacity
+) {}
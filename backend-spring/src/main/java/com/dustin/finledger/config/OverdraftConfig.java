@@ -0,0 +1,18 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.ledger.application.OverdraftGuard;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+@Configuration
+@EnableConfigurationProperties(OverdraftProperties.class)
+public class OverdraftConfig {
+
+    @Bean
+    public OverdraftGuard overdraftGuard(JournalEntryRepository journalEntryRepository, OverdraftProperties properties) {
+        return new OverdraftGuard(journalEntryRepository, properties.lockStripes());
+    }
+}
@@ -0,0 +1,15 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for enforcing account overdraft policies ({@code finledger.overdraft.*}).
+ *
+ * @param lockStripes  number of in-memory locks shared by accounts that may not
+ *                     go negative; rounded up to a power of two
+ */
+@ConfigurationProperties(prefix = "finledger.overdraft")
+public record OverdraftProperties(
+    @DefaultValue("1024") int lockStripes
+) {}
@@ -0,0 +1,32 @@
+package com.dustin.finledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.ledger.infrastructure.persistence.JdbcSequenceLeaseRepository;
+import com.dustin.finledger.ledger.infrastructure.persistence.PostingSequencer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sequence numbers for entries posted through the database. The in-memory
+ * engine numbers entries itself, in the order it logs them.
+ */
+@Configuration
+@Profile("!in-memory")
+@EnableConfigurationProperties(PostingSequenceProperties.class)
+public class PostingSequenceConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public PostingSequencer postingSequencer(
+        JdbcSequenceLeaseRepository repository,
+        PlatformTransactionManager transactionManager,
+        PostingSequenceProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new PostingSequencer(repository, transactionManager, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the posting sequence allocator ({@code finledger.posting-sequence.*}).
+ *
+ * @param blockSize        numbers leased from the database at a time
+ * @param publishInterval  how often lease progress is written, which is how far
+ *                         the watermark lags behind commits
+ * @param leaseTimeout     after this long without a heartbeat a lease is taken to
+ *                         belong to a dead instance and dropped
+ * @param leaseMargin      how long before {@code leaseTimeout} the owner stops
+ *                         committing numbers from a lease it has not renewed;
+ *                         must cover clock skew between instances and the time
+ *                         a commit takes
+ */
+@ConfigurationProperties(prefix = "finledger.posting-sequence")
+public record PostingSequenceProperties(
+    @DefaultValue("1000") int blockSize,
+    @DefaultValue("200ms") Duration publishInterval,
+    @DefaultValue("30s") Duration leaseTimeout,
+    @DefaultValue("5s") Duration leaseMargin
+) {}
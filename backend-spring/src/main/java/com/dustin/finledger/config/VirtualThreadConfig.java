@@ -0,0 +1,37 @@
+package com.dustin.finledger.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dustin.finledger.common.threads.VirtualThreadPinningMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Extras for virtual-thread mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * That property alone moves Tomcat request handling, MVC async work such as
+ * journal exports, and {@code @Scheduled} jobs onto virtual threads. Request
+ * concurrency is then no longer capped by a thread pool, so the Hikari pool
+ * size is what bounds concurrent database work; requests queue for a
+ * connection for up to {@code spring.datasource.hikari.connection-timeout}.
+ * This adds the pinning metric so blocking that still ties up carrier threads
+ * shows up.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${finledger.threads.pinned-threshold:20ms}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
@@ -1,13 +1,13 @@
 package com.dustin.finledger.ledger.api;
 
 
-import com.dustin.finledger.common.money.Money;
 import com.dustin.finledger.ledger.api.dto.AccountBalanceResponse;
 import com.dustin.finledger.ledger.api.dto.AccountResponse;
 import com.dustin.finledger.ledger.api.dto.CreateAccountRequest;
 import com.dustin.finledger.ledger.application.CalculateAccountBalanceService;
 import com.dustin.finledger.ledger.application.CreateAccountService;
 import com.dustin.finledger.ledger.application.GetAccountService;
+import com.dustin.finledger.ledger.application.dto.AccountBalance;
 import com.dustin.finledger.ledger.application.dto.CreateAccountCommand;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
@@ -43,7 +43,7 @@ public class AccountController {
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody CreateAccountRequest request) {
         
-        CreateAccountCommand command = new CreateAccountCommand(request.name(), request.type(), request.currency());
+        CreateAccountCommand command = new CreateAccountCommand(request.name(), request.type(), request.currency(), request.overdraftPolicy(), request.balanceSlots());
         AccountId id = createAccountService.handle(command);
 
         AccountResponse response = 
@@ -52,7 +52,9 @@ public class AccountController {
                 request.name(),
                 request.type(),
                 "ACTIVE",
-                request.currency()
+                request.currency(),
+                request.overdraftPolicy() != null ? request.overdraftPolicy() : "ALLOW",
+                request.balanceSlots() != null ? request.balanceSlots() : 1
             );
 
         return ResponseEntity
@@ -70,7 +72,9 @@ public class AccountController {
             account.getName(),
             account.getType().name(),
             account.getStatus().name(),
-            account.getCurrency().getCurrencyCode()
+            account.getCurrency().getCurrencyCode(),
+            account.getOverdraftPolicy().name(),
+            account.getBalanceSlots()
         );
 
         return ResponseEntity.ok(accountResponse);
@@ -79,12 +83,14 @@ public class AccountController {
     @GetMapping("/{id}/balance")
     public ResponseEntity<AccountBalanceResponse> getAccountBalance(@PathVariable UUID id){
 
-        Money balance = calculateAccountBalanceService.handle(id);
+        AccountBalance balance = calculateAccountBalanceService.handle(id);
 
         AccountBalanceResponse response = new AccountBalanceResponse(
             id.toString(),
-            balance.amount(),
-            balance.currency().getCurrencyCode()
+            balance.ledger().amount(),
+            balance.pending().amount(),
+            balance.available().amount(),
+            balance.ledger().currency().getCurrencyCode()
         );
         
         return ResponseEntity.ok(response);
@@ -0,0 +1,167 @@
+package com.dustin.finledger.ledger.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.dustin.finledger.common.throttle.AdaptiveConcurrencyLimiter;
+import com.dustin.finledger.common.throttle.TokenBucket;
+import com.dustin.finledger.config.AdmissionProperties;
+import com.dustin.finledger.ledger.api.errors.ErrorResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Sheds excess write requests with {@code 429 Too Many Requests} before they
+ * take a database connection, so reads and health checks stay responsive
+ * when postings spike.
+ * <p>
+ * A write request must pass two checks:
+ * <ul>
+ *     <li>its client's token bucket, which bounds each client to
+ *     {@code clientRate} requests per second with bursts of {@code clientBurst}.
+ *     Clients are told apart by remote address. {@code clientHeader} is only
+ *     believed on requests from one of {@code trustedProxies}, since anyone else
+ *     could send a new value with every request and never run out of tokens;</li>
+ *     <li>an {@link AdaptiveConcurrencyLimiter} shared by all clients, whose
+ *     limit shrinks when requests get slow or come back {@code 503} and grows
+ *     back while they are fast. Requests to {@code latencyExemptPaths}, such as
+ *     batches that take longer the more entries they carry, hold a slot but
+ *     their latency is not taken as a sign of load.</li>
+ * </ul>
+ * Refusals carry {@code Retry-After}: the time until the client's next token,
+ * or {@code retryAfter} when the concurrency limit was the reason.
+ * <p>
+ * Metrics: {@code finledger.admission.limit}, {@code finledger.admission.in-flight},
+ * {@code finledger.admission.queue.depth} and {@code finledger.admission.shed}
+ * (tagged {@code reason=rate|concurrency}).
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final UrlPathHelper PATHS = new UrlPathHelper();
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Cache<String, TokenBucket> buckets;
+    private final Set<String> trustedProxies;
+    private final Set<String> latencyExemptPaths;
+    private final Counter rateShed;
+    private final Counter concurrencyShed;
+
+    public AdmissionFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+            properties.initialLimit(),
+            properties.minLimit(),
+            properties.maxLimit(),
+            properties.latencyThreshold(),
+            properties.backoffRatio(),
+            properties.maxQueue()
+        );
+        this.trustedProxies = Set.copyOf(properties.trustedProxies());
+        this.latencyExemptPaths = Set.copyOf(properties.latencyExemptPaths());
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxClients())
+            .expireAfterAccess(properties.clientIdleTimeout())
+            .build();
+
+        Gauge.builder("finledger.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Concurrent write requests currently allowed")
+            .register(meterRegistry);
+        Gauge.builder("finledger.admission.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Write requests currently running")
+            .register(meterRegistry);
+        Gauge.builder("finledger.admission.queue.depth", limiter, AdaptiveConcurrencyLimiter::getQueued)
+            .description("Write requests waiting for the concurrency limit")
+            .register(meterRegistry);
+        this.rateShed = Counter.builder("finledger.admission.shed")
+            .tag("reason", "rate")
+            .description("Write requests refused by admission control")
+            .register(meterRegistry);
+        this.concurrencyShed = Counter.builder("finledger.admission.shed")
+            .tag("reason", "concurrency")
+            .description("Write requests refused by admission control")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return READ_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+        long tokenWait = buckets.get(client(request), c -> new TokenBucket(properties.clientRate(), properties.clientBurst(), now))
+            .tryAcquire(now);
+        if (tokenWait > 0) {
+            rateShed.increment();
+            reject(response, "RATE_LIMITED", "Too many requests from this client", Duration.ofNanos(tokenWait));
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = limiter.tryAcquire(properties.maxQueueWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            concurrencyShed.increment();
+            reject(response, "CONCURRENCY_LIMITED", "Too many write requests in progress", properties.retryAfter());
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            boolean overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+            if (latencyExemptPaths.contains(PATHS.getPathWithinApplication(request))) {
+                limiter.releaseWithoutSample(started, System.nanoTime(), overloaded);
+            } else {
+                limiter.release(started, System.nanoTime(), overloaded);
+            }
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (trustedProxies.contains(address)) {
+            String header = request.getHeader(properties.clientHeader());
+            if (header != null && !header.isBlank()) {
+                return header.trim();
+            }
+        }
+        return address;
+    }
+
+    private void reject(HttpServletResponse response, String error, String message, Duration retryAfter) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(error, message, Instant.now()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.dustin.finledger.ledger.api;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dustin.finledger.ledger.api.dto.CaptureHoldRequest;
+import com.dustin.finledger.ledger.api.dto.HoldResponse;
+import com.dustin.finledger.ledger.api.dto.PlaceHoldRequest;
+import com.dustin.finledger.ledger.application.HoldService;
+import com.dustin.finledger.ledger.application.dto.CaptureHoldCommand;
+import com.dustin.finledger.ledger.application.dto.PlaceHoldCommand;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(@Valid @RequestBody PlaceHoldRequest request) {
+        Hold hold = holdService.place(new PlaceHoldCommand(
+            AccountId.of(request.accountId()),
+            request.amount(),
+            request.currency(),
+            request.description(),
+            request.expiresInSeconds() != null ? Duration.ofSeconds(request.expiresInSeconds()) : null
+        ));
+
+        return ResponseEntity
+            .created(URI.create("/holds/" + hold.getId().id()))
+            .body(toResponse(hold));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable UUID id) {
+        return ResponseEntity.ok(toResponse(holdService.get(HoldId.of(id))));
+    }
+
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<HoldResponse> captureHold(@PathVariable UUID id, @Valid @RequestBody CaptureHoldRequest request) {
+        Hold hold = holdService.capture(HoldId.of(id), new CaptureHoldCommand(
+            AccountId.of(request.counterpartyAccountId()),
+            request.amount(),
+            request.description()
+        ));
+        return ResponseEntity.ok(toResponse(hold));
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<HoldResponse> releaseHold(@PathVariable UUID id) {
+        return ResponseEntity.ok(toResponse(holdService.release(HoldId.of(id))));
+    }
+
+    private static HoldResponse toResponse(Hold hold) {
+        return new HoldResponse(
+            hold.getId().id().toString(),
+            hold.getAccountId().id().toString(),
+            hold.getAmount().amount(),
+            hold.getAmount().currency().getCurrencyCode(),
+            hold.getDescription(),
+            hold.getStatus().name(),
+            hold.getCreatedAt(),
+            hold.getExpiresAt(),
+            hold.getCaptureEntryId() != null ? hold.getCaptureEntryId().id().toString() : null
+        );
+    }
+}
@@ -0,0 +1,189 @@
+package com.dustin.finledger.ledger.api;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.dustin.finledger.ledger.api.errors.ErrorResponse;
+import com.dustin.finledger.ledger.application.IdempotencyService;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the posting endpoints
+ * ({@code POST /transactions}, {@code /transactions/batch} and
+ * {@code /transactions/{id}/reverse}).
+ * <p>
+ * The first request with a key runs normally and its response is stored. A
+ * retry with the same key and the same request gets that response back, with
+ * {@code Idempotent-Replayed: true}, instead of posting again. Reusing a key
+ * for a different request is refused with {@code 422}, and a retry that
+ * arrives while the first request is still running gets {@code 409}. Server
+ * errors are not stored, so the key can be retried.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Pattern IDEMPOTENT_PATHS = Pattern.compile("/transactions(/batch|/[^/]+/reverse)?/?");
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"POST".equals(request.getMethod())
+            || request.getHeader(HEADER) == null
+            || !IDEMPOTENT_PATHS.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = hash(cachedRequest);
+
+        switch (idempotencyService.begin(key, requestHash)) {
+            case IdempotencyService.Decision.Replay replay -> writeReplay(response, replay.response());
+            case IdempotencyService.Decision.InProgress inProgress -> writeError(response, HttpStatus.CONFLICT,
+                "IDEMPOTENCY_KEY_IN_USE", "A request with this " + HEADER + " is still being processed");
+            case IdempotencyService.Decision.Mismatch mismatch -> writeError(response, HttpStatus.UNPROCESSABLE_CONTENT,
+                "IDEMPOTENCY_KEY_REUSED", HEADER + " was already used for a different request");
+            case IdempotencyService.Decision.Proceed proceed -> proceed(cachedRequest, response, chain, key, requestHash);
+        }
+    }
+
+    private void proceed(CachedBodyRequest request, HttpServletResponse response, FilterChain chain, String key, String requestHash)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, captured);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyService.abandon(key);
+            throw e;
+        }
+
+        if (captured.getStatus() >= 500) {
+            idempotencyService.abandon(key);
+        } else {
+            byte[] body = captured.getContentAsByteArray();
+            idempotencyService.complete(key, requestHash, new IdempotentResponse(
+                captured.getStatus(),
+                captured.getContentType(),
+                captured.getHeader(HttpHeaders.LOCATION),
+                body.length > 0 ? new String(body, StandardCharsets.UTF_8) : null
+            ));
+        }
+        captured.copyBodyToResponse();
+    }
+
+    private static void writeReplay(HttpServletResponse response, IdempotentResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(error, message, Instant.now()));
+    }
+
+    /** SHA-256 over method, path, query and body: what makes two requests "the same". */
+    private static String hash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Reads the body once up front so it can be hashed and still be read by the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
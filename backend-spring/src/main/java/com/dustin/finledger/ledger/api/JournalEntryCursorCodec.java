@@ -0,0 +1,39 @@
+package com.dustin.finledger.ledger.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+
+/**
+ * Turns {@link JournalEntryCursor} keys into opaque URL-safe strings and back.
+ * Clients should pass cursors through unchanged; the format is not part of the API.
+ */
+final class JournalEntryCursorCodec {
+
+    private JournalEntryCursorCodec() {}
+
+    static String encode(JournalEntryCursor cursor) {
+        if (cursor == null) return null;
+        String raw = cursor.createdAt().getEpochSecond()
+            + ":" + cursor.createdAt().getNano()
+            + ":" + cursor.id().id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static JournalEntryCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new JournalEntryCursor(createdAt, JournalEntryId.of(UUID.fromString(parts[2])));
+        } catch (RuntimeException e) {
+            throw new DomainException("Invalid page cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.dustin.finledger.ledger.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.api.dto.TransactionExportLineResponse;
+import com.dustin.finledger.ledger.application.ExportJournalService;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.repository.JournalExportFilter;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+import jakarta.servlet.http.HttpServletRequest;
+import tools.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/transactions/export")
+public class JournalExportController {
+
+    // Servlet async timeouts of zero or less never expire.
+    private static final long NO_TIMEOUT = -1;
+
+    private final ExportJournalService exportJournalService;
+    private final ObjectMapper objectMapper;
+
+    public JournalExportController(ExportJournalService exportJournalService, ObjectMapper objectMapper) {
+        this.exportJournalService = exportJournalService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams every posted journal line, one row per line, as NDJSON (default) or CSV.
+     * Rows are written as they come off the database cursor; if the client goes away
+     * the next write fails and the query is abandoned. The stream lasts as long as the
+     * result set, so this request opts out of the async request timeout.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+        @RequestParam(required = false) String format,
+        @RequestParam(required = false) Instant from,
+        @RequestParam(required = false) Instant to,
+        @RequestParam(required = false) UUID accountId,
+        HttpServletRequest request) {
+
+        JournalExportFormat exportFormat = JournalExportFormat.fromString(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new DomainException("'from' must be before 'to'");
+        }
+        JournalExportFilter filter = new JournalExportFilter(
+            accountId != null ? AccountId.of(accountId) : null,
+            from,
+            to
+        );
+
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(NO_TIMEOUT);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                exportFormat.writeHeader(out);
+                exportJournalService.handle(filter, line -> {
+                    try {
+                        exportFormat.writeRow(out, objectMapper, toResponse(line));
+                    } catch (IOException e) {
+                        // Client disconnected: unwinding out of the row callback closes the result set.
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("journal." + exportFormat.fileExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+
+    private TransactionExportLineResponse toResponse(PostedJournalLine line) {
+        return new TransactionExportLineResponse(
+            line.entryId().id().toString(),
+            line.description(),
+            line.entryTimestamp(),
+            line.lineId().id().toString(),
+            line.accountId().id().toString(),
+            line.amount(),
+            line.currency(),
+            line.side().name(),
+            line.occurredAt()
+        );
+    }
+}
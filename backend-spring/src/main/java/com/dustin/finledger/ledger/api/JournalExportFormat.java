@@ -0,0 +1,99 @@
+package com.dustin.finledger.ledger.api;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.api.dto.TransactionExportLineResponse;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Line-oriented output formats for the journal export. Each row is written
+ * independently, so nothing but the current row is ever held in memory.
+ */
+enum JournalExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson") {
+        @Override
+        void writeHeader(Writer out) {
+        }
+
+        @Override
+        void writeRow(Writer out, ObjectMapper objectMapper, TransactionExportLineResponse row) throws IOException {
+            out.write(objectMapper.writeValueAsString(row));
+            out.write('\n');
+        }
+    },
+
+    CSV(MediaType.parseMediaType("text/csv"), "csv") {
+        @Override
+        void writeHeader(Writer out) throws IOException {
+            out.write("transactionId,description,timestamp,lineId,accountId,amount,currency,side,occurredAt\r\n");
+        }
+
+        @Override
+        void writeRow(Writer out, ObjectMapper objectMapper, TransactionExportLineResponse row) throws IOException {
+            out.write(row.transactionId());
+            out.write(',');
+            out.write(quote(row.description()));
+            out.write(',');
+            out.write(row.timestamp().toString());
+            out.write(',');
+            out.write(row.lineId());
+            out.write(',');
+            out.write(row.accountId());
+            out.write(',');
+            out.write(row.amount().toPlainString());
+            out.write(',');
+            out.write(row.currency());
+            out.write(',');
+            out.write(row.side());
+            out.write(',');
+            out.write(row.occurredAt().toString());
+            out.write("\r\n");
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    JournalExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String fileExtension() {
+        return fileExtension;
+    }
+
+    abstract void writeHeader(Writer out) throws IOException;
+
+    abstract void writeRow(Writer out, ObjectMapper objectMapper, TransactionExportLineResponse row) throws IOException;
+
+    static JournalExportFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Unsupported export format: " + value);
+        }
+    }
+}
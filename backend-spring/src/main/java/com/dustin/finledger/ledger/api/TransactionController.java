@@ -1,8 +1,10 @@
 package com.dustin.finledger.ledger.api;
 
 import java.net.URI;
-import java.util.List;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,19 +13,38 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.api.dto.RecordTransactionBatchRequest;
 import com.dustin.finledger.ledger.api.dto.RecordTransactionRequest;
+import com.dustin.finledger.ledger.api.dto.SequenceWatermarkResponse;
+import com.dustin.finledger.ledger.api.dto.TransactionBatchEntryResponse;
+import com.dustin.finledger.ledger.api.dto.TransactionBatchResponse;
 import com.dustin.finledger.ledger.api.dto.TransactionLineResponse;
+import com.dustin.finledger.ledger.api.dto.TransactionPageResponse;
 import com.dustin.finledger.ledger.api.dto.TransactionResponse;
+import com.dustin.finledger.ledger.api.dto.TransactionStatusResponse;
+import com.dustin.finledger.ledger.application.AsyncPostingService;
 import com.dustin.finledger.ledger.application.GetJournalEntryService;
+import com.dustin.finledger.ledger.application.GroupCommitCoordinator;
+import com.dustin.finledger.ledger.application.RecordJournalEntryBatchService;
 import com.dustin.finledger.ledger.application.RecordJournalEntryService;
 import com.dustin.finledger.ledger.application.ReverseJournalEntryService;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
 import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.PostingTicket;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
 import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.RequestParam;
@@ -33,69 +54,165 @@ import org.springframework.web.bind.annotation.RequestParam;
 @RequestMapping("/transactions")
 public class TransactionController {
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final Duration LONG_POLL_MARGIN = Duration.ofSeconds(5);
+
     private final RecordJournalEntryService recordJournalEntryService;
     private final GetJournalEntryService getJournalEntryService;
     private final ReverseJournalEntryService reverseJournalEntryService;
+    private final RecordJournalEntryBatchService recordJournalEntryBatchService;
+    private final AsyncPostingService asyncPostingService;
+    private final Optional<GroupCommitCoordinator> groupCommitCoordinator;
 
-    public TransactionController(RecordJournalEntryService recordJournalEntryService, GetJournalEntryService getJournalEntryService, ReverseJournalEntryService reverseJournalEntryService) {
+    public TransactionController(RecordJournalEntryService recordJournalEntryService, GetJournalEntryService getJournalEntryService, ReverseJournalEntryService reverseJournalEntryService, RecordJournalEntryBatchService recordJournalEntryBatchService, AsyncPostingService asyncPostingService, Optional<GroupCommitCoordinator> groupCommitCoordinator) {
         this.recordJournalEntryService = recordJournalEntryService;
         this.getJournalEntryService = getJournalEntryService;
         this.reverseJournalEntryService = reverseJournalEntryService;
+        this.recordJournalEntryBatchService = recordJournalEntryBatchService;
+        this.asyncPostingService = asyncPostingService;
+        this.groupCommitCoordinator = groupCommitCoordinator;
     }
 
+    /**
+     * Records a transaction. With {@code mode=async} the request is only
+     * validated and queued: the response is {@code 202 Accepted} with a status
+     * URL to poll instead of {@code 201 Created}.
+     */
     @PostMapping
-    public ResponseEntity<Void> recordTransaction(@Valid @RequestBody RecordTransactionRequest request) {
+    public ResponseEntity<TransactionStatusResponse> recordTransaction(
+        @Valid @RequestBody RecordTransactionRequest request,
+        @RequestParam(required = false) String mode) {
         
-        RecordJournalEntryCommand command = new RecordJournalEntryCommand(
-            request.description(),
-            request.lines().stream()
-                .map(line -> new JournalLineCommand(
-                    AccountId.of(line.accountId()),
-                    line.amount(),
-                    line.currency(),
-                    line.side(),
-                    line.occurredAt()
-                ))
-                .toList()
-            );
+        RecordJournalEntryCommand command = toCommand(request);
 
+        if (isAsync(mode)) {
+            PostingTicket ticket = asyncPostingService.submit(command);
+            TransactionStatusResponse response = mapToResponse(ticket);
+            return ResponseEntity.accepted().location(URI.create(response.statusUrl())).body(response);
+        }
 
-        JournalEntryId id = recordJournalEntryService.handle(command);
+        JournalEntryId id = groupCommitCoordinator
+            .map(coordinator -> coordinator.record(command))
+            .orElseGet(() -> recordJournalEntryService.handle(command));
 
         URI location = URI.create("/transactions/" + id.id());
         return ResponseEntity.created(location).build();
     }
 
+    /**
+     * Reports on an asynchronous posting. With {@code wait} (seconds) the
+     * request is held, without a servlet thread, until the posting completes
+     * or the wait runs out, whichever comes first. The async request timeout
+     * is set past the wait so the container never cuts the poll short.
+     */
+    @GetMapping("/status/{ticket}")
+    public CompletableFuture<ResponseEntity<TransactionStatusResponse>> getTransactionStatus(
+        @PathVariable UUID ticket,
+        @RequestParam(defaultValue = "0") int wait,
+        HttpServletRequest request) {
+
+        if (wait > 0) {
+            WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(Duration.ofSeconds(wait).plus(LONG_POLL_MARGIN).toMillis());
+        }
+        CompletableFuture<PostingTicket> status = wait > 0
+            ? asyncPostingService.awaitCompletion(ticket, Duration.ofSeconds(wait))
+            : CompletableFuture.completedFuture(asyncPostingService.status(ticket));
+        return status.thenApply(t -> ResponseEntity.ok(mapToResponse(t)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponse> recordTransactionBatch(@Valid @RequestBody RecordTransactionBatchRequest request) {
+
+        RecordJournalEntryBatchCommand command = new RecordJournalEntryBatchCommand(
+            request.transactions().stream()
+                .map(this::toCommand)
+                .toList(),
+            BatchPostingMode.fromString(request.mode())
+        );
+
+        RecordJournalEntryBatchResult result = recordJournalEntryBatchService.handle(command);
+
+        TransactionBatchResponse response = new TransactionBatchResponse(
+            result.mode().name(),
+            result.committed(),
+            result.postedCount(),
+            result.rejectedCount(),
+            result.results().stream()
+                .map(r -> new TransactionBatchEntryResponse(
+                    r.index(),
+                    r.status().name(),
+                    r.id() != null ? r.id().id().toString() : null,
+                    r.error()
+                ))
+                .toList()
+        );
+
+        if (result.mode() == BatchPostingMode.ALL_OR_NOTHING && !result.committed()) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponse> getTransaction(@PathVariable UUID id) {
         JournalEntryId journalEntryId = JournalEntryId.of(id);
         
-        JournalEntry journalEntry = getJournalEntryService.handle(journalEntryId);
+        JournalEntryView journalEntry = getJournalEntryService.handle(journalEntryId);
         TransactionResponse response = mapToResponse(journalEntry);
 
         return ResponseEntity.ok(response);
     }
 
 
+    /**
+     * Lists posted transactions in {@code (timestamp, id)} order, one keyset page at a time.
+     * Pass {@code nextCursor} as {@code after} to move forward, or
+     * {@code previousCursor} as {@code before} to move back.
+     */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getTransactions(
-        @RequestParam(required = false) UUID accountId) {
+    public ResponseEntity<TransactionPageResponse> getTransactions(
+        @RequestParam(required = false) UUID accountId,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) String before,
+        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
         
-        List<JournalEntry> entries;
-
-        if (accountId != null) {
-            entries = getJournalEntryService.handleAllByAccount(AccountId.of(accountId));
-        } else {
-            entries = getJournalEntryService.handleAll();
+        if (after != null && before != null) {
+            throw new DomainException("Only one of 'after' and 'before' can be given");
         }
 
-        List<TransactionResponse> responseList = entries.stream()
-            .map(this::mapToResponse)
-            .toList();
+        JournalEntryPageRequest pageRequest = new JournalEntryPageRequest(
+            accountId != null ? AccountId.of(accountId) : null,
+            JournalEntryCursorCodec.decode(after),
+            JournalEntryCursorCodec.decode(before),
+            Math.max(1, Math.min(limit, MAX_PAGE_SIZE))
+        );
+
+        JournalEntryPage page = getJournalEntryService.handlePage(pageRequest);
+
+        TransactionPageResponse response = new TransactionPageResponse(
+            page.entries().stream()
+                .map(this::mapToResponse)
+                .toList(),
+            JournalEntryCursorCodec.encode(page.next()),
+            JournalEntryCursorCodec.encode(page.previous())
+        );
         
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok(response);
     }
     
+    /**
+     * Every posted transaction with a sequence number at or below the watermark
+     * is already readable, and none will be added below it, so a consumer can
+     * follow the ledger in sequence order up to it without missing entries.
+     */
+    @GetMapping("/sequence-watermark")
+    public ResponseEntity<SequenceWatermarkResponse> getSequenceWatermark() {
+        return ResponseEntity.ok(new SequenceWatermarkResponse(getJournalEntryService.sequenceWatermark()));
+    }
+
     @PostMapping("/{id}/reverse")
     public ResponseEntity<TransactionResponse> reverse(@PathVariable UUID id) {
         JournalEntry reversedEntry = reverseJournalEntryService.handle(new JournalEntryId(id));
@@ -107,6 +224,63 @@ public class TransactionController {
     }
 
 
+    private static boolean isAsync(String mode) {
+        if (mode == null || mode.isBlank() || mode.equalsIgnoreCase("sync")) {
+            return false;
+        }
+        if (mode.equalsIgnoreCase("async")) {
+            return true;
+        }
+        throw new DomainException("Invalid mode: " + mode);
+    }
+
+    private TransactionStatusResponse mapToResponse(PostingTicket ticket) {
+        return new TransactionStatusResponse(
+            ticket.ticket().toString(),
+            ticket.status().name(),
+            ticket.entryId() != null ? ticket.entryId().id().toString() : null,
+            ticket.error(),
+            ticket.acceptedAt(),
+            ticket.completedAt(),
+            "/transactions/status/" + ticket.ticket()
+        );
+    }
+
+    private RecordJournalEntryCommand toCommand(RecordTransactionRequest request) {
+        return new RecordJournalEntryCommand(
+            request.description(),
+            request.lines().stream()
+                .map(line -> new JournalLineCommand(
+                    AccountId.of(line.accountId()),
+                    line.amount(),
+                    line.currency(),
+                    line.side(),
+                    line.occurredAt()
+                ))
+                .toList()
+            );
+    }
+
+    private TransactionResponse mapToResponse(JournalEntryView entry) {
+        return new TransactionResponse(
+            entry.id().id().toString(),
+            entry.description(),
+            entry.timestamp(),
+            entry.lines().stream()
+                .map(line -> new TransactionLineResponse(
+                    line.id().id().toString(),
+                    line.accountId().id().toString(),
+                    line.amount(),
+                    line.currency(),
+                    line.occurredAt(),
+                    line.side().name()
+                ))
+                .toList(),
+            entry.posted(),
+            entry.sequence()
+        );
+    }
+
     private TransactionResponse mapToResponse(JournalEntry entry) {
         return new TransactionResponse(
             entry.getId().id().toString(),
@@ -122,7 +296,8 @@ public class TransactionController {
                     line.side().name()
                 ))
                 .toList(),
-            entry.isPosted()
+            entry.isPosted(),
+            entry.getSequence()
         );
     }
 }
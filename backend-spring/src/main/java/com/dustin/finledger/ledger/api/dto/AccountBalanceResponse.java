@@ -2,9 +2,16 @@ package com.dustin.finledger.ledger.api.dto;
 
 import java.math.BigDecimal;
 
+/**
+ * @param amount     ledger balance: posted debits minus credits
+ * @param pending    total of pending holds
+ * @param available  ledger balance after the pending holds
+ */
 public record AccountBalanceResponse(
     String accountId,
     BigDecimal amount,
+    BigDecimal pending,
+    BigDecimal available,
     String currency
 ) {
     
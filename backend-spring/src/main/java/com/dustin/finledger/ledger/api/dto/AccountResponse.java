@@ -5,7 +5,9 @@ public record AccountResponse(
     String name,
     String type,
     String status,
-    String currency
+    String currency,
+    String overdraftPolicy,
+    int balanceSlots
 ) {
     
 }
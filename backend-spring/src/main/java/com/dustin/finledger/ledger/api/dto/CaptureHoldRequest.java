@@ -0,0 +1,21 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record CaptureHoldRequest(
+
+    @NotNull
+    UUID counterpartyAccountId,
+
+    // Omitted to capture the full hold
+    @Positive
+    BigDecimal amount,
+
+    @Size(max = 255)
+    String description
+) {}
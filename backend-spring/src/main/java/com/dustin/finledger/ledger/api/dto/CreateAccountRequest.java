@@ -1,5 +1,9 @@
 package com.dustin.finledger.ledger.api.dto;
 
+import com.dustin.finledger.ledger.domain.account.Account;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -13,5 +17,14 @@ public record CreateAccountRequest(
     
     @NotBlank
     @Pattern(regexp = "^[A-Z]{3}$")
-    String currency
+    String currency,
+
+    // ALLOW (default) or DENY
+    @Pattern(regexp = "^(ALLOW|DENY)$")
+    String overdraftPolicy,
+
+    // 1 (default); more spreads the balance of a hot account over several rows
+    @Min(1)
+    @Max(Account.MAX_BALANCE_SLOTS)
+    Integer balanceSlots
 ) {}
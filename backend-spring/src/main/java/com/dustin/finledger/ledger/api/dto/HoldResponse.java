@@ -0,0 +1,16 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record HoldResponse(
+    String id,
+    String accountId,
+    BigDecimal amount,
+    String currency,
+    String description,
+    String status,
+    Instant createdAt,
+    Instant expiresAt,
+    String captureEntryId
+) {}
@@ -0,0 +1,31 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record PlaceHoldRequest(
+
+    @NotNull
+    UUID accountId,
+
+    @NotNull
+    @Positive
+    BigDecimal amount,
+
+    @NotBlank
+    @Pattern(regexp = "^[A-Z]{3}$")
+    String currency,
+
+    @Size(max = 255)
+    String description,
+
+    // Omitted for the configured default
+    @Positive
+    Long expiresInSeconds
+) {}
@@ -0,0 +1,19 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record RecordTransactionBatchRequest(
+
+    @Pattern(regexp = "^(ALL_OR_NOTHING|BEST_EFFORT)$")
+    String mode,
+
+    @NotEmpty(message = "Batch must contain at least one transaction")
+    @Size(max = 1000, message = "Batch must not contain more than 1000 transactions")
+    @Valid
+    List<RecordTransactionRequest> transactions
+) {}
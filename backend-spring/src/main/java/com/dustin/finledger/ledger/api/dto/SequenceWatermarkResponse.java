@@ -0,0 +1,5 @@
+package com.dustin.finledger.ledger.api.dto;
+
+public record SequenceWatermarkResponse(
+    long watermark
+) {}
@@ -0,0 +1,8 @@
+package com.dustin.finledger.ledger.api.dto;
+
+public record TransactionBatchEntryResponse(
+    int index,
+    String status,
+    String id,
+    String error
+) {}
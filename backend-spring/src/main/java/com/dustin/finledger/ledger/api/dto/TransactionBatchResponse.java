@@ -0,0 +1,11 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.util.List;
+
+public record TransactionBatchResponse(
+    String mode,
+    boolean committed,
+    long posted,
+    long rejected,
+    List<TransactionBatchEntryResponse> results
+) {}
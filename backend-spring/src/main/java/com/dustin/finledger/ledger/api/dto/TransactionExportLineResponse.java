@@ -0,0 +1,16 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record TransactionExportLineResponse(
+    String transactionId,
+    String description,
+    Instant timestamp,
+    String lineId,
+    String accountId,
+    BigDecimal amount,
+    String currency,
+    String side,
+    Instant occurredAt
+) {}
@@ -0,0 +1,9 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.util.List;
+
+public record TransactionPageResponse(
+    List<TransactionResponse> items,
+    String nextCursor,
+    String previousCursor
+) {}
@@ -8,7 +8,9 @@ public record TransactionResponse(
     String description,
     Instant timestamp,
     List<TransactionLineResponse> lines,
-    boolean posted
+    boolean posted,
+    // Ledger-wide posting order; null until posted
+    Long sequence
 ) {
     
 }
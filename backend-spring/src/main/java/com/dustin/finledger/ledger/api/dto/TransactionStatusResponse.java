@@ -0,0 +1,13 @@
+package com.dustin.finledger.ledger.api.dto;
+
+import java.time.Instant;
+
+public record TransactionStatusResponse(
+    String ticket,
+    String status,
+    String transactionId,
+    String error,
+    Instant acceptedAt,
+    Instant completedAt,
+    String statusUrl
+) {}
@@ -2,12 +2,14 @@ package com.dustin.finledger.ledger.api.errors;
 
 import java.time.Instant;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.exceptions.OverloadedException;
 import com.dustin.finledger.ledger.domain.journal.JournalInvariantViolation;
 
 @RestControllerAdvice
@@ -35,6 +37,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
     
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloadedException(OverloadedException ex) {
+
+        ErrorResponse error = new ErrorResponse(
+            "OVERLOADED",
+            ex.getMessage(),
+            Instant.now()
+        );
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
 
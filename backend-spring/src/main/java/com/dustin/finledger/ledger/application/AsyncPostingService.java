@@ -0,0 +1,205 @@
+package com.dustin.finledger.ledger.application;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.exceptions.OverloadedException;
+import com.dustin.finledger.config.AsyncPostingProperties;
+import com.dustin.finledger.ledger.application.dto.PostingStatus;
+import com.dustin.finledger.ledger.application.dto.PostingTicket;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.journal.JournalInvariantViolation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Accepts journal postings without waiting for them to be recorded.
+ * <p>
+ * {@link #submit} puts the command on a bounded queue and returns a ticket at
+ * once; a fixed set of worker threads records queued commands through
+ * {@link RecordJournalEntryService}. When the queue is full the posting is
+ * refused with an {@link OverloadedException} rather than blocking the caller.
+ * Tickets are kept for {@code ticketRetention} after their last change and can
+ * be polled with {@link #status} or awaited with {@link #awaitCompletion}.
+ * <p>
+ * Metrics: {@code finledger.posting.queue.depth},
+ * {@code finledger.posting.queue.wait} (time from acceptance until a worker
+ * picks the posting up) and {@code finledger.posting.queue.rejected}.
+ */
+public class AsyncPostingService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncPostingService.class);
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RecordJournalEntryService recordJournalEntryService;
+    private final AsyncPostingProperties properties;
+    private final BlockingQueue<Tracked> queue;
+    private final Cache<UUID, Tracked> tickets;
+    private final Timer waitTime;
+    private final Counter rejected;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    /** A ticket's latest state plus a future that completes when it is final. */
+    private static final class Tracked {
+        final RecordJournalEntryCommand command;
+        final long acceptedNanos = System.nanoTime();
+        final CompletableFuture<PostingTicket> done = new CompletableFuture<>();
+        volatile PostingTicket ticket;
+
+        Tracked(RecordJournalEntryCommand command, PostingTicket ticket) {
+            this.command = command;
+            this.ticket = ticket;
+        }
+    }
+
+    public AsyncPostingService(
+        RecordJournalEntryService recordJournalEntryService,
+        AsyncPostingProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.recordJournalEntryService = recordJournalEntryService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.tickets = Caffeine.newBuilder()
+            .maximumSize(properties.maxTickets())
+            .expireAfterWrite(properties.ticketRetention())
+            .build();
+
+        Gauge.builder("finledger.posting.queue.depth", queue, BlockingQueue::size)
+            .description("Asynchronous postings waiting for a worker")
+            .register(meterRegistry);
+        this.waitTime = Timer.builder("finledger.posting.queue.wait")
+            .description("Time asynchronous postings spent queued before a worker took them")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("finledger.posting.queue.rejected")
+            .description("Asynchronous postings refused because the queue was full")
+            .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (int i = 0; i < properties.workers(); i++) {
+            workers.add(Thread.ofPlatform().name("posting-worker-" + i).start(this::work));
+        }
+    }
+
+    /** Stops taking postings and lets the workers finish the queued ones. */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    /**
+     * Queues {@code command} for recording.
+     *
+     * @throws OverloadedException if the queue is full
+     */
+    public PostingTicket submit(RecordJournalEntryCommand command) {
+        Objects.requireNonNull(command, "command must not be null");
+        if (!running) {
+            throw new OverloadedException("Asynchronous posting is not accepting work", RETRY_AFTER);
+        }
+
+        PostingTicket queued = PostingTicket.queued(UUID.randomUUID(), Instant.now());
+        Tracked tracked = new Tracked(command, queued);
+        tickets.put(queued.ticket(), tracked);
+        if (!queue.offer(tracked)) {
+            tickets.invalidate(queued.ticket());
+            rejected.increment();
+            throw new OverloadedException("Posting queue is full", RETRY_AFTER);
+        }
+        // Not tracked.ticket: a worker may already have replaced it.
+        return queued;
+    }
+
+    public PostingTicket status(UUID ticket) {
+        return find(ticket).ticket;
+    }
+
+    /**
+     * Completes with the ticket once it is final, or with its state at that
+     * moment after {@code timeout} (capped at {@code maxWait}).
+     */
+    public CompletableFuture<PostingTicket> awaitCompletion(UUID ticket, Duration timeout) {
+        Tracked tracked = find(ticket);
+        if (tracked.ticket.status().isFinal()) {
+            return CompletableFuture.completedFuture(tracked.ticket);
+        }
+        Duration wait = timeout.compareTo(properties.maxWait()) > 0 ? properties.maxWait() : timeout;
+        return tracked.done.copy()
+            .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+            .thenApply(result -> result != null ? result : tracked.ticket);
+    }
+
+    private Tracked find(UUID ticket) {
+        Tracked tracked = tickets.getIfPresent(ticket);
+        if (tracked == null) {
+            throw new DomainException("Posting ticket not found: " + ticket);
+        }
+        return tracked;
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            Tracked tracked;
+            try {
+                tracked = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (tracked != null) {
+                waitTime.record(System.nanoTime() - tracked.acceptedNanos, TimeUnit.NANOSECONDS);
+                record(tracked);
+            }
+        }
+    }
+
+    private void record(Tracked tracked) {
+        PostingTicket queued = tracked.ticket;
+        PostingTicket result;
+        try {
+            result = queued.posted(recordJournalEntryService.handle(tracked.command), Instant.now());
+        } catch (DomainException | JournalInvariantViolation e) {
+            result = queued.failed(PostingStatus.REJECTED, e.getMessage(), Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Asynchronous posting {} failed", queued.ticket(), e);
+            result = queued.failed(PostingStatus.FAILED, "Unexpected error occurred", Instant.now());
+        }
+        tracked.ticket = result;
+        // Re-put so retention counts from completion, not from acceptance.
+        tickets.put(result.ticket(), tracked);
+        tracked.done.complete(result);
+    }
+}
@@ -7,31 +7,48 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.dustin.finledger.common.exceptions.DomainException;
 import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.application.dto.AccountBalance;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
 import com.dustin.finledger.ledger.domain.repository.AccountRepository;
 import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
 
 
+/**
+ * Ledger, pending and available balance of an account. The ledger balance is
+ * one lookup of the materialized totals; the pending amount comes from the
+ * holds kept in memory by {@link HoldService}.
+ */
 @Service
 @Transactional(readOnly = true)
 public class CalculateAccountBalanceService {
     
     private final AccountRepository accountRepository;
     private final JournalEntryRepository journalEntryRepository;
+    private final HoldService holdService;
 
-    public CalculateAccountBalanceService(AccountRepository accountRepository, JournalEntryRepository journalEntryRepository) {
+    public CalculateAccountBalanceService(AccountRepository accountRepository, JournalEntryRepository journalEntryRepository, HoldService holdService) {
         this.accountRepository = accountRepository;
         this.journalEntryRepository = journalEntryRepository;
+        this.holdService = holdService;
     }
 
-    public Money handle(UUID accountIdRaw) {
+    public AccountBalance handle(UUID accountIdRaw) {
         AccountId accountId = AccountId.of(accountIdRaw);
 
         Account account = accountRepository.getById(accountId)
             .orElseThrow(() -> new DomainException("Account not found: " + accountId));
 
-        return journalEntryRepository.getAccountBalance(accountId, account.getCurrency());
+        Money ledger = journalEntryRepository.getAccountBalance(accountId, account.getCurrency());
+        Money pending = Money.of(MoneyMinor.toDecimal(holdService.reservedMinorUnits(accountId), account.getCurrency()), account.getCurrency());
+        // Holds reduce the balance on the account's normal side.
+        Money available = account.getType().increasesWith(EntrySide.DEBIT)
+            ? ledger.add(pending.negate())
+            : ledger.add(pending);
+
+        return new AccountBalance(ledger, pending, available);
     }
 
 }
@@ -9,6 +9,7 @@ import com.dustin.finledger.ledger.application.dto.CreateAccountCommand;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 import com.dustin.finledger.ledger.domain.repository.AccountRepository;
 
 
@@ -27,7 +28,13 @@ public class CreateAccountService {
 
         Currency currency = Currency.getInstance(command.currencyCode());
 
-        Account account = Account.create(command.name(), type, currency);
+        OverdraftPolicy overdraftPolicy = command.overdraftPolicy() != null
+            ? OverdraftPolicy.fromString(command.overdraftPolicy())
+            : OverdraftPolicy.ALLOW;
+
+        int balanceSlots = command.balanceSlots() != null ? command.balanceSlots() : 1;
+
+        Account account = Account.create(command.name(), type, currency, overdraftPolicy, balanceSlots);
 
         accountRepository.save(account);
 
@@ -0,0 +1,29 @@
+package com.dustin.finledger.ledger.application;
+
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dustin.finledger.ledger.domain.repository.JournalExportFilter;
+import com.dustin.finledger.ledger.domain.repository.JournalExportRepository;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+@Service
+@Transactional(readOnly = true)
+public class ExportJournalService {
+
+    private final JournalExportRepository journalExportRepository;
+
+    public ExportJournalService(JournalExportRepository journalExportRepository) {
+        this.journalExportRepository = journalExportRepository;
+    }
+
+    /**
+     * Streams every posted line matching the filter to {@code sink}.
+     * Runs in one read-only transaction so the database can use a cursor.
+     */
+    public void handle(JournalExportFilter filter, Consumer<PostedJournalLine> sink) {
+        journalExportRepository.streamPostedLines(filter, sink);
+    }
+}
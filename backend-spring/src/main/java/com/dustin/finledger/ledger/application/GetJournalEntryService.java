@@ -1,36 +1,38 @@
 package com.dustin.finledger.ledger.application;
 
-import java.util.List;
-
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.dustin.finledger.common.exceptions.DomainException;
-import com.dustin.finledger.ledger.domain.account.AccountId;
-import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
 import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryViewRepository;
 
 @Service
 @Transactional(readOnly = true)
 public class GetJournalEntryService {
     
+    private final JournalEntryViewRepository journalEntryViewRepository;
     private final JournalEntryRepository journalEntryRepository;
 
-    public GetJournalEntryService(JournalEntryRepository journalEntryRepository){
+    public GetJournalEntryService(JournalEntryViewRepository journalEntryViewRepository, JournalEntryRepository journalEntryRepository){
+        this.journalEntryViewRepository = journalEntryViewRepository;
         this.journalEntryRepository = journalEntryRepository;
     }
 
-    public JournalEntry handle(JournalEntryId id) {
-        return journalEntryRepository.getById(id)
+    public JournalEntryView handle(JournalEntryId id) {
+        return journalEntryViewRepository.findById(id)
             .orElseThrow(() -> new DomainException("Transaction not found: " + id));
     }
 
-    public List<JournalEntry> handleAllByAccount(AccountId accountId) {
-        return journalEntryRepository.findAllPostedByAccountId(accountId);
+    public JournalEntryPage handlePage(JournalEntryPageRequest request) {
+        return journalEntryViewRepository.findPostedPage(request);
     }
 
-    public List<JournalEntry> handleAll() {
-        return journalEntryRepository.findAll();
+    public long sequenceWatermark() {
+        return journalEntryRepository.getSequenceWatermark();
     }
 }
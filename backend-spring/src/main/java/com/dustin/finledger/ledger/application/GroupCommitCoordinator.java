@@ -0,0 +1,193 @@
+package com.dustin.finledger.ledger.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dustin.finledger.config.GroupCommitProperties;
+import com.dustin.finledger.ledger.application.dto.BatchEntryResult;
+import com.dustin.finledger.ledger.application.dto.BatchEntryStatus;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shares one database commit between concurrent single postings.
+ * <p>
+ * Callers queue their command and wait. A background thread takes the first
+ * waiting command, collects whatever else arrives within {@code window} (up to
+ * {@code maxBatch}), and records them all through
+ * {@link RecordJournalEntryBatchService} in {@link BatchPostingMode#BEST_EFFORT}
+ * mode: one transaction with batched inserts, where an entry that fails
+ * validation is rejected alone. If the transaction itself fails, the batch is
+ * retried one entry per transaction so that a single bad entry cannot fail
+ * its neighbours. Each caller gets its own result.
+ * <p>
+ * Batch sizes are published as {@code finledger.group_commit.batch.size}.
+ */
+public class GroupCommitCoordinator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitCoordinator.class);
+
+    private final RecordJournalEntryBatchService batchService;
+    private final RecordJournalEntryService singleService;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSize;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    private record Pending(RecordJournalEntryCommand command, CompletableFuture<JournalEntryId> result) {}
+
+    public GroupCommitCoordinator(
+        RecordJournalEntryBatchService batchService,
+        RecordJournalEntryService singleService,
+        GroupCommitProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.batchService = batchService;
+        this.singleService = singleService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.batchSize = DistributionSummary.builder("finledger.group_commit.batch.size")
+            .description("Journal postings written per group commit")
+            .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        flusher = Thread.ofPlatform().name("journal-group-commit").start(this::run);
+    }
+
+    /** Stops taking postings and flushes the ones already queued. */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        stranded.forEach(p -> p.result().completeExceptionally(new IllegalStateException("Group commit is shut down")));
+    }
+
+    /**
+     * Records {@code command} as part of the next group commit and returns once
+     * it is committed, with the same outcome as
+     * {@link RecordJournalEntryService#handle}.
+     */
+    public JournalEntryId record(RecordJournalEntryCommand command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public CompletableFuture<JournalEntryId> submit(RecordJournalEntryCommand command) {
+        if (!running) {
+            throw new IllegalStateException("Group commit is shut down");
+        }
+        Pending pending = new Pending(command, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a journal posting", e);
+        }
+        // close() may have drained the queue between the check above and the put;
+        // whoever removes the posting from the queue is the one that completes it.
+        if (!running && queue.remove(pending)) {
+            pending.result().completeExceptionally(new IllegalStateException("Group commit is shut down"));
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(properties.maxBatch());
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit flush failed", e);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.window().toNanos();
+        while (batch.size() < properties.maxBatch()) {
+            queue.drainTo(batch, properties.maxBatch() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.maxBatch() || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSize.record(batch.size());
+
+        RecordJournalEntryBatchResult result;
+        try {
+            result = batchService.handle(new RecordJournalEntryBatchCommand(
+                batch.stream().map(Pending::command).toList(),
+                BatchPostingMode.BEST_EFFORT
+            ));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} postings failed; retrying them one by one", batch.size(), e);
+            batch.forEach(this::recordAlone);
+            return;
+        }
+
+        for (BatchEntryResult entry : result.results()) {
+            Pending pending = batch.get(entry.index());
+            if (entry.status() == BatchEntryStatus.POSTED) {
+                pending.result().complete(entry.id());
+            } else {
+                pending.result().completeExceptionally(entry.cause());
+            }
+        }
+    }
+
+    private void recordAlone(Pending pending) {
+        try {
+            pending.result().complete(singleService.handle(pending.command()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+}
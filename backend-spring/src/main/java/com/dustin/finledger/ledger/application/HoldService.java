@@ -0,0 +1,309 @@
+package com.dustin.finledger.ledger.application;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.common.time.TimingWheel;
+import com.dustin.finledger.config.HoldProperties;
+import com.dustin.finledger.ledger.application.dto.CaptureHoldCommand;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.PlaceHoldCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.HoldRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Places, captures and releases authorization {@link Hold}s.
+ * <p>
+ * The {@code hold} table is the record of every hold; the pending ones are
+ * also kept in memory, and the total they reserve per account is kept by the
+ * {@link OverdraftGuard}, so {@link #reservedMinorUnits} is a map lookup and
+ * ordinary postings cannot spend reserved funds. Both are rebuilt from the
+ * table on {@link #start}.
+ * <p>
+ * Each pending hold has a timeout in a {@link TimingWheel}; a driver thread
+ * advances the wheel every {@code tick} and expires whatever comes due, so
+ * expiry never scans the table. Capturing or releasing a hold cancels its
+ * timeout.
+ * <p>
+ * A hold changes status once: the in-memory entry is removed before the
+ * change is written, and the table update only applies to a PENDING row.
+ * A capture writes that update before it posts, so a capture that loses the
+ * race posts nothing. That matters under the {@code in-memory} profile, where
+ * the engine logs a posting at once and a rollback does not undo it; there
+ * the only gap left is the hold update itself failing to commit after the
+ * posting was logged.
+ * Metrics: {@code finledger.holds.pending} and {@code finledger.holds.expired}.
+ */
+public class HoldService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final OverdraftGuard overdraftGuard;
+    private final RecordJournalEntryService recordJournalEntryService;
+    private final TransactionTemplate transactionTemplate;
+    private final HoldProperties properties;
+    private final long tickMillis;
+    private final Counter expiredCount;
+
+    private final Map<HoldId, Pending> pending = new ConcurrentHashMap<>();
+    private volatile TimingWheel<HoldId> wheel;
+    private volatile boolean running;
+    private Thread driver;
+
+    private record Pending(Hold hold, TimingWheel.Timeout<HoldId> timeout) {}
+
+    public HoldService(
+        HoldRepository holdRepository,
+        AccountRepository accountRepository,
+        OverdraftGuard overdraftGuard,
+        RecordJournalEntryService recordJournalEntryService,
+        PlatformTransactionManager transactionManager,
+        HoldProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.overdraftGuard = overdraftGuard;
+        this.recordJournalEntryService = recordJournalEntryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.tickMillis = Math.max(1, properties.tick().toMillis());
+        this.wheel = new TimingWheel<>(properties.wheelLevels(), tickAtOrBefore(Instant.now()));
+
+        Gauge.builder("finledger.holds.pending", pending, Map::size)
+            .description("Holds reserving funds")
+            .register(meterRegistry);
+        this.expiredCount = Counter.builder("finledger.holds.expired")
+            .description("Holds released because they were not captured in time")
+            .register(meterRegistry);
+    }
+
+    /** Loads the pending holds and starts expiring them. */
+    public synchronized void start() {
+        if (running) return;
+        Instant now = Instant.now();
+        wheel = new TimingWheel<>(properties.wheelLevels(), tickAtOrBefore(now));
+        pending.clear();
+        Map<AccountId, Long> reserved = new HashMap<>();
+        List<Hold> holds = holdRepository.findAllPending();
+        for (Hold hold : holds) {
+            reserved.merge(hold.getAccountId(), minorUnits(hold.getAmount()), Math::addExact);
+            track(hold);
+        }
+        overdraftGuard.resetReservations(reserved);
+        log.info("Loaded {} pending holds", holds.size());
+
+        running = true;
+        driver = Thread.ofPlatform().name("hold-expiry").daemon().start(this::drive);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        driver.interrupt();
+        try {
+            driver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Hold place(PlaceHoldCommand command) {
+        Objects.requireNonNull(command, "command must not be null");
+
+        Account account = accountRepository.getById(command.accountId())
+            .orElseThrow(() -> new DomainException("Account not found: " + command.accountId()));
+        account.ensureCanPost();
+        if (!account.getCurrency().getCurrencyCode().equals(command.currency())) {
+            throw new DomainException("Currency mismatch for account: " + account.getId());
+        }
+
+        Duration expiresIn = command.expiresIn() != null ? command.expiresIn() : properties.defaultExpiry();
+        if (expiresIn.compareTo(properties.maxExpiry()) > 0) {
+            throw new DomainException("Hold expiry cannot exceed " + properties.maxExpiry());
+        }
+        Instant now = Instant.now();
+        Hold hold = Hold.place(account.getId(), Money.of(command.amount(), account.getCurrency()),
+            command.description(), now, now.plus(expiresIn));
+
+        overdraftGuard.reserve(account, minorUnits(hold.getAmount()));
+        try {
+            holdRepository.insert(hold);
+        } catch (RuntimeException e) {
+            unreserve(hold);
+            throw e;
+        }
+        track(hold);
+        return hold;
+    }
+
+    public Hold get(HoldId id) {
+        Pending p = pending.get(id);
+        if (p != null) {
+            return p.hold();
+        }
+        return holdRepository.getById(id)
+            .orElseThrow(() -> new DomainException("Hold not found: " + id.id()));
+    }
+
+    /**
+     * Settles the hold with a journal entry moving up to the held amount from
+     * the hold's account to the counterparty. Whatever is not captured is
+     * released.
+     */
+    public Hold capture(HoldId id, CaptureHoldCommand command) {
+        Objects.requireNonNull(command, "command must not be null");
+        Pending claimed = claim(id);
+        Hold hold = claimed.hold();
+        try {
+            Money amount = command.amount() != null
+                ? Money.of(command.amount(), hold.getAmount().currency())
+                : hold.getAmount();
+            if (amount.amount().signum() <= 0 || amount.amount().compareTo(hold.getAmount().amount()) > 0) {
+                throw new DomainException("Capture amount must be positive and at most the held amount");
+            }
+            Account account = accountRepository.getById(hold.getAccountId())
+                .orElseThrow(() -> new DomainException("Account not found: " + hold.getAccountId()));
+
+            Hold next = hold.captured(JournalEntryId.newId());
+            return transactionTemplate.execute(status -> {
+                // Claimed before posting: not every journal store undoes a posting on rollback.
+                if (!holdRepository.updateIfPending(next)) {
+                    throw new DomainException("Hold is no longer pending: " + id.id());
+                }
+                // The posting may spend what this hold reserved; the rest is released with it.
+                overdraftGuard.releaseOnCommit(hold.getAccountId(), minorUnits(hold.getAmount()));
+                recordJournalEntryService.handle(captureEntry(hold, account, amount, command), next.getCaptureEntryId());
+                return next;
+            });
+        } catch (RuntimeException e) {
+            track(hold);
+            throw e;
+        }
+    }
+
+    public Hold release(HoldId id) {
+        return finish(claim(id), Hold::released);
+    }
+
+    /** Total of the account's pending holds, in minor units. */
+    public long reservedMinorUnits(AccountId accountId) {
+        return overdraftGuard.reservedMinorUnits(accountId);
+    }
+
+    /** Expires the holds due by {@code now}. Normally called by the driver thread. */
+    public void expireDue(Instant now) {
+        for (HoldId id : wheel.advanceTo(tickAtOrBefore(now))) {
+            Pending due = pending.remove(id);
+            if (due == null) continue;
+            try {
+                finish(due, Hold::expired);
+                expiredCount.increment();
+            } catch (RuntimeException e) {
+                log.warn("Could not expire hold {}", id.id(), e);
+            }
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+                expireDue(Instant.now());
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Hold expiry failed", e);
+            }
+        }
+    }
+
+    private Pending claim(HoldId id) {
+        Pending claimed = pending.remove(id);
+        if (claimed == null) {
+            Hold hold = get(id);
+            throw new DomainException("Hold " + id.id() + " is already " + hold.getStatus());
+        }
+        wheel.cancel(claimed.timeout());
+        return claimed;
+    }
+
+    private Hold finish(Pending claimed, UnaryOperator<Hold> transition) {
+        Hold next = transition.apply(claimed.hold());
+        try {
+            if (!holdRepository.updateIfPending(next)) {
+                throw new DomainException("Hold is no longer pending: " + next.getId().id());
+            }
+        } catch (RuntimeException e) {
+            track(claimed.hold());
+            throw e;
+        }
+        unreserve(claimed.hold());
+        return next;
+    }
+
+    private void track(Hold hold) {
+        long deadline = tickAtOrAfter(hold.getExpiresAt());
+        pending.put(hold.getId(), new Pending(hold, wheel.schedule(hold.getId(), deadline)));
+    }
+
+    private void unreserve(Hold hold) {
+        overdraftGuard.unreserve(hold.getAccountId(), minorUnits(hold.getAmount()));
+    }
+
+    private static RecordJournalEntryCommand captureEntry(Hold hold, Account account, Money amount, CaptureHoldCommand command) {
+        EntrySide increase = account.getType().normalBalanceSide();
+        EntrySide decrease = increase == EntrySide.DEBIT ? EntrySide.CREDIT : EntrySide.DEBIT;
+        String currency = amount.currency().getCurrencyCode();
+        BigDecimal value = amount.amount();
+        Instant now = Instant.now();
+        String description = command.description() != null && !command.description().isBlank()
+            ? command.description()
+            : "Capture of hold " + hold.getId().id();
+        return new RecordJournalEntryCommand(description, List.of(
+            new JournalLineCommand(hold.getAccountId(), value, currency, decrease.name(), now),
+            new JournalLineCommand(command.counterpartyAccountId(), value, currency, increase.name(), now)
+        ));
+    }
+
+    private static long minorUnits(Money money) {
+        return MoneyMinor.toMinorUnits(money.amount(), money.currency());
+    }
+
+    private long tickAtOrBefore(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private long tickAtOrAfter(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+}
@@ -0,0 +1,161 @@
+package com.dustin.finledger.ledger.application;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.dustin.finledger.common.collections.BloomFilter;
+import com.dustin.finledger.config.IdempotencyProperties;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyKeyRepository;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyRecord;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decides what to do with a request that carries an {@code Idempotency-Key}.
+ * <p>
+ * The key table is the source of truth: a request proceeds only after it has
+ * inserted its key, and the primary key guarantees only one request can. In
+ * front of it sit two in-memory layers:
+ * <ul>
+ *     <li>a Bloom filter of every key seen in the retention window. A key the
+ *     filter has never seen is claimed straight away, without reading the
+ *     table first, which is the common case for first-time keys;</li>
+ *     <li>an LRU cache of completed responses, so most retries are replayed
+ *     without touching the database.</li>
+ * </ul>
+ * Neither layer can cause a duplicate: if another instance claimed a key this
+ * one has not seen, the insert fails and the table is read as usual.
+ * <p>
+ * Expired keys are purged every {@code cleanupInterval}, and the filter is
+ * rebuilt from the keys that remain.
+ */
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    /** What the caller should do with the request. */
+    public sealed interface Decision {
+        /** The key is new and now claimed: handle the request, then {@link #complete} or {@link #abandon}. */
+        record Proceed() implements Decision {}
+        /** The key was already used for this request: send the stored response. */
+        record Replay(IdempotentResponse response) implements Decision {}
+        /** The request that claimed the key has not finished yet. */
+        record InProgress() implements Decision {}
+        /** The key was already used for a different request. */
+        record Mismatch() implements Decision {}
+    }
+
+    private static final Decision PROCEED = new Decision.Proceed();
+    private static final Decision IN_PROGRESS = new Decision.InProgress();
+    private static final Decision MISMATCH = new Decision.Mismatch();
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final Counter databaseLookups;
+    private final Counter replays;
+    private volatile BloomFilter seen;
+
+    public IdempotencyService(IdempotencyKeyRepository repository, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+            .maximumSize(properties.cacheSize())
+            .expireAfterWrite(properties.retention())
+            .build();
+        this.seen = newFilter();
+        this.databaseLookups = Counter.builder("finledger.idempotency.lookups")
+            .description("Idempotency keys that had to be read from the database")
+            .register(meterRegistry);
+        this.replays = Counter.builder("finledger.idempotency.replays")
+            .description("Requests answered with a stored response")
+            .register(meterRegistry);
+    }
+
+    /** Loads the keys still within retention into the Bloom filter. */
+    public void start() {
+        seen = loadFilter(Instant.now());
+    }
+
+    public Decision begin(String key, String requestHash) {
+        Instant now = Instant.now();
+
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return replay(cached, requestHash);
+        }
+
+        if (!seen.mightContain(key) && claim(key, requestHash, now)) {
+            return PROCEED;
+        }
+
+        databaseLookups.increment();
+        Optional<IdempotencyRecord> existing = repository.find(key);
+        if (existing.isPresent() && existing.get().isExpired(now)) {
+            repository.deleteIfExpired(key, now);
+            existing = Optional.empty();
+        }
+        if (existing.isEmpty()) {
+            // Gone since the failed claim (released or expired): try once more.
+            return claim(key, requestHash, now) ? PROCEED : IN_PROGRESS;
+        }
+
+        IdempotencyRecord record = existing.get();
+        if (record.response() == null) {
+            return record.requestHash().equals(requestHash) ? IN_PROGRESS : MISMATCH;
+        }
+        completed.put(key, record);
+        return replay(record, requestHash);
+    }
+
+    /** Stores the response for a key returned as {@link Decision.Proceed}. */
+    public void complete(String key, String requestHash, IdempotentResponse response) {
+        repository.complete(key, response);
+        completed.put(key, new IdempotencyRecord(key, requestHash, response, Instant.now().plus(properties.retention())));
+    }
+
+    /** Releases a key whose request failed, so a retry runs it again. */
+    public void abandon(String key) {
+        repository.release(key);
+    }
+
+    @Scheduled(fixedDelayString = "${finledger.idempotency.cleanup-interval:1h}", initialDelayString = "${finledger.idempotency.cleanup-interval:1h}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now);
+        seen = loadFilter(now);
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    private boolean claim(String key, String requestHash, Instant now) {
+        boolean claimed = repository.claim(key, requestHash, now, now.plus(properties.retention()));
+        seen.put(key);
+        return claimed;
+    }
+
+    private Decision replay(IdempotencyRecord record, String requestHash) {
+        if (!record.requestHash().equals(requestHash)) {
+            return MISMATCH;
+        }
+        replays.increment();
+        return new Decision.Replay(record.response());
+    }
+
+    private BloomFilter loadFilter(Instant now) {
+        BloomFilter filter = newFilter();
+        repository.forEachActiveKey(now, filter::put);
+        return filter;
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.expectedKeys(), properties.falsePositiveRate());
+    }
+}
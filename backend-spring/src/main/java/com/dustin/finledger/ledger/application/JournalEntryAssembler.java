@@ -0,0 +1,122 @@
+package com.dustin.finledger.ledger.application;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+
+/**
+ * Builds a posted {@link JournalEntry} from a {@link RecordJournalEntryCommand}.
+ * <p>
+ * Shared by the single and batch posting services so both apply the same
+ * account, currency and balancing checks. Nothing is persisted here.
+ * <p>
+ * Accounts are resolved with one {@link AccountRepository#getAllByIds} call per
+ * command (or per batch), so the number of lookups depends on the distinct
+ * accounts involved rather than on the number of lines.
+ */
+final class JournalEntryAssembler {
+
+    private final AccountRepository accountRepository;
+
+    JournalEntryAssembler(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    JournalEntry assemble(RecordJournalEntryCommand command) {
+        Objects.requireNonNull(command, "command must not be null");
+        return assemble(command, loadAccounts(List.of(command)));
+    }
+
+    /**
+     * Loads every distinct account referenced by the given commands.
+     * Missing accounts are left out; {@link #assemble(RecordJournalEntryCommand, Map)}
+     * reports them for the command that needs them.
+     */
+    Map<AccountId, Account> loadAccounts(Collection<RecordJournalEntryCommand> commands) {
+        Set<AccountId> ids = new LinkedHashSet<>();
+        for (RecordJournalEntryCommand command : commands) {
+            for (JournalLineCommand lineCmd : command.lines()) {
+                ids.add(lineCmd.accountId());
+            }
+        }
+
+        Map<AccountId, Account> accounts = new HashMap<>(ids.size() * 2);
+        for (Account account : accountRepository.getAllByIds(ids)) {
+            accounts.put(account.getId(), account);
+        }
+        return accounts;
+    }
+
+    JournalEntry assemble(RecordJournalEntryCommand command, Map<AccountId, Account> accounts) {
+        return assemble(command, accounts, JournalEntryId.newId());
+    }
+
+    /** As above, with an id chosen by the caller. */
+    JournalEntry assemble(RecordJournalEntryCommand command, Map<AccountId, Account> accounts, JournalEntryId id) {
+        Objects.requireNonNull(command, "command must not be null");
+
+        Set<AccountId> checked = new LinkedHashSet<>();
+        for (JournalLineCommand lineCmd : command.lines()) {
+            if (checked.add(lineCmd.accountId())) {
+                Account account = accounts.get(lineCmd.accountId());
+                if (account == null) {
+                    throw new DomainException("Account not found:" + lineCmd.accountId());
+                }
+                account.ensureCanPost();
+            }
+        }
+
+        JournalEntry entry = new JournalEntry(id, command.description());
+
+        for (JournalLineCommand lineCmd : command.lines()) {
+
+            Account account = accounts.get(lineCmd.accountId());
+
+            Currency currency = Currency.getInstance(lineCmd.currency());
+                
+            if (!account.getCurrency().equals(currency)) {
+                throw new DomainException("Currency mismatch for account: " + account.getId());
+            }
+
+            Money money = Money.of(lineCmd.amount(), currency);
+            
+            Instant occurredAt = lineCmd.occurredAt() != null
+                ? lineCmd.occurredAt()
+                : Instant.now();
+            
+            EntrySide side = EntrySide.valueOf(lineCmd.side().toUpperCase());
+
+            JournalLine line = new JournalLine(
+                JournalLineId.newId(),
+                account.getId(),
+                money,
+                occurredAt,
+                side
+            );
+
+            entry.addLine(line);
+        }
+        entry.post();
+
+        return entry;
+    }
+}
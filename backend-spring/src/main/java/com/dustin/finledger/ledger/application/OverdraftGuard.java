@@ -0,0 +1,261 @@
+package com.dustin.finledger.ledger.application;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.common.threads.StripedLocks;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+/**
+ * Enforces {@link OverdraftPolicy#DENY} when journal entries are posted.
+ * <p>
+ * Checking a balance and then posting is only safe if no other posting to the
+ * same account runs in between. Instead of locking balance rows in the
+ * database, postings that touch a DENY account take in-memory
+ * {@link StripedLocks} for those accounts, held until their transaction
+ * completes, and check against a balance view kept here: the committed net
+ * balance of every DENY account seen so far, loaded from
+ * {@link JournalEntryRepository#getAccountBalance} the first time and updated
+ * after each commit. Postings that touch only ALLOW accounts take no lock.
+ * <p>
+ * The guard also keeps the amount pending holds reserve on each account. A
+ * posting may not spend reserved funds of a DENY account, and a hold is
+ * reserved under the same stripe, against the same view, so neither can slip
+ * in between the other's check and its write. A capture releases its own
+ * hold's reservation with {@link #releaseOnCommit} so that its posting can
+ * spend it.
+ * <p>
+ * The locks and the view are per process, so the invariant holds when this
+ * instance is the only writer to the ledger.
+ */
+public class OverdraftGuard {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final StripedLocks locks;
+    // Debits minus credits, in minor units; written only under the account's stripe.
+    private final Map<AccountId, Long> balances = new ConcurrentHashMap<>();
+    // Reserved by pending holds on the account's normal side, in minor units, always positive.
+    private final Map<AccountId, Long> reserved = new ConcurrentHashMap<>();
+
+    public OverdraftGuard(JournalEntryRepository journalEntryRepository, int lockStripes) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.locks = new StripedLocks(lockStripes);
+    }
+
+    /**
+     * Locks the DENY accounts among {@code accounts} for the current posting.
+     * <p>
+     * Inside a transaction the locks are released when it completes, and the
+     * entries marked {@link Permit#posted} reach the balance view only if it
+     * commits. Outside one, closing the permit does both.
+     */
+    public Permit lock(Collection<Account> accounts) {
+        Map<AccountId, Account> guarded = new HashMap<>();
+        for (Account account : accounts) {
+            if (account.getOverdraftPolicy() == OverdraftPolicy.DENY) {
+                guarded.put(account.getId(), account);
+            }
+        }
+        if (guarded.isEmpty()) {
+            return Permit.UNGUARDED;
+        }
+
+        Permit permit = new Permit(this, guarded, locks.lockAll(guarded.keySet()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(permit);
+            permit.synchronizedWithTransaction = true;
+        }
+        return permit;
+    }
+
+    /**
+     * Reserves {@code minorUnits} of the account for a hold. A DENY account is
+     * locked while it is checked, and the hold must fit in what postings and
+     * other holds leave available.
+     *
+     * @throws DomainException if a DENY account does not have that much available
+     */
+    public void reserve(Account account, long minorUnits) {
+        if (account.getOverdraftPolicy() != OverdraftPolicy.DENY) {
+            reserved.merge(account.getId(), minorUnits, Math::addExact);
+            return;
+        }
+        try (StripedLocks.Held held = locks.lockAll(List.of(account.getId()))) {
+            long net = netOfHolds(account, committedBalance(account));
+            long available = account.getType().increasesWith(EntrySide.DEBIT) ? net : -net;
+            if (available < minorUnits) {
+                throw new DomainException("Insufficient available balance on account: " + account.getId());
+            }
+            reserved.merge(account.getId(), minorUnits, Math::addExact);
+        }
+    }
+
+    public void unreserve(AccountId accountId, long minorUnits) {
+        reserved.computeIfPresent(accountId, (id, current) -> {
+            long left = current - minorUnits;
+            return left > 0 ? left : null;
+        });
+    }
+
+    /** Replaces every reservation, e.g. with the pending holds loaded at startup. */
+    public void resetReservations(Map<AccountId, Long> totals) {
+        reserved.clear();
+        reserved.putAll(totals);
+    }
+
+    public long reservedMinorUnits(AccountId accountId) {
+        return reserved.getOrDefault(accountId, 0L);
+    }
+
+    /**
+     * Releases {@code minorUnits} of the account's reservation with the current
+     * transaction: postings in it are checked as if the amount were no longer
+     * reserved, and the reservation shrinks only if the transaction commits.
+     */
+    @SuppressWarnings("unchecked")
+    public void releaseOnCommit(AccountId accountId, long minorUnits) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Releasing a reservation requires an active transaction");
+        }
+        Map<AccountId, Long> releasing = (Map<AccountId, Long>) TransactionSynchronizationManager.getResource(this);
+        if (releasing == null) {
+            Map<AccountId, Long> bound = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Runs before any permit of the transaction lets go of its stripes.
+                    bound.forEach(OverdraftGuard.this::unreserve);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OverdraftGuard.this);
+                }
+            });
+            releasing = bound;
+        }
+        releasing.merge(accountId, minorUnits, Math::addExact);
+    }
+
+    /** {@code netDebit} less what pending holds keep reserved on the account's normal side. */
+    private long netOfHolds(Account account, long netDebit) {
+        long held = reservedMinorUnits(account.getId()) - releasing(account.getId());
+        return account.getType().increasesWith(EntrySide.DEBIT)
+            ? Math.subtractExact(netDebit, held)
+            : Math.addExact(netDebit, held);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long releasing(AccountId accountId) {
+        Map<AccountId, Long> releasing = (Map<AccountId, Long>) TransactionSynchronizationManager.getResource(this);
+        return releasing != null ? releasing.getOrDefault(accountId, 0L) : 0L;
+    }
+
+    private long committedBalance(Account account) {
+        Long balance = balances.get(account.getId());
+        if (balance == null) {
+            Money money = journalEntryRepository.getAccountBalance(account.getId(), account.getCurrency());
+            balance = MoneyMinor.toMinorUnits(money.amount(), money.currency());
+            balances.put(account.getId(), balance);
+        }
+        return balance;
+    }
+
+    /** DENY accounts locked for one posting, and the balances its entries would leave them with. */
+    public static final class Permit implements AutoCloseable, TransactionSynchronization {
+
+        static final Permit UNGUARDED = new Permit(null, Map.of(), null);
+
+        private final OverdraftGuard guard;
+        private final Map<AccountId, Account> guarded;
+        private final StripedLocks.Held held;
+        private final Map<AccountId, Long> projected = new HashMap<>();
+        private boolean synchronizedWithTransaction;
+        private boolean posted;
+
+        private Permit(OverdraftGuard guard, Map<AccountId, Account> guarded, StripedLocks.Held held) {
+            this.guard = guard;
+            this.guarded = guarded;
+            this.held = held;
+        }
+
+        /**
+         * Checks that {@code entry}, on top of the entries already checked
+         * with this permit, leaves every DENY account it touches at zero or
+         * above once its pending holds are set aside. Entries that fail leave
+         * the permit unchanged.
+         *
+         * @throws com.dustin.finledger.common.exceptions.DomainException if an account would be overdrawn
+         */
+        public void check(JournalEntry entry) {
+            if (guarded.isEmpty()) return;
+
+            Map<AccountId, Long> deltas = new HashMap<>();
+            for (JournalLine line : entry.getLines()) {
+                if (guarded.containsKey(line.accountId())) {
+                    long minor = MoneyMinor.toMinorUnits(line.amount().amount(), line.amount().currency());
+                    deltas.merge(line.accountId(), line.side() == EntrySide.DEBIT ? minor : -minor, Math::addExact);
+                }
+            }
+
+            List<Map.Entry<AccountId, Long>> after = new ArrayList<>(deltas.size());
+            for (Map.Entry<AccountId, Long> delta : deltas.entrySet()) {
+                Account account = guarded.get(delta.getKey());
+                long balance = Math.addExact(current(account), delta.getValue());
+                account.ensureBalanceAllowed(guard.netOfHolds(account, balance));
+                after.add(Map.entry(delta.getKey(), balance));
+            }
+            for (Map.Entry<AccountId, Long> balance : after) {
+                projected.put(balance.getKey(), balance.getValue());
+            }
+        }
+
+        /** Records that the checked entries were saved. */
+        public void posted() {
+            if (guarded.isEmpty()) return;
+            posted = true;
+        }
+
+        private long current(Account account) {
+            Long balance = projected.get(account.getId());
+            return balance != null ? balance : guard.committedBalance(account);
+        }
+
+        @Override
+        public void afterCommit() {
+            if (posted) {
+                guard.balances.putAll(projected);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            held.close();
+        }
+
+        /** Outside a transaction, publishes the posted balances and releases the locks. */
+        @Override
+        public void close() {
+            if (held == null || synchronizedWithTransaction) return;
+            afterCommit();
+            held.close();
+        }
+    }
+}
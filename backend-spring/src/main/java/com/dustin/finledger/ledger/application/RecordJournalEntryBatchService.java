@@ -0,0 +1,105 @@
+package com.dustin.finledger.ledger.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.application.dto.BatchEntryResult;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalInvariantViolation;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+/**
+ * Posts many journal entries in a single database transaction.
+ * <p>
+ * Every entry is validated in memory first; the accepted entries are then
+ * handed to {@link JournalEntryRepository#saveAll(List)} so the inserts can be
+ * sent to the database as JDBC batches. In {@link BatchPostingMode#ALL_OR_NOTHING}
+ * mode a single rejected entry means nothing is written.
+ * <p>
+ * Accounts for the whole batch are loaded with one bulk lookup up front.
+ * Overdraft checks run entry by entry in batch order, so an entry is judged
+ * against the balances left by the accepted entries before it.
+ */
+@Service
+@Transactional
+public class RecordJournalEntryBatchService {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalEntryAssembler assembler;
+    private final OverdraftGuard overdraftGuard;
+
+    public RecordJournalEntryBatchService(JournalEntryRepository journalEntryRepository, AccountRepository accountRepository, OverdraftGuard overdraftGuard) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.assembler = new JournalEntryAssembler(accountRepository);
+        this.overdraftGuard = overdraftGuard;
+    }
+
+    public RecordJournalEntryBatchResult handle(RecordJournalEntryBatchCommand command) {
+        Objects.requireNonNull(command, "command must not be null");
+
+        List<RecordJournalEntryCommand> commands = command.entries();
+        BatchPostingMode mode = command.mode() != null ? command.mode() : BatchPostingMode.ALL_OR_NOTHING;
+
+        Map<AccountId, Account> accounts = assembler.loadAccounts(commands);
+        try (OverdraftGuard.Permit permit = overdraftGuard.lock(accounts.values())) {
+            return post(commands, mode, accounts, permit);
+        }
+    }
+
+    private RecordJournalEntryBatchResult post(
+        List<RecordJournalEntryCommand> commands,
+        BatchPostingMode mode,
+        Map<AccountId, Account> accounts,
+        OverdraftGuard.Permit permit
+    ) {
+        JournalEntry[] accepted = new JournalEntry[commands.size()];
+        RuntimeException[] errors = new RuntimeException[commands.size()];
+        boolean anyRejected = false;
+
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                JournalEntry entry = assembler.assemble(commands.get(i), accounts);
+                permit.check(entry);
+                accepted[i] = entry;
+            } catch (DomainException | JournalInvariantViolation | IllegalArgumentException | ArithmeticException e) {
+                errors[i] = e;
+                anyRejected = true;
+            }
+        }
+
+        boolean commit = !(anyRejected && mode == BatchPostingMode.ALL_OR_NOTHING);
+
+        List<JournalEntry> toSave = new ArrayList<>(commands.size());
+        List<BatchEntryResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            if (accepted[i] == null) {
+                results.add(BatchEntryResult.rejected(i, errors[i]));
+            } else if (commit) {
+                toSave.add(accepted[i]);
+                results.add(BatchEntryResult.posted(i, accepted[i].getId()));
+            } else {
+                results.add(BatchEntryResult.aborted(i));
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            journalEntryRepository.saveAll(toSave);
+            permit.posted();
+        }
+
+        return new RecordJournalEntryBatchResult(mode, commit && !toSave.isEmpty(), results);
+    }
+}
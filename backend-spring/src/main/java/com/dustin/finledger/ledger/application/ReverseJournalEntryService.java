@@ -1,11 +1,17 @@
 package com.dustin.finledger.ledger.application;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
 import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
 
 
@@ -15,9 +21,13 @@ import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
 public class ReverseJournalEntryService {
     
     private final JournalEntryRepository journalEntryRepository;
+    private final AccountRepository accountRepository;
+    private final OverdraftGuard overdraftGuard;
 
-    public ReverseJournalEntryService(JournalEntryRepository journalEntryRepository){
+    public ReverseJournalEntryService(JournalEntryRepository journalEntryRepository, AccountRepository accountRepository, OverdraftGuard overdraftGuard){
         this.journalEntryRepository = journalEntryRepository;
+        this.accountRepository = accountRepository;
+        this.overdraftGuard = overdraftGuard;
     }
 
     public JournalEntry handle(JournalEntryId id) {
@@ -30,7 +40,16 @@ public class ReverseJournalEntryService {
         
         JournalEntry reversal = original.reverse();
 
-        journalEntryRepository.save(reversal);
+        Set<AccountId> accountIds = new LinkedHashSet<>();
+        for (JournalLine line : reversal.getLines()) {
+            accountIds.add(line.accountId());
+        }
+        // A reversal can overdraw an account too: undoing a deposit that has been spent.
+        try (OverdraftGuard.Permit permit = overdraftGuard.lock(accountRepository.getAllByIds(accountIds))) {
+            permit.check(reversal);
+            journalEntryRepository.save(reversal);
+            permit.posted();
+        }
 
         return reversal;
     }
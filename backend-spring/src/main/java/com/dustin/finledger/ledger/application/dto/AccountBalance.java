@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import com.dustin.finledger.common.money.Money;
+
+/**
+ * Balances of one account, all in its currency.
+ *
+ * @param ledger     posted debits minus credits
+ * @param pending    total of the account's pending holds, as a positive amount
+ * @param available  the ledger balance with the pending holds taken off the
+ *                   account's normal side
+ */
+public record AccountBalance(
+    Money ledger,
+    Money pending,
+    Money available
+) {}
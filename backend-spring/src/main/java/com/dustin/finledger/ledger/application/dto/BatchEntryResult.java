@@ -0,0 +1,28 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Outcome of one entry in a batch. A rejected entry keeps the exception that
+ * rejected it in {@code cause}, so callers posting a single entry through a
+ * batch can rethrow it unchanged.
+ */
+public record BatchEntryResult(
+    int index,
+    BatchEntryStatus status,
+    JournalEntryId id,
+    String error,
+    RuntimeException cause
+) {
+    public static BatchEntryResult posted(int index, JournalEntryId id) {
+        return new BatchEntryResult(index, BatchEntryStatus.POSTED, id, null, null);
+    }
+
+    public static BatchEntryResult rejected(int index, RuntimeException cause) {
+        return new BatchEntryResult(index, BatchEntryStatus.REJECTED, null, cause.getMessage(), cause);
+    }
+
+    public static BatchEntryResult aborted(int index) {
+        return new BatchEntryResult(index, BatchEntryStatus.ABORTED, null, null, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.dustin.finledger.ledger.application.dto;
+
+/**
+ * Outcome of a single entry within a batch posting.
+ * <ul>
+ *     <li>POSTED: the entry was validated and persisted</li>
+ *     <li>REJECTED: the entry failed validation</li>
+ *     <li>ABORTED: the entry was valid but the batch was not committed</li>
+ * </ul>
+ */
+public enum BatchEntryStatus {
+    POSTED,
+    REJECTED,
+    ABORTED
+}
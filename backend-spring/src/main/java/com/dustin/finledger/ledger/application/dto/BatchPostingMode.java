@@ -0,0 +1,24 @@
+package com.dustin.finledger.ledger.application.dto;
+
+/**
+ * How a batch of journal entries is committed.
+ * <ul>
+ *     <li>ALL_OR_NOTHING: any rejected entry aborts the whole batch</li>
+ *     <li>BEST_EFFORT: valid entries are posted, rejected ones are reported</li>
+ * </ul>
+ */
+public enum BatchPostingMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT;
+
+    public static BatchPostingMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL_OR_NOTHING;
+        }
+        try {
+            return BatchPostingMode.valueOf(value.toUpperCase().trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid batch posting mode: " + value);
+        }
+    }
+}
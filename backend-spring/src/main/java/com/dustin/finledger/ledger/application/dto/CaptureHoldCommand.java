@@ -0,0 +1,15 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import java.math.BigDecimal;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+/**
+ * @param counterpartyAccountId  account the captured funds move to
+ * @param amount                 {@code null} to capture the whole hold; any remainder is released
+ */
+public record CaptureHoldCommand(
+    AccountId counterpartyAccountId,
+    BigDecimal amount,
+    String description
+) {}
@@ -5,5 +5,7 @@ package com.dustin.finledger.ledger.application.dto;
 public record CreateAccountCommand(
     String name,
     String type,
-    String currencyCode
+    String currencyCode,
+    String overdraftPolicy,
+    Integer balanceSlots
 ) {}
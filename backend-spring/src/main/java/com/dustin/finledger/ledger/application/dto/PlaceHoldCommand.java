@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+/**
+ * @param expiresIn  {@code null} for the configured default
+ */
+public record PlaceHoldCommand(
+    AccountId accountId,
+    BigDecimal amount,
+    String currency,
+    String description,
+    Duration expiresIn
+) {}
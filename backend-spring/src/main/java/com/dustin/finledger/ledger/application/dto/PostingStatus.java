@@ -0,0 +1,21 @@
+package com.dustin.finledger.ledger.application.dto;
+
+/**
+ * Progress of an asynchronously submitted journal posting.
+ * <ul>
+ *     <li>QUEUED: accepted, waiting for a worker</li>
+ *     <li>POSTED: recorded; the ticket carries the journal entry id</li>
+ *     <li>REJECTED: the posting broke a business rule; the ticket carries the reason</li>
+ *     <li>FAILED: recording failed for an unexpected reason</li>
+ * </ul>
+ */
+public enum PostingStatus {
+    QUEUED,
+    POSTED,
+    REJECTED,
+    FAILED;
+
+    public boolean isFinal() {
+        return this != QUEUED;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+public record PostingTicket(
+    UUID ticket,
+    PostingStatus status,
+    JournalEntryId entryId,
+    String error,
+    Instant acceptedAt,
+    Instant completedAt
+) {
+    public static PostingTicket queued(UUID ticket, Instant acceptedAt) {
+        return new PostingTicket(ticket, PostingStatus.QUEUED, null, null, acceptedAt, null);
+    }
+
+    public PostingTicket posted(JournalEntryId entryId, Instant completedAt) {
+        return new PostingTicket(ticket, PostingStatus.POSTED, entryId, null, acceptedAt, completedAt);
+    }
+
+    public PostingTicket failed(PostingStatus status, String error, Instant completedAt) {
+        return new PostingTicket(ticket, status, null, error, acceptedAt, completedAt);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import java.util.List;
+
+public record RecordJournalEntryBatchCommand(
+    List<RecordJournalEntryCommand> entries,
+    BatchPostingMode mode
+) {}
@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.application.dto;
+
+import java.util.List;
+
+public record RecordJournalEntryBatchResult(
+    BatchPostingMode mode,
+    boolean committed,
+    List<BatchEntryResult> results
+) {
+    public long postedCount() {
+        return results.stream().filter(r -> r.status() == BatchEntryStatus.POSTED).count();
+    }
+
+    public long rejectedCount() {
+        return results.stream().filter(r -> r.status() == BatchEntryStatus.REJECTED).count();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Currency;
 import java.util.Objects;
 
 import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
 
 /**
  * Represents a user's financial account in the ledger.
@@ -14,6 +15,9 @@ import com.dustin.finledger.common.exceptions.DomainException;
  *     <li>A name (e.g., "Checking" or "Savings")</li>
  *     <li>An {@link AccountType} indicating its accounting behavior (Asset, Liability, etc.)</li>
  *     <li>An {@link AccountStatus} (OPEN, FROZEN, CLOSED)</li>
+ *     <li>An {@link OverdraftPolicy} deciding whether its balance may go negative</li>
+ *     <li>A number of balance slots: how many rows its running balance is spread
+ *     over, so a hot account is not serialized on a single row</li>
  * </ul>
  * <p>
  * Invariants:
@@ -21,6 +25,8 @@ import com.dustin.finledger.common.exceptions.DomainException;
  *     <li>Account name cannot be null or blank</li>
  *     <li>Cannot post transactions to frozen or closed accounts</li>
  *     <li>Accounts start with status OPEN</li>
+ *     <li>Accounts with {@link OverdraftPolicy#DENY} never have a negative balance</li>
+ *     <li>Balance slots are between 1 and {@link #MAX_BALANCE_SLOTS}</li>
  * </ul>
  * 
  * Example usage:
@@ -32,24 +38,49 @@ import com.dustin.finledger.common.exceptions.DomainException;
  * }</pre>
  */
 public class Account {
+    public static final int MAX_BALANCE_SLOTS = 64;
+
     private final AccountId id;
     private final String name;
     private final AccountType type;
     private final Currency currency;
+    private final OverdraftPolicy overdraftPolicy;
+    private final int balanceSlots;
     private AccountStatus status;
 
     public static Account create(String name, AccountType type, Currency currency) {
         return new Account(AccountId.newId(), name, type, currency);
     }
 
+    public static Account create(String name, AccountType type, Currency currency, OverdraftPolicy overdraftPolicy) {
+        return new Account(AccountId.newId(), name, type, currency, overdraftPolicy);
+    }
+
+    public static Account create(String name, AccountType type, Currency currency, OverdraftPolicy overdraftPolicy, int balanceSlots) {
+        return new Account(AccountId.newId(), name, type, currency, overdraftPolicy, balanceSlots);
+    }
+
     public Account(AccountId id, String name, AccountType type, Currency currency) {
+        this(id, name, type, currency, OverdraftPolicy.ALLOW);
+    }
+
+    public Account(AccountId id, String name, AccountType type, Currency currency, OverdraftPolicy overdraftPolicy) {
+        this(id, name, type, currency, overdraftPolicy, 1);
+    }
+
+    public Account(AccountId id, String name, AccountType type, Currency currency, OverdraftPolicy overdraftPolicy, int balanceSlots) {
         if (name == null || name.isBlank()) {
             throw new DomainException("Account name cannot be empty");
         }
+        if (balanceSlots < 1 || balanceSlots > MAX_BALANCE_SLOTS) {
+            throw new DomainException("Balance slots must be between 1 and " + MAX_BALANCE_SLOTS);
+        }
         this.id = Objects.requireNonNull(id);
         this.name = name;
         this.type = Objects.requireNonNull(type);
         this.currency = Objects.requireNonNull(currency);
+        this.overdraftPolicy = Objects.requireNonNull(overdraftPolicy);
+        this.balanceSlots = balanceSlots;
         this.status = AccountStatus.OPEN;
     }
 
@@ -73,6 +104,14 @@ public class Account {
         return status;
     }
 
+    public OverdraftPolicy getOverdraftPolicy() {
+        return overdraftPolicy;
+    }
+
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
+
     /**
      * Freezes the account. A frozen account cannot post transactions.
      * 
@@ -107,4 +146,21 @@ public class Account {
             throw new DomainException("Cannot post to account with status: " + status);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Ensures a balance, given as debits minus credits in minor units, is
+     * allowed by this account's {@link OverdraftPolicy}.
+     *
+     * @throws DomainException if the policy is DENY and the balance on the
+     *                         account's normal side is negative
+     */
+    public void ensureBalanceAllowed(long netDebitMinorUnits) {
+        if (overdraftPolicy == OverdraftPolicy.ALLOW) {
+            return;
+        }
+        long balance = type.increasesWith(EntrySide.DEBIT) ? netDebitMinorUnits : -netDebitMinorUnits;
+        if (balance < 0) {
+            throw new DomainException("Posting would overdraw account: " + id);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.dustin.finledger.ledger.domain.account;
 import java.util.Objects;
 import java.util.UUID;
 
+import com.dustin.finledger.common.id.Ids;
+
 
 /**
  * Value object representing the unique identifier of a {@link Account}.
@@ -31,10 +33,10 @@ public record AccountId (UUID id) {
     /**
      * Generates a new unique account ID.
      * 
-     * @return a new {@code AccountId} with a randomly generated UUID
+     * @return a new {@code AccountId} from the configured {@link Ids} generator
      */
     public static AccountId newId() {
-        return new AccountId(UUID.randomUUID());
+        return new AccountId(Ids.next());
     }
 
     public static AccountId of(UUID id){
@@ -0,0 +1,24 @@
+package com.dustin.finledger.ledger.domain.account;
+
+/**
+ * Whether postings may take an account below zero.
+ * <p>
+ * The balance is measured on the account's normal side, so for an ASSET it
+ * is debits minus credits and for a LIABILITY credits minus debits.
+ * <ul>
+ *     <li>ALLOW: any balance is accepted (the default)</li>
+ *     <li>DENY: a posting that would leave the balance negative is refused</li>
+ * </ul>
+ */
+public enum OverdraftPolicy {
+    ALLOW,
+    DENY;
+
+    public static OverdraftPolicy fromString(String value) {
+        try {
+            return OverdraftPolicy.valueOf(value.toUpperCase().trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid overdraft policy: " + value);
+        }
+    }
+}
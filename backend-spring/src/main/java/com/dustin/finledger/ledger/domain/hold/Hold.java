@@ -0,0 +1,94 @@
+package com.dustin.finledger.ledger.domain.hold;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Funds reserved on an account ahead of settlement, as in a card
+ * authorization.
+ * <p>
+ * A hold does not touch the ledger balance; it only lowers the account's
+ * available balance until it is captured, released or expires. Capturing
+ * posts a journal entry for up to the held amount.
+ * <p>
+ * Invariants:
+ * <ul>
+ *     <li>The amount is positive</li>
+ *     <li>A hold expires after it was created</li>
+ *     <li>Only a PENDING hold can be captured, released or expired</li>
+ * </ul>
+ */
+public final class Hold {
+
+    private final HoldId id;
+    private final AccountId accountId;
+    private final Money amount;
+    private final String description;
+    private final Instant createdAt;
+    private final Instant expiresAt;
+    private final HoldStatus status;
+    private final JournalEntryId captureEntryId;
+
+    public static Hold place(AccountId accountId, Money amount, String description, Instant createdAt, Instant expiresAt) {
+        return new Hold(HoldId.newId(), accountId, amount, description, createdAt, expiresAt, HoldStatus.PENDING, null);
+    }
+
+    public Hold(
+        HoldId id,
+        AccountId accountId,
+        Money amount,
+        String description,
+        Instant createdAt,
+        Instant expiresAt,
+        HoldStatus status,
+        JournalEntryId captureEntryId
+    ) {
+        this.id = Objects.requireNonNull(id);
+        this.accountId = Objects.requireNonNull(accountId);
+        this.amount = Objects.requireNonNull(amount);
+        this.description = description != null ? description : "";
+        this.createdAt = Objects.requireNonNull(createdAt);
+        this.expiresAt = Objects.requireNonNull(expiresAt);
+        this.status = Objects.requireNonNull(status);
+        this.captureEntryId = captureEntryId;
+        if (amount.isNegative() || amount.amount().signum() == 0) {
+            throw new DomainException("Hold amount must be positive");
+        }
+        if (!expiresAt.isAfter(createdAt)) {
+            throw new DomainException("Hold must expire after it is placed");
+        }
+    }
+
+    public HoldId getId() { return id; }
+    public AccountId getAccountId() { return accountId; }
+    public Money getAmount() { return amount; }
+    public String getDescription() { return description; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public HoldStatus getStatus() { return status; }
+    public JournalEntryId getCaptureEntryId() { return captureEntryId; }
+
+    public Hold captured(JournalEntryId entryId) {
+        return transition(HoldStatus.CAPTURED, Objects.requireNonNull(entryId));
+    }
+
+    public Hold released() {
+        return transition(HoldStatus.RELEASED, null);
+    }
+
+    public Hold expired() {
+        return transition(HoldStatus.EXPIRED, null);
+    }
+
+    private Hold transition(HoldStatus next, JournalEntryId entryId) {
+        if (status != HoldStatus.PENDING) {
+            throw new DomainException("Hold " + id.id() + " is already " + status);
+        }
+        return new Hold(id, accountId, amount, description, createdAt, expiresAt, next, entryId);
+    }
+}
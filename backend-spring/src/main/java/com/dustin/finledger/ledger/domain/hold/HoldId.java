@@ -0,0 +1,24 @@
+package com.dustin.finledger.ledger.domain.hold;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.dustin.finledger.common.id.Ids;
+
+/**
+ * Value object representing the unique identifier of a {@link Hold}.
+ */
+public record HoldId(UUID id) {
+
+    public HoldId {
+        Objects.requireNonNull(id, "HoldId cannot be null");
+    }
+
+    public static HoldId newId() {
+        return new HoldId(Ids.next());
+    }
+
+    public static HoldId of(UUID id) {
+        return new HoldId(id);
+    }
+}
@@ -0,0 +1,18 @@
+package com.dustin.finledger.ledger.domain.hold;
+
+/**
+ * Lifecycle of a {@link Hold}.
+ * <ul>
+ *     <li>PENDING: funds are reserved</li>
+ *     <li>CAPTURED: settled by a journal entry</li>
+ *     <li>RELEASED: given back before settlement</li>
+ *     <li>EXPIRED: given back because nobody captured it in time</li>
+ * </ul>
+ * Only PENDING holds can change status.
+ */
+public enum HoldStatus {
+    PENDING,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
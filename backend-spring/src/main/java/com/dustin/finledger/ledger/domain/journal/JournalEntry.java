@@ -5,11 +5,14 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import com.dustin.finledger.common.exceptions.DomainException;
 import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
 
 /**
  * Represents a financial transaction in a double-entry ledger.
@@ -30,7 +33,14 @@ public class JournalEntry {
     private final String description;
     private final Instant timestamp;
     private final List<JournalLine> lines;
+    // Line IDs and running totals are kept alongside the lines so that addLine
+    // and post stay O(1) for entries with tens of thousands of lines.
+    private final Set<JournalLineId> lineIds;
+    private long debitMinorUnits;
+    private long creditMinorUnits;
     private boolean posted;
+    // Ledger-wide posting order, given when a posted entry is recorded.
+    private Long sequence;
 
     public static JournalEntry create(String description) {
         return new JournalEntry(JournalEntryId.newId(), description);
@@ -53,9 +63,64 @@ public class JournalEntry {
         this.description = Objects.requireNonNull(description);
         this.timestamp = Instant.now();
         this.lines = new ArrayList<>();
+        this.lineIds = new HashSet<>();
         this.posted = false;
     }
 
+    private JournalEntry(JournalEntryId id, String description, Instant timestamp, List<JournalLine> lines, boolean posted) {
+        this.id = id;
+        this.description = description;
+        this.timestamp = timestamp;
+        this.lines = lines;
+        // A posted entry never takes another line, so it needs no ID index.
+        this.lineIds = posted ? Set.of() : HashSet.newHashSet(lines.size());
+        for (JournalLine line : lines) {
+            if (!posted) {
+                lineIds.add(line.id());
+            }
+            addToTotals(line);
+        }
+        this.posted = posted;
+    }
+
+    /**
+     * Rebuilds a journal entry exactly as it was stored.
+     * <p>
+     * Intended for repositories only: the lines were validated when the entry was
+     * recorded, so the duplicate, currency and balance checks are not repeated, and
+     * the stored timestamp is kept. A posted entry wraps {@code lines} directly as
+     * an unmodifiable list, so callers must hand over a list they no longer touch;
+     * a draft copies it so further lines can still be added.
+     *
+     * @param id            the stored entry ID
+     * @param description   the stored description
+     * @param timestamp     the stored creation time
+     * @param lines         the stored lines, in order
+     * @param posted        whether the entry was posted
+     * @return the rehydrated {@link JournalEntry}
+     */
+    public static JournalEntry reconstitute(JournalEntryId id, String description, Instant timestamp, List<JournalLine> lines, boolean posted) {
+        return reconstitute(id, description, timestamp, lines, posted, null);
+    }
+
+    /**
+     * Rebuilds a journal entry as it was stored, including its sequence number.
+     *
+     * @param sequence      the stored sequence number, or {@code null} if it has none
+     * @see #reconstitute(JournalEntryId, String, Instant, List, boolean)
+     */
+    public static JournalEntry reconstitute(JournalEntryId id, String description, Instant timestamp, List<JournalLine> lines, boolean posted, Long sequence) {
+        JournalEntry entry = new JournalEntry(
+            Objects.requireNonNull(id),
+            Objects.requireNonNull(description),
+            Objects.requireNonNull(timestamp),
+            posted ? Collections.unmodifiableList(lines) : new ArrayList<>(lines),
+            posted
+        );
+        entry.sequence = sequence;
+        return entry;
+    }
+
 
     /**
      * Adds a {@link JournalLine} to this transaction.
@@ -86,7 +151,14 @@ public class JournalEntry {
         ensureNotNull(line);
         ensureNoDuplicateEntryId(line);
         ensureSameCurrency(line);
+        // Summed before anything changes, so a line that overflows leaves the entry as it was.
+        long minorUnits = minorUnits(line);
+        long debit = line.side() == EntrySide.DEBIT ? Math.addExact(debitMinorUnits, minorUnits) : debitMinorUnits;
+        long credit = line.side() == EntrySide.DEBIT ? creditMinorUnits : Math.addExact(creditMinorUnits, minorUnits);
         lines.add(line);
+        lineIds.add(line.id());
+        debitMinorUnits = debit;
+        creditMinorUnits = credit;
     }
 
     /**
@@ -98,15 +170,16 @@ public class JournalEntry {
      * @throws JournalInvariantViolation if debits and credits do not balance
      */
     public void post(){
-        Money totalDebits = getTotalDebits();
-        Money totalCredits = getTotalCredits();
+        if (lines.isEmpty()) {
+            throw new IllegalStateException("No lines to post");
+        }
         if (lines.size() < 2) {
             throw new JournalInvariantViolation(
                 "JournalEntry must contain at least two lines"
             );
         }
 
-        if (!totalDebits.equals(totalCredits)) {
+        if (debitMinorUnits != creditMinorUnits) {
             throw new JournalInvariantViolation("Debits and credits must balance");
         }
         this.posted = true;
@@ -172,7 +245,31 @@ public class JournalEntry {
     }
 
     /**
-     * Computes the total of all debit entries in this transaction.
+     * Returns the entry's place in the ledger-wide posting order, or
+     * {@code null} if it has not been recorded as posted yet.
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gives a posted entry its sequence number. Intended for repositories,
+     * which number entries as they record them.
+     *
+     * @throws DomainException if the entry is not posted or already has one
+     */
+    public void assignSequence(long sequence) {
+        if (!posted) {
+            throw new DomainException("Cannot number an unposted journal entry");
+        }
+        if (this.sequence != null) {
+            throw new DomainException("Journal entry already has sequence number " + this.sequence);
+        }
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the total of all debit lines in this transaction.
      * 
      * @return the sum of the debit amounts as a {@link Money} object
      */
@@ -181,14 +278,11 @@ public class JournalEntry {
             throw new IllegalStateException("No lines to calculate debits");
         }
         Currency currency = lines.get(0).amount().currency();
-        return lines.stream()
-            .filter(l -> l.side() == EntrySide.DEBIT)
-            .map(JournalLine::amount)
-            .reduce(Money.zero(currency), Money::add);
+        return new Money(MoneyMinor.toDecimal(debitMinorUnits, currency), currency);
     }
 
     /**
-     * Computes the total of all credit entries in this transaction.
+     * Returns the total of all credit lines in this transaction.
      * 
      * @return the sum of the credit amounts as a {@link Money} object
      */
@@ -197,10 +291,21 @@ public class JournalEntry {
             throw new IllegalStateException("No lines to calculate credits");
         }
         Currency currency = lines.get(0).amount().currency();
-        return lines.stream()
-            .filter(l -> l.side() == EntrySide.CREDIT)
-            .map(JournalLine::amount)
-            .reduce(Money.zero(currency), Money::add);
+        return new Money(MoneyMinor.toDecimal(creditMinorUnits, currency), currency);
+    }
+
+    private void addToTotals(JournalLine line) {
+        long minorUnits = minorUnits(line);
+        if (line.side() == EntrySide.DEBIT) {
+            debitMinorUnits = Math.addExact(debitMinorUnits, minorUnits);
+        } else {
+            creditMinorUnits = Math.addExact(creditMinorUnits, minorUnits);
+        }
+    }
+
+    // Exact minor units; amounts and sums that do not fit a long throw rather than wrap.
+    private static long minorUnits(JournalLine line) {
+        return MoneyMinor.toMinorUnits(line.amount().amount(), line.amount().currency());
     }
     
 
@@ -216,7 +321,7 @@ public class JournalEntry {
      * @throws JournalInvariantViolation if the new entry's ID already exists.
     */
     private void ensureNoDuplicateEntryId(JournalLine newLine) {
-        if (lines.stream().anyMatch(l -> l.id().equals(newLine.id()))) {
+        if (lineIds.contains(newLine.id())) {
             throw new JournalInvariantViolation(
                 "Duplicate journal line ID: " + newLine.id()
             );
@@ -270,40 +375,4 @@ public class JournalEntry {
     //         );
     //     }
     // }
-
-    // Optional method for future use:
-    // /**
-    //  * Ensures that adding the new entry will not result in a negative ledger balance.
-    //  * 
-    //  * @param newEntry The new ledger entry to check.
-    //  * @throws LedgerInvariantViolation if balance would become negative.
-    // */
-    // public static void ensureNoNegativeBalance(LedgerEntry newEntry) {
-    //     Money balance = Money.zero(newEntry.amount().currency());
-
-    //     for (LedgerEntry entry : entries) {
-    //         balance = balance.add(entry.amount());
-    //     }
-    //     balance = balance.add(newEntry.amount());
-    
-    //     if (balance.isNegative()) {
-    //         throw new LedgerInvariantViolation(
-    //             "Ledger balance cannot be negative"
-    //         );
-    //     }
-    
-    //     // if (entries.isEmpty() && newEntry.amount().amount().compareTo(BigDecimal.ZERO) > 0) return;
-    
-    //     // BigDecimal total = newEntry.amount().amount();
-    //     // // BigDecimal total = new BigDecimal(0.0);
-    
-    //     // for (LedgerEntry entry : entries) {
-    //     //     total = total.add(entry.amount().amount());
-    //     // }
-    //     // if (total.compareTo(BigDecimal.ZERO) < 0) {
-    //     //     throw new LedgerInvariantViolation(
-    //     //         "Ledger balance mustt be greater than 0"
-    //     //     );
-    //     // }
-    // }
 }
@@ -3,6 +3,8 @@ package com.dustin.finledger.ledger.domain.journal;
 import java.util.Objects;
 import java.util.UUID;
 
+import com.dustin.finledger.common.id.Ids;
+
 /**
  * Value object representing the unique identifier of a {@link JournalEntry}.
  * <p>
@@ -31,10 +33,10 @@ public record JournalEntryId(UUID id) {
     /**
      * Generates a new unique journal entry ID.
      * 
-     * @return a new {@code JournalEntryId} with a randomly generated UUID
+     * @return a new {@code JournalEntryId} from the configured {@link Ids} generator
     */
    public static JournalEntryId newId() {
-       return new JournalEntryId(UUID.randomUUID());
+       return new JournalEntryId(Ids.next());
     }
 
     public static JournalEntryId of(UUID id) {
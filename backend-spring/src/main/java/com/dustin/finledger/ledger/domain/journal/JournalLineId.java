@@ -3,6 +3,8 @@ package com.dustin.finledger.ledger.domain.journal;
 import java.util.Objects;
 import java.util.UUID;
 
+import com.dustin.finledger.common.id.Ids;
+
 
 /**
  * Value object representing the unique identifier of a {@link JournalLine}.
@@ -31,10 +33,10 @@ public record JournalLineId(UUID id) {
     /**
      * Generates a new unique journal line ID.
      * 
-     * @return a new {@code JournalLineId} with a randomly generated UUID
+     * @return a new {@code JournalLineId} from the configured {@link Ids} generator
      */
     public static JournalLineId newId() {
-        return new JournalLineId(UUID.randomUUID());
+        return new JournalLineId(Ids.next());
     }
     /**
      * Creates a {@code JournalLineId} from a string representation of a UUID.
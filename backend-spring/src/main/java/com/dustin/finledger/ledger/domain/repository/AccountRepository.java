@@ -1,5 +1,7 @@
 package com.dustin.finledger.ledger.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.dustin.finledger.ledger.domain.account.Account;
@@ -8,4 +10,10 @@ import com.dustin.finledger.ledger.domain.account.AccountId;
 public interface AccountRepository {
     void save(Account account);
     Optional<Account> getById(AccountId id);
+
+    /**
+     * Loads every account whose ID is in {@code ids} in a single round trip.
+     * Unknown IDs are simply absent from the result; order is not guaranteed.
+     */
+    List<Account> getAllByIds(Collection<AccountId> ids);
 }
@@ -0,0 +1,23 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+
+public interface HoldRepository {
+
+    void insert(Hold hold);
+
+    Optional<Hold> getById(HoldId id);
+
+    /**
+     * Stores {@code hold}'s new status if the stored hold is still PENDING.
+     *
+     * @return {@code false} if another caller already changed it
+     */
+    boolean updateIfPending(Hold hold);
+
+    List<Hold> findAllPending();
+}
@@ -0,0 +1,30 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface IdempotencyKeyRepository {
+
+    /**
+     * Claims {@code key} for a request that has not completed yet.
+     *
+     * @return {@code false} if the key is already claimed
+     */
+    boolean claim(String key, String requestHash, Instant createdAt, Instant expiresAt);
+
+    Optional<IdempotencyRecord> find(String key);
+
+    void complete(String key, IdempotentResponse response);
+
+    /** Drops a claim whose request did not complete, so the key can be retried. */
+    void release(String key);
+
+    /** Deletes {@code key} if it has expired by {@code now}. */
+    void deleteIfExpired(String key, Instant now);
+
+    int deleteExpired(Instant now);
+
+    /** Feeds every key that has not expired by {@code now} to {@code consumer}. */
+    void forEachActiveKey(Instant now, Consumer<String> consumer);
+}
@@ -0,0 +1,18 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * A claimed idempotency key. {@code response} is {@code null} while the
+ * request that claimed it is still running.
+ */
+public record IdempotencyRecord(
+    String key,
+    String requestHash,
+    IdempotentResponse response,
+    Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
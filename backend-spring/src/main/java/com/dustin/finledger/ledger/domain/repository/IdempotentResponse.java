@@ -0,0 +1,12 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+/**
+ * The response first returned for an idempotency key, kept so a retry with the
+ * same key gets exactly the same answer.
+ */
+public record IdempotentResponse(
+    int status,
+    String contentType,
+    String location,
+    String body
+) {}
@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Keyset position in the posted journal, ordered by {@code (createdAt, id)}.
+ */
+public record JournalEntryCursor(Instant createdAt, JournalEntryId id) {
+
+    public JournalEntryCursor {
+        Objects.requireNonNull(createdAt, "createdAt cannot be null");
+        Objects.requireNonNull(id, "id cannot be null");
+    }
+}
@@ -0,0 +1,14 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.util.List;
+
+/**
+ * One page of posted journal entries in {@code (createdAt, id)} order.
+ * {@code next} and {@code previous} are null when there is nothing further
+ * in that direction.
+ */
+public record JournalEntryPage(
+    List<JournalEntryView> entries,
+    JournalEntryCursor next,
+    JournalEntryCursor previous
+) {}
@@ -0,0 +1,26 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+/**
+ * Request for one page of posted journal entries.
+ * <p>
+ * At most one of {@code after} and {@code before} may be set. With neither,
+ * the first page is returned. {@code accountId} is optional and restricts the
+ * page to entries with at least one line on that account.
+ */
+public record JournalEntryPageRequest(
+    AccountId accountId,
+    JournalEntryCursor after,
+    JournalEntryCursor before,
+    int limit
+) {
+    public JournalEntryPageRequest {
+        if (after != null && before != null) {
+            throw new IllegalArgumentException("Only one of after and before can be set");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+}
@@ -11,9 +11,14 @@ import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
 
 public interface JournalEntryRepository {
     void save(JournalEntry entry);
+    void saveAll(List<JournalEntry> entries);
     Optional<JournalEntry> getById(JournalEntryId id);
-    List<JournalEntry> findAllPostedByAccountId(AccountId accountId);
-    List<JournalEntry> findAll();
     Money getAccountBalance(AccountId accountId, Currency currency);
-    
+
+    /**
+     * Highest sequence number up to which every posted entry has been recorded
+     * or never will be: entries at or below it can be read in sequence order
+     * without any appearing later.
+     */
+    long getSequenceWatermark();
 }
@@ -0,0 +1,21 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Read-only snapshot of a stored journal entry, built straight from query
+ * results. Unlike {@link com.dustin.finledger.ledger.domain.journal.JournalEntry}
+ * it carries no behaviour and is not re-validated on load.
+ */
+public record JournalEntryView(
+    JournalEntryId id,
+    String description,
+    Instant timestamp,
+    boolean posted,
+    // Place in the ledger-wide posting order; null until posted
+    Long sequence,
+    List<JournalLineView> lines
+) {}
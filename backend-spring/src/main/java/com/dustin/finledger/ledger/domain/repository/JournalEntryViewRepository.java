@@ -0,0 +1,15 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.util.Optional;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Query side of the journal. Serves reads as flat {@link JournalEntryView}s
+ * without loading the {@code JournalEntry} aggregate, which is only needed
+ * when posting or reversing.
+ */
+public interface JournalEntryViewRepository {
+    Optional<JournalEntryView> findById(JournalEntryId id);
+    JournalEntryPage findPostedPage(JournalEntryPageRequest request);
+}
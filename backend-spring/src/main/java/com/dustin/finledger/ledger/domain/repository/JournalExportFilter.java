@@ -0,0 +1,21 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.time.Instant;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+/**
+ * Selects posted journal lines for export. Every field is optional;
+ * {@code from} is inclusive and {@code to} exclusive, both on the entry timestamp.
+ */
+public record JournalExportFilter(
+    AccountId accountId,
+    Instant from,
+    Instant to
+) {
+    public JournalExportFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+}
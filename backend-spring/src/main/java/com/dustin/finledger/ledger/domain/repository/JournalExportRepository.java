@@ -0,0 +1,14 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Forward-only access to posted journal lines for bulk export.
+ * <p>
+ * Rows are handed to the consumer one at a time, in entry timestamp order, as
+ * they are read from the database; nothing is collected in memory. If the
+ * consumer throws, reading stops and the underlying query is closed.
+ */
+public interface JournalExportRepository {
+    void streamPostedLines(JournalExportFilter filter, Consumer<PostedJournalLine> consumer);
+}
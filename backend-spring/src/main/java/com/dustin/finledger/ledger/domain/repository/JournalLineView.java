@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+
+public record JournalLineView(
+    JournalLineId id,
+    AccountId accountId,
+    BigDecimal amount,
+    String currency,
+    Instant occurredAt,
+    EntrySide side
+) {}
@@ -0,0 +1,25 @@
+package com.dustin.finledger.ledger.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+
+/**
+ * Flat, read-only view of one posted journal line together with its entry,
+ * as produced by {@link JournalExportRepository}.
+ */
+public record PostedJournalLine(
+    JournalEntryId entryId,
+    String description,
+    Instant entryTimestamp,
+    JournalLineId lineId,
+    AccountId accountId,
+    BigDecimal amount,
+    String currency,
+    EntrySide side,
+    Instant occurredAt
+) {}
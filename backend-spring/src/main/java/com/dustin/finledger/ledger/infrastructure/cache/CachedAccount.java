@@ -0,0 +1,47 @@
+package com.dustin.finledger.ledger.infrastructure.cache;
+
+import java.util.Currency;
+
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+
+/**
+ * Immutable copy of an account as held in the cache. Every read gets a fresh
+ * {@link Account}, so a freeze or close on one caller's copy is never seen by
+ * another thread before it is saved and committed.
+ */
+public record CachedAccount(
+    AccountId id,
+    String name,
+    AccountType type,
+    Currency currency,
+    AccountStatus status,
+    OverdraftPolicy overdraftPolicy,
+    int balanceSlots
+) {
+
+    static CachedAccount of(Account account) {
+        return new CachedAccount(
+            account.getId(),
+            account.getName(),
+            account.getType(),
+            account.getCurrency(),
+            account.getStatus(),
+            account.getOverdraftPolicy(),
+            account.getBalanceSlots()
+        );
+    }
+
+    Account toDomain() {
+        Account account = new Account(id, name, type, currency, overdraftPolicy, balanceSlots);
+        switch (status) {
+            case FROZEN -> account.freeze();
+            case CLOSED -> account.close();
+            default -> {}
+        }
+        return account;
+    }
+}
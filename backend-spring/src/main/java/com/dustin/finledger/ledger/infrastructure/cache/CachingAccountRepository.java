@@ -0,0 +1,85 @@
+package com.dustin.finledger.ledger.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Read-through cache in front of another {@link AccountRepository}.
+ * <p>
+ * Accounts are cached by {@link AccountId}. {@link #save(Account)} evicts the
+ * entry straight away and again once the surrounding transaction completes, so
+ * a freeze or close is visible to the next read and a rolled-back change never
+ * lingers in the cache. The cache holds {@link CachedAccount} snapshots and
+ * every read builds a fresh {@link Account} from one, so callers never share
+ * a mutable instance.
+ */
+public class CachingAccountRepository implements AccountRepository {
+
+    private final AccountRepository delegate;
+    private final Cache<AccountId, CachedAccount> cache;
+
+    public CachingAccountRepository(AccountRepository delegate, Cache<AccountId, CachedAccount> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void save(Account account) {
+        AccountId id = account.getId();
+        cache.invalidate(id);
+        delegate.save(account);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Optional<Account> getById(AccountId id) {
+        CachedAccount cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toDomain());
+        }
+        Optional<Account> loaded = delegate.getById(id);
+        loaded.ifPresent(account -> cache.put(id, CachedAccount.of(account)));
+        return loaded;
+    }
+
+    @Override
+    public List<Account> getAllByIds(Collection<AccountId> ids) {
+        Set<AccountId> distinct = new LinkedHashSet<>(ids);
+        Map<AccountId, CachedAccount> hits = cache.getAllPresent(distinct);
+
+        List<Account> result = new ArrayList<>(distinct.size());
+        for (CachedAccount cached : hits.values()) {
+            result.add(cached.toDomain());
+        }
+
+        if (hits.size() < distinct.size()) {
+            distinct.removeAll(hits.keySet());
+            for (Account account : delegate.getAllByIds(distinct)) {
+                cache.put(account.getId(), CachedAccount.of(account));
+                result.add(account);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+
+public class InMemoryAccountRepository implements AccountRepository {
+
+    private final InMemoryLedgerEngine engine;
+
+    public InMemoryAccountRepository(InMemoryLedgerEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void save(Account account) {
+        engine.saveAccount(StoredAccount.of(account));
+    }
+
+    @Override
+    public Optional<Account> getById(AccountId id) {
+        return Optional.ofNullable(engine.state().accounts().get(id))
+            .map(StoredAccount::toDomain);
+    }
+
+    @Override
+    public List<Account> getAllByIds(Collection<AccountId> ids) {
+        return ids.stream()
+            .distinct()
+            .map(engine.state().accounts()::get)
+            .filter(Objects::nonNull)
+            .map(StoredAccount::toDomain)
+            .toList();
+    }
+}
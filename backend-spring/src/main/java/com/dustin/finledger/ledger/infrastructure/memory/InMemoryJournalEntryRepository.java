@@ -0,0 +1,66 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+public class InMemoryJournalEntryRepository implements JournalEntryRepository {
+
+    private final InMemoryLedgerEngine engine;
+
+    public InMemoryJournalEntryRepository(InMemoryLedgerEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void save(JournalEntry entry) {
+        engine.saveEntries(List.of(StoredEntry.of(entry)));
+        copySequence(entry);
+    }
+
+    /**
+     * Submits the whole list as one command, so it is logged in a single group
+     * commit and either every entry is recorded or none is.
+     */
+    @Override
+    public void saveAll(List<JournalEntry> entries) {
+        engine.saveEntries(entries.stream().map(StoredEntry::of).toList());
+        entries.forEach(this::copySequence);
+    }
+
+    /** Hands the number the engine gave a posted entry back to the caller's copy. */
+    private void copySequence(JournalEntry entry) {
+        if (entry.isPosted() && entry.getSequence() == null) {
+            entry.assignSequence(engine.state().entries().get(entry.getId()).sequence());
+        }
+    }
+
+    @Override
+    public Optional<JournalEntry> getById(JournalEntryId id) {
+        return Optional.ofNullable(engine.state().entries().get(id))
+            .map(StoredEntry::toDomain);
+    }
+
+    @Override
+    public Money getAccountBalance(AccountId accountId, Currency currency) {
+        LedgerState.Balance balance = engine.state().balance(accountId);
+        if (balance == null || !balance.currency().equals(currency)) {
+            return Money.zero(currency);
+        }
+        long net = Math.subtractExact(balance.debitMinor(), balance.creditMinor());
+        return Money.of(MoneyMinor.toDecimal(net, currency), currency);
+    }
+
+    /** Entries are numbered as they are logged and readable once applied, so nothing is pending. */
+    @Override
+    public long getSequenceWatermark() {
+        return engine.state().lastSequence();
+    }
+}
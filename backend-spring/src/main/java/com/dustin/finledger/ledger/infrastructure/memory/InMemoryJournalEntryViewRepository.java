@@ -0,0 +1,98 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryViewRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalLineView;
+
+public class InMemoryJournalEntryViewRepository implements JournalEntryViewRepository {
+
+    private final InMemoryLedgerEngine engine;
+
+    public InMemoryJournalEntryViewRepository(InMemoryLedgerEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public Optional<JournalEntryView> findById(JournalEntryId id) {
+        return Optional.ofNullable(engine.state().entries().get(id))
+            .map(InMemoryJournalEntryViewRepository::toView);
+    }
+
+    /**
+     * Same keyset contract as the database read model: walks the posting-order
+     * index from the cursor and reads {@code limit + 1} keys.
+     */
+    @Override
+    public JournalEntryPage findPostedPage(JournalEntryPageRequest request) {
+        LedgerState state = engine.state();
+        boolean backward = request.before() != null;
+        JournalEntryCursor cursor = backward ? request.before() : request.after();
+
+        NavigableSet<JournalEntryCursor> index = request.accountId() != null
+            ? state.postedKeys(request.accountId())
+            : state.posted().navigableKeySet();
+        if (cursor != null) {
+            index = backward ? index.headSet(cursor, false) : index.tailSet(cursor, false);
+        }
+        Iterator<JournalEntryCursor> it = backward ? index.descendingIterator() : index.iterator();
+
+        List<JournalEntryCursor> keys = new ArrayList<>(request.limit() + 1);
+        while (it.hasNext() && keys.size() <= request.limit()) {
+            keys.add(it.next());
+        }
+
+        boolean hasMore = keys.size() > request.limit();
+        if (hasMore) {
+            keys.remove(keys.size() - 1);
+        }
+        if (backward) {
+            Collections.reverse(keys);
+        }
+        if (keys.isEmpty()) {
+            return new JournalEntryPage(List.of(), null, null);
+        }
+
+        List<JournalEntryView> entries = keys.stream()
+            .map(state.posted()::get)
+            .map(InMemoryJournalEntryViewRepository::toView)
+            .toList();
+
+        JournalEntryCursor first = keys.get(0);
+        JournalEntryCursor last = keys.get(keys.size() - 1);
+        JournalEntryCursor next = backward || hasMore ? last : null;
+        JournalEntryCursor previous = backward ? (hasMore ? first : null) : (cursor != null ? first : null);
+
+        return new JournalEntryPage(entries, next, previous);
+    }
+
+    private static JournalEntryView toView(StoredEntry entry) {
+        return new JournalEntryView(
+            entry.id(),
+            entry.description(),
+            entry.timestamp(),
+            entry.posted(),
+            entry.sequence() != 0 ? entry.sequence() : null,
+            entry.lines().stream()
+                .map(line -> new JournalLineView(
+                    line.id(),
+                    line.accountId(),
+                    line.amount().amount(),
+                    line.amount().currency().getCurrencyCode(),
+                    line.occurredAt(),
+                    line.side()
+                ))
+                .toList()
+        );
+    }
+}
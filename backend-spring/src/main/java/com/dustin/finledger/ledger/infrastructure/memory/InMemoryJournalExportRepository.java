@@ -0,0 +1,48 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+import com.dustin.finledger.ledger.domain.repository.JournalExportFilter;
+import com.dustin.finledger.ledger.domain.repository.JournalExportRepository;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+public class InMemoryJournalExportRepository implements JournalExportRepository {
+
+    private final InMemoryLedgerEngine engine;
+
+    public InMemoryJournalExportRepository(InMemoryLedgerEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void streamPostedLines(JournalExportFilter filter, Consumer<PostedJournalLine> consumer) {
+        LedgerState state = engine.state();
+        Collection<JournalEntryCursor> keys = filter.accountId() != null
+            ? state.postedKeys(filter.accountId())
+            : state.posted().navigableKeySet();
+
+        for (JournalEntryCursor key : keys) {
+            if (filter.from() != null && key.createdAt().isBefore(filter.from())) continue;
+            if (filter.to() != null && !key.createdAt().isBefore(filter.to())) break;
+
+            StoredEntry entry = state.posted().get(key);
+            for (JournalLine line : entry.lines()) {
+                if (filter.accountId() != null && !filter.accountId().equals(line.accountId())) continue;
+                consumer.accept(new PostedJournalLine(
+                    entry.id(),
+                    entry.description(),
+                    entry.timestamp(),
+                    line.id(),
+                    line.accountId(),
+                    line.amount().amount(),
+                    line.amount().currency().getCurrencyCode(),
+                    line.side(),
+                    line.occurredAt()
+                ));
+            }
+        }
+    }
+}
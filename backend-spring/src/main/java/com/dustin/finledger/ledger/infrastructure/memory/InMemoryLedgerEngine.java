@@ -0,0 +1,320 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dustin.finledger.config.InMemoryLedgerProperties;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+/**
+ * Keeps the whole ledger in memory and makes it durable through a
+ * memory-mapped write-ahead log.
+ * <p>
+ * All writes go through one bounded queue to a single writer thread, so state
+ * is never mutated concurrently and needs no locks. The writer drains up to
+ * {@code maxBatch} commands at a time, appends them all to the WAL, syncs once
+ * (group commit), then applies them to memory and releases the callers. A
+ * caller therefore returns only once its change is on disk, and readers never
+ * see a change that could be lost. A full queue blocks callers, which is the
+ * engine's back-pressure.
+ * <p>
+ * Every {@code snapshotEvery} records the writer rolls to a new WAL segment,
+ * writes a snapshot and deletes the segments it covers. Writes pause while the
+ * snapshot is written. On start the newest snapshot is loaded and only the
+ * later segments are replayed.
+ * <p>
+ * Balances are kept off-heap in a {@link MappedBalanceIndex} that readers query
+ * without locks. It is checkpointed with every snapshot, so after a clean
+ * shutdown it is reused as is; after a crash it is rebuilt from the snapshot and
+ * the WAL.
+ */
+public class InMemoryLedgerEngine implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryLedgerEngine.class);
+
+    private static final String BALANCE_INDEX_FILE = "balances.idx";
+
+    private final InMemoryLedgerProperties properties;
+    private final BlockingQueue<Command> queue;
+    private final MappedWriteAheadLog wal;
+    private final SnapshotStore snapshots;
+
+    private MappedBalanceIndex balances;
+    private volatile LedgerState state;
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread writer;
+    private long recordsSinceSnapshot;
+
+    public InMemoryLedgerEngine(InMemoryLedgerProperties properties) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.ringCapacity());
+        this.wal = new MappedWriteAheadLog(properties.directory(), Math.toIntExact(properties.walSegmentSize().toBytes()));
+        this.snapshots = new SnapshotStore(properties.directory());
+    }
+
+    /**
+     * Recovers state from the newest snapshot and the WAL, then starts the writer.
+     */
+    public synchronized void start() throws IOException {
+        if (running) return;
+        Files.createDirectories(properties.directory());
+
+        balances = MappedBalanceIndex.open(properties.directory().resolve(BALANCE_INDEX_FILE), properties.balanceIndexCapacity());
+        long replayFrom = 0;
+        LedgerState recovered;
+        var snapshot = snapshots.loadLatest(this::stateForSnapshot);
+        if (snapshot.isPresent()) {
+            replayFrom = snapshot.get().walSequence();
+            recovered = snapshot.get().state();
+        } else {
+            balances.clear();
+            recovered = new LedgerState(balances, false);
+        }
+        recovered.trackBalances();
+
+        LedgerState target = recovered;
+        LedgerCodec.RecordVisitor visitor = new LedgerCodec.RecordVisitor() {
+            @Override public void account(StoredAccount account) { target.apply(account); }
+            @Override public void entry(StoredEntry entry) { target.apply(entry); }
+        };
+        wal.replay(replayFrom, buf -> LedgerCodec.decode(buf, visitor));
+        wal.open();
+
+        state = recovered;
+        log.info("In-memory ledger recovered {} accounts and {} journal entries from {}",
+            recovered.accounts().size(), recovered.entries().size(), properties.directory());
+
+        running = true;
+        writer = Thread.ofPlatform().name("ledger-writer").start(this::runWriter);
+    }
+
+    /**
+     * Stops accepting writes, finishes queued ones, writes a final snapshot and
+     * closes the log.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            writer.join();
+            // Writes that raced with shutdown never reached the log.
+            List<Command> stranded = new ArrayList<>();
+            queue.drainTo(stranded);
+            stranded.forEach(c -> c.done().completeExceptionally(
+                new IllegalStateException("In-memory ledger is not running")));
+            if (failure == null) {
+                snapshot();
+            }
+            wal.close();
+            balances.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to close the in-memory ledger cleanly", e);
+        }
+    }
+
+    LedgerState state() {
+        return state;
+    }
+
+    /**
+     * State to load the snapshot taken at {@code walSequence} into. The balance
+     * index is trusted only if it was checkpointed with that same snapshot.
+     */
+    private LedgerState stateForSnapshot(long walSequence) {
+        if (balances.checkpoint() == walSequence) {
+            log.info("Reusing balance index checkpointed at WAL segment {}", walSequence);
+            return new LedgerState(balances, true);
+        }
+        balances.clear();
+        return new LedgerState(balances, false);
+    }
+
+    void saveAccount(StoredAccount account) {
+        submit(new SaveAccount(account, new CompletableFuture<>()));
+    }
+
+    /**
+     * Records the entries atomically: all of them are logged in one record or,
+     * if any is rejected, none are.
+     */
+    void saveEntries(List<StoredEntry> entries) {
+        if (entries.isEmpty()) return;
+        submit(new SaveEntries(List.copyOf(entries), new CompletableFuture<>()));
+    }
+
+    private void submit(Command command) {
+        if (!running) {
+            throw new IllegalStateException("In-memory ledger is not running");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("In-memory ledger stopped after a write failure", failure);
+        }
+        try {
+            queue.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a ledger write", e);
+        }
+        try {
+            command.done().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void runWriter() {
+        List<Command> batch = new ArrayList<>(properties.maxBatch());
+        while (running || !queue.isEmpty()) {
+            try {
+                Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatch() - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Command> batch) {
+        if (failure != null) {
+            batch.forEach(c -> c.done().completeExceptionally(
+                new IllegalStateException("In-memory ledger stopped after a write failure", failure)));
+            return;
+        }
+
+        List<Command> accepted = new ArrayList<>(batch.size());
+        Set<JournalEntryId> pendingIds = new HashSet<>();
+        long sequence = state.lastSequence();
+        try {
+            balances.ensureCapacity(batch.stream().mapToInt(InMemoryLedgerEngine::lineCount).sum());
+            for (Command received : batch) {
+                RuntimeException rejection = validate(received, pendingIds);
+                if (rejection != null) {
+                    received.done().completeExceptionally(rejection);
+                    continue;
+                }
+                // Posted entries are numbered in log order, which is also apply order.
+                Command command = received;
+                if (received instanceof SaveEntries save) {
+                    List<StoredEntry> numbered = new ArrayList<>(save.entries().size());
+                    for (StoredEntry entry : save.entries()) {
+                        numbered.add(entry.posted() ? entry.withSequence(++sequence) : entry);
+                    }
+                    command = new SaveEntries(numbered, save.done());
+                }
+                wal.append(encode(command));
+                recordsSinceSnapshot++;
+                accepted.add(command);
+            }
+            wal.force();
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            log.error("Write-ahead log failure; the in-memory ledger no longer accepts writes", e);
+            accepted.forEach(c -> c.done().completeExceptionally(new UncheckedIOException(failure)));
+            return;
+        }
+
+        for (Command command : accepted) {
+            try {
+                apply(command);
+            } catch (RuntimeException e) {
+                // Logged but not applied: memory no longer matches the WAL, so
+                // stop and let a restart rebuild state from the log.
+                failure = new IOException("Failed to apply a logged change", e);
+                log.error("In-memory ledger state diverged from the WAL; no longer accepting writes", e);
+                accepted.forEach(c -> c.done().completeExceptionally(new UncheckedIOException(failure)));
+                return;
+            }
+            command.done().complete(null);
+        }
+
+        if (recordsSinceSnapshot >= properties.snapshotEvery()) {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                // The WAL still holds everything; try again after the next batch.
+                log.warn("Snapshot failed; will retry", e);
+            }
+        }
+    }
+
+    private RuntimeException validate(Command command, Set<JournalEntryId> pendingIds) {
+        if (command instanceof SaveEntries save) {
+            Set<JournalEntryId> ids = new HashSet<>();
+            for (StoredEntry entry : save.entries()) {
+                if (state.containsEntry(entry.id()) || pendingIds.contains(entry.id()) || !ids.add(entry.id())) {
+                    return new IllegalStateException("Journal entry already recorded: " + entry.id());
+                }
+            }
+            pendingIds.addAll(ids);
+        }
+        return null;
+    }
+
+    private static int lineCount(Command command) {
+        return switch (command) {
+            case SaveAccount save -> 0;
+            case SaveEntries save -> save.entries().stream().mapToInt(e -> e.lines().size()).sum();
+        };
+    }
+
+    /**
+     * One WAL record per command, so a crash can never leave part of a batch
+     * of entries in the log.
+     */
+    private static ByteBuffer encode(Command command) {
+        return switch (command) {
+            case SaveAccount save -> LedgerCodec.encode(save.account());
+            case SaveEntries save when save.entries().size() == 1 -> LedgerCodec.encode(save.entries().getFirst());
+            case SaveEntries save -> LedgerCodec.encode(save.entries());
+        };
+    }
+
+    private void apply(Command command) {
+        switch (command) {
+            case SaveAccount save -> state.apply(save.account());
+            case SaveEntries save -> save.entries().forEach(state::apply);
+        }
+    }
+
+    private void snapshot() throws IOException {
+        long next = wal.roll();
+        snapshots.write(next, state);
+        balances.checkpoint(next);
+        wal.deleteSegmentsBefore(next);
+        snapshots.deleteOlderThan(next);
+        recordsSinceSnapshot = 0;
+    }
+
+    private sealed interface Command permits SaveAccount, SaveEntries {
+        CompletableFuture<Void> done();
+    }
+
+    private record SaveAccount(StoredAccount account, CompletableFuture<Void> done) implements Command {}
+
+    private record SaveEntries(List<StoredEntry> entries, CompletableFuture<Void> done) implements Command {}
+}
@@ -0,0 +1,195 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+
+/**
+ * Binary encoding of engine records, shared by the WAL and snapshots.
+ * <p>
+ * Every record starts with a one-byte type tag. Amounts are written as minor
+ * units, instants as epoch seconds plus nanos, strings as length-prefixed UTF-8.
+ * A batch of entries that must be recovered together is one record holding
+ * length-prefixed entry records.
+ */
+final class LedgerCodec {
+
+    static final byte ACCOUNT = 1;
+    static final byte ENTRY = 2;
+    static final byte ENTRIES = 3;
+
+    private LedgerCodec() {}
+
+    static ByteBuffer encode(StoredAccount account) {
+        byte[] name = utf8(account.name());
+        ByteBuffer buf = ByteBuffer.allocate(1 + 16 + 4 + name.length + 1 + 3 + 1 + 1 + 1);
+        buf.put(ACCOUNT);
+        putUuid(buf, account.id().id());
+        putBytes(buf, name);
+        buf.put((byte) account.type().ordinal());
+        putCurrency(buf, account.currency());
+        buf.put((byte) account.status().ordinal());
+        buf.put((byte) account.overdraftPolicy().ordinal());
+        buf.put((byte) account.balanceSlots());
+        return buf.flip();
+    }
+
+    static ByteBuffer encode(StoredEntry entry) {
+        byte[] description = utf8(entry.description());
+        int lineSize = 16 + 16 + 8 + 3 + 12 + 1;
+        ByteBuffer buf = ByteBuffer.allocate(1 + 16 + 4 + description.length + 12 + 1 + 4 + lineSize * entry.lines().size() + 8);
+        buf.put(ENTRY);
+        putUuid(buf, entry.id().id());
+        putBytes(buf, description);
+        putInstant(buf, entry.timestamp());
+        buf.put((byte) (entry.posted() ? 1 : 0));
+        buf.putInt(entry.lines().size());
+        for (JournalLine line : entry.lines()) {
+            putUuid(buf, line.id().id());
+            putUuid(buf, line.accountId().id());
+            buf.putLong(MoneyMinor.toMinorUnits(line.amount().amount(), line.amount().currency()));
+            putCurrency(buf, line.amount().currency());
+            putInstant(buf, line.occurredAt());
+            buf.put((byte) line.side().ordinal());
+        }
+        buf.putLong(entry.sequence());
+        return buf.flip();
+    }
+
+    static ByteBuffer encode(List<StoredEntry> entries) {
+        List<ByteBuffer> encoded = entries.stream().map(LedgerCodec::encode).toList();
+        ByteBuffer buf = ByteBuffer.allocate(1 + 4 + encoded.stream().mapToInt(e -> 4 + e.remaining()).sum());
+        buf.put(ENTRIES);
+        buf.putInt(encoded.size());
+        for (ByteBuffer entry : encoded) {
+            buf.putInt(entry.remaining());
+            buf.put(entry);
+        }
+        return buf.flip();
+    }
+
+    /**
+     * Decodes one record and hands it, or each entry of a batch, to the
+     * matching callback.
+     */
+    static void decode(ByteBuffer buf, RecordVisitor visitor) {
+        byte type = buf.get();
+        switch (type) {
+            case ACCOUNT -> visitor.account(decodeAccount(buf));
+            case ENTRY -> visitor.entry(decodeEntry(buf));
+            case ENTRIES -> {
+                int count = buf.getInt();
+                for (int i = 0; i < count; i++) {
+                    int length = buf.getInt();
+                    ByteBuffer entry = buf.slice(buf.position(), length);
+                    buf.position(buf.position() + length);
+                    decode(entry, visitor);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown ledger record type: " + type);
+        }
+    }
+
+    interface RecordVisitor {
+        void account(StoredAccount account);
+        void entry(StoredEntry entry);
+    }
+
+    private static StoredAccount decodeAccount(ByteBuffer buf) {
+        return new StoredAccount(
+            new AccountId(getUuid(buf)),
+            getString(buf),
+            AccountType.values()[buf.get()],
+            getCurrency(buf),
+            AccountStatus.values()[buf.get()],
+            // Written after the rest of the record; older records end before them.
+            buf.hasRemaining() ? OverdraftPolicy.values()[buf.get()] : OverdraftPolicy.ALLOW,
+            buf.hasRemaining() ? buf.get() : 1
+        );
+    }
+
+    private static StoredEntry decodeEntry(ByteBuffer buf) {
+        JournalEntryId id = new JournalEntryId(getUuid(buf));
+        String description = getString(buf);
+        Instant timestamp = getInstant(buf);
+        boolean posted = buf.get() == 1;
+        int count = buf.getInt();
+        List<JournalLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JournalLineId lineId = new JournalLineId(getUuid(buf));
+            AccountId accountId = new AccountId(getUuid(buf));
+            long minorUnits = buf.getLong();
+            Currency currency = getCurrency(buf);
+            Instant occurredAt = getInstant(buf);
+            EntrySide side = EntrySide.values()[buf.get()];
+            lines.add(new JournalLine(
+                lineId,
+                accountId,
+                new Money(MoneyMinor.toDecimal(minorUnits, currency), currency),
+                occurredAt,
+                side
+            ));
+        }
+        // Written after the lines; older records end before it.
+        long sequence = buf.hasRemaining() ? buf.getLong() : 0;
+        return new StoredEntry(id, description, timestamp, posted, lines, sequence);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        buf.putInt(bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putUuid(ByteBuffer buf, UUID uuid) {
+        buf.putLong(uuid.getMostSignificantBits());
+        buf.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buf) {
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+
+    private static void putInstant(ByteBuffer buf, Instant instant) {
+        buf.putLong(instant.getEpochSecond());
+        buf.putInt(instant.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer buf) {
+        return Instant.ofEpochSecond(buf.getLong(), buf.getInt());
+    }
+
+    private static void putCurrency(ByteBuffer buf, Currency currency) {
+        buf.put(currency.getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Currency getCurrency(ByteBuffer buf) {
+        byte[] code = new byte[3];
+        buf.get(code);
+        return Currency.getInstance(new String(code, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,123 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+
+/**
+ * Everything the in-memory engine knows: accounts, journal entries, posting-order
+ * indexes and materialized balances. Balances live off-heap in a
+ * {@link MappedBalanceIndex}; everything else is on the heap.
+ * <p>
+ * Only the writer thread calls the {@code apply} methods; readers on any thread
+ * see a change once the writer has applied it, which happens only after the
+ * change is durable in the WAL.
+ */
+final class LedgerState {
+
+    static final Comparator<JournalEntryCursor> KEY_ORDER = Comparator
+        .comparing(JournalEntryCursor::createdAt)
+        .thenComparing(k -> k.id().id());
+
+    private final Map<AccountId, StoredAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<JournalEntryId, StoredEntry> entries = new ConcurrentHashMap<>();
+    private final NavigableMap<JournalEntryCursor, StoredEntry> posted = new ConcurrentSkipListMap<>(KEY_ORDER);
+    private final Map<AccountId, NavigableSet<JournalEntryCursor>> postedByAccount = new ConcurrentHashMap<>();
+    private final MappedBalanceIndex balances;
+    private boolean balancesCurrent;
+    private volatile long lastSequence;
+
+    /** Running totals of one account, in minor units of the first currency posted to it. */
+    record Balance(Currency currency, long debitMinor, long creditMinor) {}
+
+    /**
+     * @param balancesCurrent whether {@code balances} already reflects every entry
+     *                        that is about to be applied, so applying them must not
+     *                        add to it again; see {@link #trackBalances()}
+     */
+    LedgerState(MappedBalanceIndex balances, boolean balancesCurrent) {
+        this.balances = balances;
+        this.balancesCurrent = balancesCurrent;
+    }
+
+    /** Applies the lines of every entry from now on to the balance index. */
+    void trackBalances() {
+        balancesCurrent = false;
+    }
+
+    void apply(StoredAccount account) {
+        accounts.put(account.id(), account);
+    }
+
+    void apply(StoredEntry entry) {
+        if (entry.posted() && entry.sequence() == 0) {
+            // Logged before entries were numbered: number it in replay order.
+            entry = entry.withSequence(lastSequence + 1);
+        }
+        if (entries.putIfAbsent(entry.id(), entry) != null || !entry.posted()) {
+            return;
+        }
+        lastSequence = Math.max(lastSequence, entry.sequence());
+        JournalEntryCursor key = entry.key();
+        posted.put(key, entry);
+        for (JournalLine line : entry.lines()) {
+            postedByAccount
+                .computeIfAbsent(line.accountId(), id -> new ConcurrentSkipListSet<>(KEY_ORDER))
+                .add(key);
+
+            if (!balancesCurrent) {
+                long minorUnits = MoneyMinor.toMinorUnits(line.amount().amount(), line.amount().currency());
+                boolean debit = line.side() == EntrySide.DEBIT;
+                balances.add(line.accountId(), line.amount().currency(), debit ? minorUnits : 0, debit ? 0 : minorUnits);
+            }
+        }
+    }
+
+    boolean containsEntry(JournalEntryId id) {
+        return entries.containsKey(id);
+    }
+
+    Map<AccountId, StoredAccount> accounts() {
+        return accounts;
+    }
+
+    Map<JournalEntryId, StoredEntry> entries() {
+        return entries;
+    }
+
+    /** Posted entries in {@code (timestamp, id)} order. */
+    NavigableMap<JournalEntryCursor, StoredEntry> posted() {
+        return posted;
+    }
+
+    /** Keys of posted entries that touch {@code accountId}, in posting order. */
+    NavigableSet<JournalEntryCursor> postedKeys(AccountId accountId) {
+        NavigableSet<JournalEntryCursor> keys = postedByAccount.get(accountId);
+        return keys != null ? keys : new ConcurrentSkipListSet<>(KEY_ORDER);
+    }
+
+    /**
+     * Highest sequence number given to a posted entry. Entries are numbered in
+     * the order they are logged and applied, so none can appear below it later.
+     */
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /** Totals of {@code accountId}, read without locking; {@code null} if it has none. */
+    Balance balance(AccountId accountId) {
+        return balances.get(accountId);
+    }
+}
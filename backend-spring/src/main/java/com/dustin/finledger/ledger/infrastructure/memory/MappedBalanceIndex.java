@@ -0,0 +1,377 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Currency;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+/**
+ * Off-heap open-addressing hash table from account id to running debit and
+ * credit totals in minor units, kept in a memory-mapped file.
+ * <p>
+ * Each slot is a fixed 48-byte record {@code [uuid msb][uuid lsb][seq][debit][credit][currency]},
+ * so the table holds no per-account objects and its size is bounded by the
+ * file, not the heap. Collisions are resolved by linear probing and slots are
+ * never removed, so a key never moves within a table.
+ * <p>
+ * Only the engine's writer thread mutates the table. Readers take no locks:
+ * every slot carries a sequence number the writer makes odd while it changes
+ * the slot and even again afterwards, and a reader retries until it sees the
+ * same even number before and after reading (a seqlock). When the table is
+ * three quarters full the writer copies it into a file twice the size and
+ * publishes the new mapping; readers still on the old one see a consistent
+ * image as of the switch.
+ * <p>
+ * The header records the WAL sequence of the snapshot the table matches. The
+ * first change after a checkpoint clears it, so after a crash the engine knows
+ * to rebuild the table rather than trust it.
+ */
+final class MappedBalanceIndex implements Closeable {
+
+    private static final int MAGIC = 0x464C4249; // "FLBI"
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_SIZE = 16;
+    private static final int H_CHECKPOINT = 24;
+
+    private static final int SLOT = 48;
+    private static final int S_MSB = 0;
+    private static final int S_LSB = 8;
+    private static final int S_SEQ = 16;
+    private static final int S_DEBIT = 24;
+    private static final int S_CREDIT = 32;
+    private static final int S_CURRENCY = 40;
+
+    private static final int MAX_CAPACITY = 1 << 25;
+    private static final long NO_CHECKPOINT = -1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private volatile Table table;
+    private long size;
+    private boolean checkpointed;
+
+    private record Table(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        int mask() {
+            return capacity - 1;
+        }
+    }
+
+    private MappedBalanceIndex(Path path, Table table) {
+        this.path = path;
+        this.table = table;
+        this.size = table.buffer().getLong(H_SIZE);
+        this.checkpointed = checkpoint() != NO_CHECKPOINT;
+    }
+
+    /**
+     * Maps the table at {@code path}, creating it with at least
+     * {@code initialCapacity} slots if there is none.
+     */
+    static MappedBalanceIndex open(Path path, int initialCapacity) throws IOException {
+        if (Files.exists(path)) {
+            Table existing = map(path, -1);
+            if (existing != null) {
+                return new MappedBalanceIndex(path, existing);
+            }
+        }
+        return new MappedBalanceIndex(path, create(path, capacityFor(initialCapacity)));
+    }
+
+    /**
+     * Returns the totals for {@code accountId}, or {@code null} if it has none.
+     * Safe to call from any thread.
+     */
+    LedgerState.Balance get(AccountId accountId) {
+        long msb = accountId.id().getMostSignificantBits();
+        long lsb = accountId.id().getLeastSignificantBits();
+        Table t = table;
+        MappedByteBuffer buf = t.buffer();
+
+        for (int i = 0, slot = hash(msb, lsb) & t.mask(); i < t.capacity(); i++, slot = (slot + 1) & t.mask()) {
+            int base = HEADER + slot * SLOT;
+            while (true) {
+                long seq = (long) LONGS.getAcquire(buf, base + S_SEQ);
+                if ((seq & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long slotMsb = buf.getLong(base + S_MSB);
+                long slotLsb = buf.getLong(base + S_LSB);
+                long debit = buf.getLong(base + S_DEBIT);
+                long credit = buf.getLong(base + S_CREDIT);
+                int currency = buf.getInt(base + S_CURRENCY);
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getOpaque(buf, base + S_SEQ) != seq) {
+                    continue;
+                }
+                if (slotMsb == 0 && slotLsb == 0) {
+                    return null;
+                }
+                if (slotMsb == msb && slotLsb == lsb) {
+                    return new LedgerState.Balance(decodeCurrency(currency), debit, credit);
+                }
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds to the totals of {@code accountId}. The first posting to an account
+     * fixes the currency its totals are kept in. Writer thread only.
+     */
+    void add(AccountId accountId, Currency currency, long debitMinor, long creditMinor) {
+        long msb = accountId.id().getMostSignificantBits();
+        long lsb = accountId.id().getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) {
+            throw new IllegalArgumentException("The nil UUID cannot be used as an account id");
+        }
+        markDirty();
+
+        Table t = table;
+        MappedByteBuffer buf = t.buffer();
+        int slot = hash(msb, lsb) & t.mask();
+        while (true) {
+            int base = HEADER + slot * SLOT;
+            long slotMsb = buf.getLong(base + S_MSB);
+            long slotLsb = buf.getLong(base + S_LSB);
+            if (slotMsb == msb && slotLsb == lsb) {
+                write(buf, base, msb, lsb,
+                    Math.addExact(buf.getLong(base + S_DEBIT), debitMinor),
+                    Math.addExact(buf.getLong(base + S_CREDIT), creditMinor),
+                    buf.getInt(base + S_CURRENCY));
+                return;
+            }
+            if (slotMsb == 0 && slotLsb == 0) {
+                if (size + 1 > threshold(t.capacity())) {
+                    grow(1);
+                    add(accountId, currency, debitMinor, creditMinor);
+                    return;
+                }
+                write(buf, base, msb, lsb, debitMinor, creditMinor, encodeCurrency(currency));
+                buf.putLong(H_SIZE, ++size);
+                return;
+            }
+            slot = (slot + 1) & t.mask();
+        }
+    }
+
+    /**
+     * Grows the table, if needed, so {@code additional} new accounts fit
+     * without another resize. The engine calls this before logging a batch so
+     * that a failure to grow rejects the batch instead of surfacing after it
+     * is durable. Writer thread only.
+     */
+    void ensureCapacity(int additional) throws IOException {
+        long needed = size + additional;
+        if (needed <= threshold(table.capacity())) {
+            return;
+        }
+        int capacity = table.capacity();
+        while (needed > threshold(capacity)) {
+            if (capacity >= MAX_CAPACITY) {
+                throw new IllegalStateException("Balance index cannot grow beyond " + MAX_CAPACITY + " slots");
+            }
+            capacity <<= 1;
+        }
+        resize(capacity);
+    }
+
+    private void grow(int additional) {
+        try {
+            ensureCapacity(additional);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Number of accounts with totals. */
+    long size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.capacity();
+    }
+
+    /** WAL sequence of the snapshot this table matches, or {@code -1} if none. */
+    long checkpoint() {
+        return table.buffer().getLong(H_CHECKPOINT);
+    }
+
+    /**
+     * Syncs the table and records that it matches the snapshot taken at
+     * {@code walSequence}. Writer thread only.
+     */
+    void checkpoint(long walSequence) {
+        MappedByteBuffer buf = table.buffer();
+        buf.force();
+        buf.putLong(H_CHECKPOINT, walSequence);
+        buf.force(0, HEADER);
+        checkpointed = true;
+    }
+
+    /** Empties the table so it can be rebuilt from the journal. */
+    void clear() {
+        markDirty();
+        MappedByteBuffer buf = table.buffer();
+        int end = HEADER + table.capacity() * SLOT;
+        for (int offset = HEADER; offset < end; offset += Long.BYTES) {
+            buf.putLong(offset, 0);
+        }
+        size = 0;
+        buf.putLong(H_SIZE, 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Table t = table;
+        t.buffer().force();
+        t.channel().close();
+    }
+
+    private void markDirty() {
+        if (checkpointed) {
+            MappedByteBuffer buf = table.buffer();
+            buf.putLong(H_CHECKPOINT, NO_CHECKPOINT);
+            // Must reach the disk before any slot it no longer vouches for.
+            buf.force(0, HEADER);
+            checkpointed = false;
+        }
+    }
+
+    private static void write(MappedByteBuffer buf, int base, long msb, long lsb, long debit, long credit, int currency) {
+        long seq = (long) LONGS.get(buf, base + S_SEQ);
+        LONGS.setOpaque(buf, base + S_SEQ, seq + 1);
+        VarHandle.storeStoreFence();
+        buf.putLong(base + S_MSB, msb);
+        buf.putLong(base + S_LSB, lsb);
+        buf.putLong(base + S_DEBIT, debit);
+        buf.putLong(base + S_CREDIT, credit);
+        buf.putInt(base + S_CURRENCY, currency);
+        LONGS.setRelease(buf, base + S_SEQ, seq + 2);
+    }
+
+    private void resize(int capacity) throws IOException {
+        Path grown = path.resolveSibling(path.getFileName() + ".grow");
+        Files.deleteIfExists(grown);
+        Table old = table;
+        Table next = create(grown, capacity);
+
+        MappedByteBuffer from = old.buffer();
+        MappedByteBuffer to = next.buffer();
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            int base = HEADER + slot * SLOT;
+            long msb = from.getLong(base + S_MSB);
+            long lsb = from.getLong(base + S_LSB);
+            if (msb == 0 && lsb == 0) continue;
+            int target = hash(msb, lsb) & next.mask();
+            while (to.getLong(HEADER + target * SLOT + S_MSB) != 0 || to.getLong(HEADER + target * SLOT + S_LSB) != 0) {
+                target = (target + 1) & next.mask();
+            }
+            int dest = HEADER + target * SLOT;
+            to.putLong(dest + S_MSB, msb);
+            to.putLong(dest + S_LSB, lsb);
+            to.putLong(dest + S_DEBIT, from.getLong(base + S_DEBIT));
+            to.putLong(dest + S_CREDIT, from.getLong(base + S_CREDIT));
+            to.putInt(dest + S_CURRENCY, from.getInt(base + S_CURRENCY));
+        }
+        to.putLong(H_SIZE, size);
+        to.force();
+        Files.move(grown, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Readers holding the old mapping keep using it safely; it stays valid
+        // after the channel closes and is released once unreachable.
+        table = next;
+        checkpointed = false;
+        old.channel().close();
+    }
+
+    private static Table create(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+            buf.putInt(H_MAGIC, MAGIC);
+            buf.putInt(H_VERSION, VERSION);
+            buf.putLong(H_CAPACITY, capacity);
+            buf.putLong(H_SIZE, 0);
+            buf.putLong(H_CHECKPOINT, NO_CHECKPOINT);
+            buf.force();
+        }
+        return map(path, capacity);
+    }
+
+    /** Maps an existing table, or returns {@code null} if the file is not one. */
+    private static Table map(Path path, int expectedCapacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            long capacity = header.getLong(H_CAPACITY);
+            boolean valid = header.getInt(H_MAGIC) == MAGIC
+                && header.getInt(H_VERSION) == VERSION
+                && capacity > 0 && capacity <= MAX_CAPACITY && Long.bitCount(capacity) == 1
+                && (expectedCapacity < 0 || capacity == expectedCapacity)
+                && channel.size() == HEADER + capacity * SLOT;
+            if (!valid) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new Table(channel, buf, (int) capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static int capacityFor(int requested) {
+        int capacity = Integer.highestOneBit(Math.max(16, requested) - 1) << 1;
+        return Math.min(capacity, MAX_CAPACITY);
+    }
+
+    private static long threshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int encodeCurrency(Currency currency) {
+        String code = currency.getCurrencyCode();
+        return code.charAt(0) << 16 | code.charAt(1) << 8 | code.charAt(2);
+    }
+
+    private static Currency decodeCurrency(int packed) {
+        return Currency.getInstance(new String(new char[] {
+            (char) (packed >>> 16 & 0xFF), (char) (packed >>> 8 & 0xFF), (char) (packed & 0xFF)
+        }));
+    }
+}
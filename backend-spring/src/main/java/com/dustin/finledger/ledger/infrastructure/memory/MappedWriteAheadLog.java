@@ -0,0 +1,201 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only write-ahead log made of fixed-size, memory-mapped segment files
+ * ({@code wal-<sequence>.log}).
+ * <p>
+ * Each record is written as {@code [int length][int crc32c][payload]}. Appends
+ * only copy into the mapped region; {@link #force()} flushes everything
+ * appended since the last call in one go, so a whole batch of postings costs a
+ * single sync. A zero length marks the unused tail of a segment, and a bad
+ * checksum marks a write torn by a crash. Replay zeroes a torn tail so it
+ * reads as unused from then on, and moves on to the next segment: a segment is
+ * synced before the next one is created, so later segments can only come from
+ * runs that started after the crash.
+ * <p>
+ * Not thread-safe: only the engine's writer thread touches it.
+ */
+final class MappedWriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedWriteAheadLog.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{20})\\.log");
+    private static final int RECORD_HEADER = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private long sequence = -1;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    MappedWriteAheadLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Feeds every intact record in segments numbered {@code fromSequence} or higher
+     * to {@code consumer}, oldest first, zeroing any torn tail along the way.
+     */
+    void replay(long fromSequence, Consumer<ByteBuffer> consumer) throws IOException {
+        for (long seq : segmentSequences()) {
+            if (seq < fromSequence) continue;
+            replaySegment(segmentPath(seq), consumer);
+        }
+    }
+
+    /**
+     * Starts writing to a fresh segment numbered after every segment on disk.
+     */
+    void open() throws IOException {
+        List<Long> existing = segmentSequences();
+        openSegment(existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1, segmentSize);
+    }
+
+    void append(ByteBuffer payload) throws IOException {
+        int size = RECORD_HEADER + payload.remaining();
+        if (mapped.remaining() < size) {
+            mapped.force();
+            openSegment(sequence + 1, Math.max(segmentSize, size));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        // Write the payload and checksum before the length, so a reader never
+        // sees a non-zero length in front of bytes that are not there yet.
+        int start = mapped.position();
+        mapped.position(start + 4);
+        mapped.putInt((int) crc.getValue());
+        mapped.put(payload);
+        mapped.putInt(start, size - RECORD_HEADER);
+    }
+
+    /** Makes every record appended so far durable. */
+    void force() {
+        mapped.force();
+    }
+
+    /**
+     * Syncs the current segment and continues in a new one.
+     *
+     * @return the sequence number of the new segment
+     */
+    long roll() throws IOException {
+        mapped.force();
+        openSegment(sequence + 1, segmentSize);
+        return sequence;
+    }
+
+    void deleteSegmentsBefore(long keepFrom) throws IOException {
+        for (long seq : segmentSequences()) {
+            if (seq < keepFrom) {
+                Files.deleteIfExists(segmentPath(seq));
+            }
+        }
+    }
+
+    long currentSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            mapped.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void openSegment(long seq, int size) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(seq),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        sequence = seq;
+    }
+
+    private void replaySegment(Path path, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buf.remaining() >= RECORD_HEADER) {
+                int start = buf.position();
+                int length = buf.getInt();
+                if (length == 0) {
+                    return;
+                }
+                int checksum = buf.getInt();
+                if (length < 0 || length > buf.remaining()) {
+                    log.warn("Truncated WAL record at {}:{}; discarding the rest of the segment", path, start);
+                    zeroFrom(channel, start);
+                    return;
+                }
+                ByteBuffer payload = buf.slice(buf.position(), length);
+                CRC32C crc = new CRC32C();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Corrupt WAL record at {}:{}; discarding the rest of the segment", path, start);
+                    zeroFrom(channel, start);
+                    return;
+                }
+                consumer.accept(payload);
+                buf.position(buf.position() + length);
+            }
+        }
+    }
+
+    /**
+     * Overwrites a segment from {@code offset} to its end with zeros. Anything
+     * from a torn record on was never acknowledged, and leaving it in place would
+     * make every later replay stop there too.
+     */
+    private static void zeroFrom(FileChannel channel, long offset) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+        long size = channel.size();
+        for (long pos = offset; pos < size; pos += zeros.limit()) {
+            zeros.clear().limit((int) Math.min(zeros.capacity(), size - pos));
+            channel.write(zeros, pos);
+        }
+        channel.force(false);
+    }
+
+    private List<Long> segmentSequences() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(p -> SEGMENT_NAME.matcher(p.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(m -> Long.parseLong(m.group(1)))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve("wal-%020d.log".formatted(seq));
+    }
+}
@@ -0,0 +1,164 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Full images of {@link LedgerState} ({@code snapshot-<walSequence>.bin}) so a
+ * restart only has to replay the WAL segments written after the snapshot.
+ * <p>
+ * A snapshot is written to a temporary file, synced and then atomically renamed,
+ * and carries a trailing CRC-32C; a snapshot that fails the check is skipped in
+ * favour of an older one.
+ */
+final class SnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    private static final int MAGIC = 0x464C534E; // "FLSN"
+    private static final int VERSION = 1;
+
+    private final Path directory;
+
+    SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    record Loaded(long walSequence, LedgerState state) {}
+
+    /**
+     * Writes {@code state}, to be followed on restart by WAL segments numbered
+     * {@code walSequence} and up.
+     */
+    void write(long walSequence, LedgerState state) throws IOException {
+        Path target = snapshotPath(walSequence);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(walSequence);
+
+            List<StoredAccount> accounts = List.copyOf(state.accounts().values());
+            List<StoredEntry> entries = List.copyOf(state.entries().values());
+            out.writeLong(accounts.size() + (long) entries.size());
+            for (StoredAccount account : accounts) {
+                writeRecord(out, LedgerCodec.encode(account));
+            }
+            // Entries in posting order, so replaying them rebuilds balances the same way.
+            for (StoredEntry entry : entries.stream().sorted(Comparator.comparing(StoredEntry::key, LedgerState.KEY_ORDER)).toList()) {
+                writeRecord(out, LedgerCodec.encode(entry));
+            }
+            out.flush();
+            long crc = checked.getChecksum().getValue();
+            out.writeLong(crc);
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads the newest snapshot that passes its checksum into a state obtained
+     * from {@code newState}, which is given the snapshot's WAL sequence and is
+     * asked again for each older snapshot tried.
+     */
+    Optional<Loaded> loadLatest(LongFunction<LedgerState> newState) throws IOException {
+        List<Long> sequences = snapshotSequences();
+        for (int i = sequences.size() - 1; i >= 0; i--) {
+            Path path = snapshotPath(sequences.get(i));
+            try {
+                return Optional.of(read(path, newState));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", path, e.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    void deleteOlderThan(long walSequence) throws IOException {
+        for (long seq : snapshotSequences()) {
+            if (seq < walSequence) {
+                Files.deleteIfExists(snapshotPath(seq));
+            }
+        }
+    }
+
+    private Loaded read(Path path, LongFunction<LedgerState> newState) throws IOException {
+        try (InputStream file = Files.newInputStream(path)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a ledger snapshot");
+            }
+            long walSequence = in.readLong();
+            long count = in.readLong();
+
+            LedgerState state = newState.apply(walSequence);
+            LedgerCodec.RecordVisitor visitor = new LedgerCodec.RecordVisitor() {
+                @Override public void account(StoredAccount account) { state.apply(account); }
+                @Override public void entry(StoredEntry entry) { state.apply(entry); }
+            };
+            for (long i = 0; i < count; i++) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                LedgerCodec.decode(ByteBuffer.wrap(record), visitor);
+            }
+
+            // Capture the checksum before the trailer itself runs through it.
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return new Loaded(walSequence, state);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, ByteBuffer record) throws IOException {
+        out.writeInt(record.remaining());
+        out.write(record.array(), record.arrayOffset() + record.position(), record.remaining());
+    }
+
+    private List<Long> snapshotSequences() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(p -> SNAPSHOT_NAME.matcher(p.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(m -> Long.parseLong(m.group(1)))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path snapshotPath(long walSequence) {
+        return directory.resolve("snapshot-%020d.bin".formatted(walSequence));
+    }
+}
@@ -0,0 +1,46 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.util.Currency;
+
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+
+/**
+ * Immutable copy of an account as held by the engine. Callers always get a
+ * fresh {@link Account} so they cannot change engine state behind its back.
+ */
+record StoredAccount(
+    AccountId id,
+    String name,
+    AccountType type,
+    Currency currency,
+    AccountStatus status,
+    OverdraftPolicy overdraftPolicy,
+    int balanceSlots
+) {
+
+    static StoredAccount of(Account account) {
+        return new StoredAccount(
+            account.getId(),
+            account.getName(),
+            account.getType(),
+            account.getCurrency(),
+            account.getStatus(),
+            account.getOverdraftPolicy(),
+            account.getBalanceSlots()
+        );
+    }
+
+    Account toDomain() {
+        Account account = new Account(id, name, type, currency, overdraftPolicy, balanceSlots);
+        switch (status) {
+            case FROZEN -> account.freeze();
+            case CLOSED -> account.close();
+            default -> {}
+        }
+        return account;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+
+/**
+ * Immutable copy of a journal entry as held by the engine. {@code sequence} is
+ * 0 until the engine numbers the entry as it logs it.
+ */
+record StoredEntry(
+    JournalEntryId id,
+    String description,
+    Instant timestamp,
+    boolean posted,
+    List<JournalLine> lines,
+    long sequence
+) {
+
+    StoredEntry {
+        lines = List.copyOf(lines);
+    }
+
+    static StoredEntry of(JournalEntry entry) {
+        return new StoredEntry(
+            entry.getId(),
+            entry.getDescription(),
+            entry.getTimestamp(),
+            entry.isPosted(),
+            entry.getLines(),
+            entry.getSequence() != null ? entry.getSequence() : 0
+        );
+    }
+
+    StoredEntry withSequence(long sequence) {
+        return new StoredEntry(id, description, timestamp, posted, lines, sequence);
+    }
+
+    JournalEntry toDomain() {
+        return JournalEntry.reconstitute(id, description, timestamp, lines, posted, sequence != 0 ? sequence : null);
+    }
+
+    JournalEntryCursor key() {
+        return new JournalEntryCursor(timestamp, id);
+    }
+}
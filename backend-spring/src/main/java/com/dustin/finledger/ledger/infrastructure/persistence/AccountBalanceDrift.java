@@ -0,0 +1,17 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Difference between the materialized totals of an account and the totals
+ * recomputed from its posted journal lines.
+ */
+public record AccountBalanceDrift(
+    UUID accountId,
+    String currency,
+    BigDecimal journalDebitTotal,
+    BigDecimal journalCreditTotal,
+    BigDecimal storedDebitTotal,
+    BigDecimal storedCreditTotal
+) {}
@@ -1,8 +1,13 @@
 package com.dustin.finledger.ledger.infrastructure.persistence;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import com.dustin.finledger.ledger.domain.account.Account;
@@ -12,17 +17,28 @@ import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountEnti
 
 
 @Repository
+@Profile("!in-memory")
 public class AccountJpaRepository implements AccountRepository{
 
     private final SpringDataAccountRepository springDataRepo;
+    private final JdbcTemplate jdbcTemplate;
 
-    public AccountJpaRepository(SpringDataAccountRepository springDataRepo) {
+    public AccountJpaRepository(SpringDataAccountRepository springDataRepo, JdbcTemplate jdbcTemplate) {
         this.springDataRepo = springDataRepo;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * Saves the account. A new account also gets its zeroed {@code account_balance}
+     * rows, one per balance slot, so postings only ever update existing rows.
+     */
     @Override
     public void save(Account account) {
+        boolean created = !springDataRepo.existsById(account.getId().id());
         springDataRepo.save(toEntity(account));
+        if (created) {
+            createBalanceRows(account);
+        }
     };
 
     @Override
@@ -31,6 +47,25 @@ public class AccountJpaRepository implements AccountRepository{
             .map(this::toDomain);
     };
 
+    @Override
+    public List<Account> getAllByIds(Collection<AccountId> ids) {
+        if (ids.isEmpty()) return List.of();
+        return springDataRepo.findAllByIdIn(ids.stream().map(AccountId::id).distinct().toList()).stream()
+            .map(this::toDomain)
+            .toList();
+    }
+
+
+    private void createBalanceRows(Account account) {
+        List<Object[]> rows = new ArrayList<>(account.getBalanceSlots());
+        for (int slot = 0; slot < account.getBalanceSlots(); slot++) {
+            rows.add(new Object[] { account.getId().id(), slot, account.getCurrency().getCurrencyCode() });
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO account_balance (account_id, slot, currency, debit_minor, credit_minor, version)
+            VALUES (?, ?, ?, 0, 0, 0)
+            """, rows);
+    }
 
     private AccountEntity toEntity(Account account) {
         return new AccountEntity(
@@ -38,7 +73,9 @@ public class AccountJpaRepository implements AccountRepository{
             account.getName(),
             account.getType(),
             account.getCurrency().getCurrencyCode(),
-            account.getStatus()
+            account.getStatus(),
+            account.getOverdraftPolicy(),
+            account.getBalanceSlots()
             );
     }
     
@@ -47,7 +84,9 @@ public class AccountJpaRepository implements AccountRepository{
             new AccountId(entity.getId()),
             entity.getName(),
             entity.getType(),
-            Currency.getInstance(entity.getCurrencyCode())
+            Currency.getInstance(entity.getCurrencyCode()),
+            entity.getOverdraftPolicy(),
+            entity.getBalanceSlots()
         );
         switch (entity.getStatus()) {
             case FROZEN -> account.freeze();
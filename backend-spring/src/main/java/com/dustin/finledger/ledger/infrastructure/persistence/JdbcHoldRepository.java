@@ -0,0 +1,97 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+import com.dustin.finledger.ledger.domain.hold.HoldStatus;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.HoldRepository;
+
+/**
+ * Holds in the {@code hold} table, amounts in minor units.
+ */
+@Repository
+public class JdbcHoldRepository implements HoldRepository {
+
+    private static final String COLUMNS =
+        "id, account_id, amount_minor, currency, description, status, created_at, expires_at, capture_entry_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcHoldRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert(Hold hold) {
+        Money amount = hold.getAmount();
+        jdbcTemplate.update(
+            "INSERT INTO hold (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            hold.getId().id(),
+            hold.getAccountId().id(),
+            MoneyMinor.toMinorUnits(amount.amount(), amount.currency()),
+            amount.currency().getCurrencyCode(),
+            hold.getDescription(),
+            hold.getStatus().name(),
+            utc(hold.getCreatedAt()),
+            utc(hold.getExpiresAt()),
+            hold.getCaptureEntryId() != null ? hold.getCaptureEntryId().id() : null
+        );
+    }
+
+    @Override
+    public Optional<Hold> getById(HoldId id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM hold WHERE id = ?", JdbcHoldRepository::toHold, id.id())
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public boolean updateIfPending(Hold hold) {
+        return jdbcTemplate.update(
+            "UPDATE hold SET status = ?, capture_entry_id = ? WHERE id = ? AND status = 'PENDING'",
+            hold.getStatus().name(),
+            hold.getCaptureEntryId() != null ? hold.getCaptureEntryId().id() : null,
+            hold.getId().id()
+        ) == 1;
+    }
+
+    @Override
+    public List<Hold> findAllPending() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM hold WHERE status = 'PENDING'", JdbcHoldRepository::toHold);
+    }
+
+    private static Hold toHold(ResultSet rs, int rowNum) throws SQLException {
+        Currency currency = Currency.getInstance(rs.getString("currency"));
+        UUID captureEntryId = rs.getObject("capture_entry_id", UUID.class);
+        return new Hold(
+            HoldId.of(rs.getObject("id", UUID.class)),
+            AccountId.of(rs.getObject("account_id", UUID.class)),
+            Money.of(MoneyMinor.toDecimal(rs.getLong("amount_minor"), currency), currency),
+            rs.getString("description"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+            rs.getObject("expires_at", OffsetDateTime.class).toInstant(),
+            HoldStatus.valueOf(rs.getString("status")),
+            captureEntryId != null ? JournalEntryId.of(captureEntryId) : null
+        );
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
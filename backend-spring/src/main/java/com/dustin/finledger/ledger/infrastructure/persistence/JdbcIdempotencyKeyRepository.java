@@ -0,0 +1,98 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dustin.finledger.ledger.domain.repository.IdempotencyKeyRepository;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyRecord;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+
+/**
+ * Idempotency keys in {@code idempotency_key}. Each statement runs in its own
+ * transaction, separate from the request the key guards, so a claim is visible
+ * to concurrent retries before that request commits.
+ */
+@Repository
+public class JdbcIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean claim(String key, String requestHash, Instant createdAt, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("""
+                INSERT INTO idempotency_key (idempotency_key, request_hash, created_at, expires_at)
+                VALUES (?, ?, ?, ?)
+                """, key, requestHash, utc(createdAt), utc(expiresAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query("""
+            SELECT idempotency_key, request_hash, status_code, content_type, location, response_body, expires_at
+            FROM idempotency_key
+            WHERE idempotency_key = ?
+            """,
+            (rs, rowNum) -> {
+                int status = rs.getInt(3);
+                IdempotentResponse response = rs.wasNull() ? null
+                    : new IdempotentResponse(status, rs.getString(4), rs.getString(5), rs.getString(6));
+                return new IdempotencyRecord(rs.getString(1), rs.getString(2), response,
+                    rs.getObject(7, OffsetDateTime.class).toInstant());
+            },
+            key
+        ).stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update("""
+            UPDATE idempotency_key
+            SET status_code = ?, content_type = ?, location = ?, response_body = ?
+            WHERE idempotency_key = ?
+            """, response.status(), response.contentType(), response.location(), response.body(), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND status_code IS NULL", key);
+    }
+
+    @Override
+    public void deleteIfExpired(String key, Instant now) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND expires_at <= ?", key, utc(now));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= ?", utc(now));
+    }
+
+    @Override
+    public void forEachActiveKey(Instant now, Consumer<String> consumer) {
+        jdbcTemplate.query(
+            "SELECT idempotency_key FROM idempotency_key WHERE expires_at > ?",
+            rs -> { consumer.accept(rs.getString(1)); },
+            utc(now)
+        );
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,233 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryViewRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalLineView;
+
+/**
+ * Builds {@link JournalEntryView}s from plain SQL tuples: no persistence
+ * context, no entity snapshots and no aggregate re-validation on the way out.
+ */
+@Repository
+@Profile("!in-memory")
+public class JdbcJournalEntryViewRepository implements JournalEntryViewRepository {
+
+    private static final String SELECT_ENTRIES_WITH_LINES = """
+        SELECT je.id, je.description, je.created_at, je.posted,
+               jl.id, jl.account_id, jl.amount_minor, jl.currency, jl.occurred_at, jl.side,
+               je.sequence_number
+        FROM journal_entry je
+        LEFT JOIN journal_line jl ON jl.journal_entry_id = je.id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcJournalEntryViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<JournalEntryView> findById(JournalEntryId id) {
+        Map<UUID, ViewBuilder> byId = loadEntries(List.of(id.id()));
+        ViewBuilder builder = byId.get(id.id());
+        return builder == null ? Optional.empty() : Optional.of(builder.build());
+    }
+
+    /**
+     * Returns one page of posted entries using keyset pagination on
+     * {@code (created_at, id)}.
+     * <p>
+     * The first query walks an index in key order and stops after {@code limit + 1}
+     * keys, so its cost does not depend on how deep the page is. The cursor is a
+     * row-value comparison so the index is entered at the cursor rather than
+     * scanned from the start. The second query loads just those entries with
+     * their lines.
+     */
+    @Override
+    public JournalEntryPage findPostedPage(JournalEntryPageRequest request) {
+        boolean backward = request.before() != null;
+        JournalEntryCursor cursor = backward ? request.before() : request.after();
+
+        List<JournalEntryCursor> keys = findPageKeys(request.accountId(), cursor, backward, request.limit() + 1);
+
+        boolean hasMore = keys.size() > request.limit();
+        if (hasMore) {
+            keys = keys.subList(0, request.limit());
+        }
+        if (backward) {
+            keys = new ArrayList<>(keys);
+            Collections.reverse(keys);
+        }
+        if (keys.isEmpty()) {
+            return new JournalEntryPage(List.of(), null, null);
+        }
+
+        Map<UUID, ViewBuilder> byId = loadEntries(keys.stream().map(k -> k.id().id()).toList());
+        List<JournalEntryView> entries = keys.stream()
+            .map(k -> byId.get(k.id().id()).build())
+            .toList();
+
+        JournalEntryCursor first = keys.get(0);
+        JournalEntryCursor last = keys.get(keys.size() - 1);
+        JournalEntryCursor next = backward || hasMore ? last : null;
+        JournalEntryCursor previous = backward ? (hasMore ? first : null) : (cursor != null ? first : null);
+
+        return new JournalEntryPage(entries, next, previous);
+    }
+
+    private List<JournalEntryCursor> findPageKeys(AccountId accountId, JournalEntryCursor cursor, boolean backward, int maxResults) {
+        List<Object> args = new ArrayList<>();
+        if (accountId != null) {
+            args.add(accountId.id());
+        }
+        if (cursor != null) {
+            args.add(cursor.createdAt().atOffset(ZoneOffset.UTC));
+            args.add(cursor.id().id());
+        }
+
+        String sql = pageKeysSql(accountId != null, cursor != null, backward, maxResults);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new JournalEntryCursor(
+            instant(rs, 1),
+            new JournalEntryId(rs.getObject(2, UUID.class))
+        ), args.toArray());
+    }
+
+    /**
+     * Builds the key query for {@link #findPostedPage}. Its parameters are the
+     * account id when filtered, then the cursor's timestamp and id.
+     * <p>
+     * An entry can have several lines on one account; only the first of them is
+     * read as the entry's key. {@code DISTINCT} would do the same, but it makes
+     * the database collect every row past the cursor before {@code FETCH FIRST}
+     * applies.
+     */
+    static String pageKeysSql(boolean byAccount, boolean withCursor, boolean backward, int maxResults) {
+        String comparator = backward ? "<" : ">";
+        String direction = backward ? "DESC" : "ASC";
+
+        if (!byAccount) {
+            return """
+                SELECT je.created_at, je.id
+                FROM journal_entry je
+                WHERE je.posted = TRUE
+                %s
+                ORDER BY je.created_at %s, je.id %s
+                FETCH FIRST %d ROWS ONLY
+                """.formatted(
+                    withCursor ? "AND (je.created_at, je.id) %s (?, ?)".formatted(comparator) : "",
+                    direction,
+                    direction,
+                    maxResults);
+        }
+        return """
+            SELECT jl.entry_created_at, jl.journal_entry_id
+            FROM journal_line jl
+            WHERE jl.account_id = ?
+            AND jl.posted = TRUE
+            %s
+            AND NOT EXISTS (
+                SELECT 1
+                FROM journal_line earlier
+                WHERE earlier.journal_entry_id = jl.journal_entry_id
+                AND earlier.account_id = jl.account_id
+                AND earlier.line_no < jl.line_no
+            )
+            ORDER BY jl.entry_created_at %s, jl.journal_entry_id %s
+            FETCH FIRST %d ROWS ONLY
+            """.formatted(
+                withCursor ? "AND (jl.entry_created_at, jl.journal_entry_id) %s (?, ?)".formatted(comparator) : "",
+                direction,
+                direction,
+                maxResults);
+    }
+
+    /**
+     * Loads the given entries and their lines with one joined query, keyed by entry id.
+     * Lines come back in the order they were added to their entry.
+     */
+    private Map<UUID, ViewBuilder> loadEntries(List<UUID> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = SELECT_ENTRIES_WITH_LINES
+            + "WHERE je.id IN (" + placeholders + ")\n"
+            + "ORDER BY je.id, jl.line_no";
+
+        Map<UUID, ViewBuilder> byId = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            UUID entryId = rs.getObject(1, UUID.class);
+            ViewBuilder builder = byId.get(entryId);
+            if (builder == null) {
+                builder = new ViewBuilder(
+                    new JournalEntryId(entryId),
+                    rs.getString(2),
+                    instant(rs, 3),
+                    rs.getBoolean(4),
+                    rs.getObject(11, Long.class)
+                );
+                byId.put(entryId, builder);
+            }
+            UUID lineId = rs.getObject(5, UUID.class);
+            if (lineId != null) {
+                builder.lines.add(new JournalLineView(
+                    new JournalLineId(lineId),
+                    new AccountId(rs.getObject(6, UUID.class)),
+                    MoneyMinor.toDecimal(rs.getLong(7), Currency.getInstance(rs.getString(8))),
+                    rs.getString(8),
+                    instant(rs, 9),
+                    EntrySide.valueOf(rs.getString(10))
+                ));
+            }
+        }, ids.toArray());
+        return byId;
+    }
+
+    private static Instant instant(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).toInstant();
+    }
+
+    private static final class ViewBuilder {
+        private final JournalEntryId id;
+        private final String description;
+        private final Instant timestamp;
+        private final boolean posted;
+        private final Long sequence;
+        private final List<JournalLineView> lines = new ArrayList<>(4);
+
+        private ViewBuilder(JournalEntryId id, String description, Instant timestamp, boolean posted, Long sequence) {
+            this.id = id;
+            this.description = description;
+            this.timestamp = timestamp;
+            this.posted = posted;
+            this.sequence = sequence;
+        }
+
+        private JournalEntryView build() {
+            return new JournalEntryView(id, description, timestamp, posted, sequence, List.copyOf(lines));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dustin.finledger.common.money.MoneyMinor;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalExportFilter;
+import com.dustin.finledger.ledger.domain.repository.JournalExportRepository;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+/**
+ * Streams posted journal lines straight from a forward-only, read-only JDBC
+ * result set, bypassing the persistence context so memory use stays flat
+ * regardless of how many rows are exported.
+ */
+@Repository
+@Profile("!in-memory")
+public class JdbcJournalExportRepository implements JournalExportRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcJournalExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamPostedLines(JournalExportFilter filter, Consumer<PostedJournalLine> consumer) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT jl.journal_entry_id, je.description, jl.entry_created_at,
+                   jl.id, jl.account_id, jl.amount_minor, jl.currency, jl.side, jl.occurred_at
+            FROM journal_line jl
+            JOIN journal_entry je ON je.id = jl.journal_entry_id
+            WHERE jl.posted = TRUE
+            """);
+        List<Object> args = new ArrayList<>();
+
+        if (filter.accountId() != null) {
+            sql.append(" AND jl.account_id = ?");
+            args.add(filter.accountId().id());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND jl.entry_created_at >= ?");
+            args.add(filter.from().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND jl.entry_created_at < ?");
+            args.add(filter.to().atOffset(ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY jl.entry_created_at, jl.journal_entry_id, jl.id");
+
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            },
+            rs -> {
+                consumer.accept(new PostedJournalLine(
+                    new JournalEntryId(rs.getObject(1, UUID.class)),
+                    rs.getString(2),
+                    rs.getObject(3, OffsetDateTime.class).toInstant(),
+                    new JournalLineId(rs.getObject(4, UUID.class)),
+                    new AccountId(rs.getObject(5, UUID.class)),
+                    MoneyMinor.toDecimal(rs.getLong(6), Currency.getInstance(rs.getString(7))),
+                    rs.getString(7),
+                    EntrySide.valueOf(rs.getString(8)),
+                    rs.getObject(9, OffsetDateTime.class).toInstant()
+                ));
+            }
+        );
+    }
+}
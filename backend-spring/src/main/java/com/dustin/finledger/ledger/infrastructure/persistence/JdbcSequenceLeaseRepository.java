@@ -0,0 +1,85 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Blocks of posting sequence numbers in {@code posting_sequence} and
+ * {@code posting_sequence_lease}, shared by every instance on the database.
+ */
+@Repository
+@Profile("!in-memory")
+public class JdbcSequenceLeaseRepository {
+
+    /** Numbers {@code start} to {@code end}, inclusive, reserved for one instance. */
+    public record SequenceLease(UUID id, long start, long end) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSequenceLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves the next {@code blockSize} numbers. Must run in a transaction:
+     * the counter row stays locked until the lease row is written.
+     */
+    public SequenceLease lease(String owner, int blockSize, Instant now) {
+        jdbcTemplate.update("UPDATE posting_sequence SET next_number = next_number + ? WHERE id = 1", blockSize);
+        long next = jdbcTemplate.queryForObject("SELECT next_number FROM posting_sequence WHERE id = 1", Long.class);
+
+        SequenceLease lease = new SequenceLease(UUID.randomUUID(), next - blockSize, next - 1);
+        jdbcTemplate.update("""
+            INSERT INTO posting_sequence_lease (id, owner, block_start, block_end, resolved_through, heartbeat_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, lease.id(), owner, lease.start(), lease.end(), lease.start() - 1, utc(now));
+        return lease;
+    }
+
+    /**
+     * Records how far a lease is resolved and that its owner is alive.
+     *
+     * @return {@code false} if the lease is gone, having been taken for dead
+     */
+    public boolean heartbeat(UUID leaseId, long resolvedThrough, Instant now) {
+        return jdbcTemplate.update("""
+            UPDATE posting_sequence_lease
+            SET resolved_through = ?, heartbeat_at = ?
+            WHERE id = ?
+            """, resolvedThrough, utc(now), leaseId) == 1;
+    }
+
+    /** Drops a lease whose every number has committed or rolled back. */
+    public void release(UUID leaseId) {
+        jdbcTemplate.update("DELETE FROM posting_sequence_lease WHERE id = ?", leaseId);
+    }
+
+    /** Drops leases whose owner has not been heard from since {@code staleBefore}. */
+    public int deleteStale(Instant staleBefore) {
+        return jdbcTemplate.update("DELETE FROM posting_sequence_lease WHERE heartbeat_at < ?", utc(staleBefore));
+    }
+
+    /**
+     * The highest number up to which every number is resolved: the lowest
+     * {@code resolved_through} over the leases, or the last number leased if
+     * there are none. A stale lease holds the watermark back until it is
+     * deleted, after which its numbers can no longer commit. The counter is
+     * read first, so a lease taken in between only covers numbers above it.
+     */
+    public long watermark() {
+        long next = jdbcTemplate.queryForObject("SELECT next_number FROM posting_sequence WHERE id = 1", Long.class);
+        Long lowest = jdbcTemplate.queryForObject(
+            "SELECT MIN(resolved_through) FROM posting_sequence_lease", Long.class);
+        return lowest == null ? next - 1 : Math.min(lowest, next - 1);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
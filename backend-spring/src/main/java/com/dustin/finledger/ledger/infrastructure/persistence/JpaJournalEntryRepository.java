@@ -1,106 +1,220 @@
 package com.dustin.finledger.ledger.infrastructure.persistence;
 
-import java.math.BigDecimal;
 import java.util.Currency;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyAccumulator;
+import com.dustin.finledger.common.money.MoneyMinor;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.journal.EntrySide;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
 import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountBalanceEntity;
 import com.dustin.finledger.ledger.infrastructure.persistence.entity.JournalEntryEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import jakarta.persistence.EntityManager;
 
 @Repository
+@Profile("!in-memory")
 public class JpaJournalEntryRepository implements JournalEntryRepository{
     
+    // Keep in step with spring.jpa.properties.hibernate.jdbc.batch_size so each
+    // flush sends full JDBC batches and the persistence context stays small.
+    static final int FLUSH_INTERVAL = 50;
+
     private final EntityManager em;
+    private final PostingSequencer sequencer;
+
+    // Balance slots are fixed when an account is created, so they can be kept.
+    private final Cache<UUID, Integer> balanceSlots = Caffeine.newBuilder()
+        .maximumSize(100_000)
+        .build();
 
-    public JpaJournalEntryRepository(EntityManager em) {
+    public JpaJournalEntryRepository(EntityManager em, PostingSequencer sequencer) {
         this.em = em;
+        this.sequencer = sequencer;
     }
     
     @Override
     public void save(JournalEntry entry) {
+        number(entry);
         JournalEntryEntity entity = JournalEntryEntity.fromDomain(entry);
         em.persist(entity);
+        applyToBalances(List.of(entry));
     };
 
+    @Override
+    public void saveAll(List<JournalEntry> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            number(entries.get(i));
+            em.persist(JournalEntryEntity.fromDomain(entries.get(i)));
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        applyToBalances(entries);
+    }
+
+    /*
+     * Reads below all state their fetch plan explicitly: an entry is always loaded
+     * with its lines in the same statement (fetch graph or JOIN FETCH), and lines
+     * never load their entry back. Results are only mapped to the domain, so they
+     * are loaded read-only and Hibernate keeps no dirty-checking snapshots.
+     */
+
     @Override
     public Optional<JournalEntry> getById(JournalEntryId id) {
-        JournalEntryEntity entity = em.find(JournalEntryEntity.class, id.id());
+        JournalEntryEntity entity = em.find(JournalEntryEntity.class, id.id(), Map.of(
+            SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(JournalEntryEntity.WITH_LINES),
+            HibernateHints.HINT_READ_ONLY, true
+        ));
         if (entity == null) return Optional.empty();
         return Optional.of(entity.toDomain());
     };
 
+    /**
+     * Reads the materialized totals from {@code account_balance}, summing the
+     * account's balance slots. Accounts without postings in the given currency
+     * have a zero balance.
+     */
     @Override
-    public List<JournalEntry> findAllPostedByAccountId(AccountId accountId) {
-        
-        List<JournalEntryEntity> entities = em.createQuery("""
-            SELECT DISTINCT je
-            FROM JournalEntryEntity je
-            JOIN je.lines jl
-            WHERE jl.accountId = :accountId
-            AND je.posted = true
-        """, JournalEntryEntity.class)
-        .setParameter("accountId", accountId.id())
-        .getResultList();
-        
-        return entities.stream()
-                .map(JournalEntryEntity::toDomain)
-                .toList();
+    public Money getAccountBalance(AccountId accountId, Currency currency) {
+        List<AccountBalanceEntity> slots = em.createQuery("""
+                SELECT b FROM AccountBalanceEntity b
+                WHERE b.accountId = :accountId AND b.currency = :currency
+                """, AccountBalanceEntity.class)
+            .setParameter("accountId", accountId.id())
+            .setParameter("currency", currency.getCurrencyCode())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultList();
+        long net = 0;
+        for (AccountBalanceEntity slot : slots) {
+            net = Math.addExact(net, Math.subtractExact(slot.getDebitMinor(), slot.getCreditMinor()));
+        }
+        return Money.of(MoneyMinor.toDecimal(net, currency), currency);
     }
 
     @Override
-    public List<JournalEntry> findAll() {
-        List<JournalEntryEntity> entities = em.createQuery("""
-                SELECT je
-                FROM JournalEntryEntity je
-                WHERE je.posted = true
-                """, JournalEntryEntity.class)
-                .getResultList();
-        return entities.stream()
-                .map(JournalEntryEntity::toDomain)
-                .toList();
+    public long getSequenceWatermark() {
+        return sequencer.getWatermark();
     }
 
-    @Override
-    public Money getAccountBalance(AccountId accountId, Currency currency) {
-        BigDecimal debitSum = em.createQuery("""
-                SELECT COALESCE(SUM(l.amount), 0)
-                FROM JournalEntryEntity j JOIN j.lines l
-                WHERE j.posted = true
-                AND l.accountId = :accountId
-                AND l.currency = :currencyCode
-                AND l.side = :debit
-                """, BigDecimal.class
-        )
-        .setParameter("accountId", accountId.id())
-        .setParameter("currencyCode", currency.getCurrencyCode())
-        .setParameter("debit", EntrySide.DEBIT)
-        .getSingleResult();
-
-        BigDecimal creditSum = em.createQuery("""
-                SELECT COALESCE(SUM(l.amount), 0)
-                FROM JournalEntryEntity j JOIN j.lines l
-                WHERE j.posted = true
-                AND l.accountId = :accountId
-                AND l.currency = :currencyCode
-                AND l.side = :credit
-                """, BigDecimal.class
-        )
-        .setParameter("accountId", accountId.id())
-        .setParameter("currencyCode", currency.getCurrencyCode())
-        .setParameter("credit", EntrySide.CREDIT)
-        .getSingleResult();
-
-
-        return Money.of(debitSum.subtract(creditSum), currency);
+    private void number(JournalEntry entry) {
+        if (entry.isPosted() && entry.getSequence() == null) {
+            entry.assignSequence(sequencer.next());
+        }
+    }
+
+    /**
+     * Adds the lines of posted entries to the running totals in {@code account_balance}.
+     * <p>
+     * Deltas are summed per account first so each account is touched once per call.
+     * The increment is a single {@code MERGE} that adds the delta in place, which
+     * relies on the row lock instead of read-modify-write. Balance rows are created
+     * with their account, so the merge normally just updates; it only inserts for
+     * accounts saved without them, and never lets a posting fail because another
+     * one created the row first.
+     * <p>
+     * Accounts with several balance slots take the delta on the slot picked by
+     * {@link #slotFor}, so concurrent postings to a hot account mostly lock
+     * different rows.
+     * <p>
+     * Rows are merged in account id order, and each call uses one slot per
+     * account, so every transaction locks balance rows in (account, slot) order.
+     * Line order would let two postings between the same accounts lock them in
+     * opposite order and deadlock, which nothing else prevents for accounts
+     * that allow overdrafts.
+     */
+    private void applyToBalances(List<JournalEntry> entries) {
+        Map<UUID, BalanceDelta> deltas = new TreeMap<>();
+        for (JournalEntry entry : entries) {
+            if (!entry.isPosted()) continue;
+            for (JournalLine line : entry.getLines()) {
+                BalanceDelta delta = deltas.computeIfAbsent(
+                    line.accountId().id(),
+                    id -> new BalanceDelta(line.amount().currency())
+                );
+                delta.add(line.side(), line.amount());
+            }
+        }
+
+        Map<UUID, Integer> slots = balanceSlots.getAll(deltas.keySet(), this::loadBalanceSlots);
+
+        for (Map.Entry<UUID, BalanceDelta> e : deltas.entrySet()) {
+            BalanceDelta delta = e.getValue();
+            int slot = slotFor(slots.getOrDefault(e.getKey(), 1));
+            em.createNativeQuery("""
+                    MERGE INTO account_balance b
+                    USING (SELECT CAST(:accountId AS UUID) AS account_id, CAST(:slot AS INT) AS slot) d
+                    ON (b.account_id = d.account_id AND b.slot = d.slot)
+                    WHEN MATCHED THEN UPDATE SET
+                        debit_minor = b.debit_minor + :debit,
+                        credit_minor = b.credit_minor + :credit,
+                        version = b.version + 1
+                    WHEN NOT MATCHED THEN INSERT (account_id, slot, currency, debit_minor, credit_minor, version)
+                        VALUES (d.account_id, d.slot, :currency, :debit, :credit, 0)
+                    """)
+                .setParameter("accountId", e.getKey())
+                .setParameter("slot", slot)
+                .setParameter("currency", delta.debit.currency().getCurrencyCode())
+                .setParameter("debit", delta.debit.minorUnits())
+                .setParameter("credit", delta.credit.minorUnits())
+                .executeUpdate();
+        }
+    }
+
+    private Map<UUID, Integer> loadBalanceSlots(Set<? extends UUID> accountIds) {
+        Map<UUID, Integer> slots = new LinkedHashMap<>();
+        em.createQuery("SELECT a.id, a.balanceSlots FROM AccountEntity a WHERE a.id IN :ids", Object[].class)
+            .setParameter("ids", accountIds)
+            .getResultList()
+            .forEach(row -> slots.put((UUID) row[0], (Integer) row[1]));
+        // Accounts not found are left out so they are looked up again next time.
+        return slots;
+    }
+
+    /**
+     * Picks the slot for the current posting by thread, so one worker keeps
+     * hitting the same row while different workers spread over all of them.
+     */
+    static int slotFor(int slots) {
+        if (slots == 1) return 0;
+        long mixed = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed >>> 32, (long) slots);
+    }
+
+    private static final class BalanceDelta {
+        private final MoneyAccumulator debit;
+        private final MoneyAccumulator credit;
+
+        private BalanceDelta(Currency currency) {
+            this.debit = new MoneyAccumulator(currency);
+            this.credit = new MoneyAccumulator(currency);
+        }
+
+        private void add(EntrySide side, Money amount) {
+            if (side == EntrySide.DEBIT) {
+                debit.add(amount);
+            } else {
+                credit.add(amount);
+            }
+        }
     }
 }
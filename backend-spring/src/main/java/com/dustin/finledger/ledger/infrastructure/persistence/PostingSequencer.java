@@ -0,0 +1,365 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dustin.finledger.config.PostingSequenceProperties;
+import com.dustin.finledger.ledger.infrastructure.persistence.JdbcSequenceLeaseRepository.SequenceLease;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out the ledger sequence numbers of posted journal entries.
+ * <p>
+ * Numbers come from blocks leased from {@code posting_sequence}: one short
+ * transaction reserves {@code blockSize} numbers for this instance, which are
+ * then handed out from memory, so postings only meet the database once per
+ * block. Instances sharing the database lease disjoint blocks, so numbers are
+ * unique ledger-wide; across instances they interleave block by block.
+ * <p>
+ * The publisher thread leases the next block once half of the current one is
+ * handed out, so a posting normally never waits for the database. If it does
+ * run dry, one posting leases a block itself while the others wait for it;
+ * either way the lease is taken outside the lock, which is never held across
+ * database calls.
+ * <p>
+ * The numbers themselves can have holes: a posting that rolls back, or the
+ * unused end of a block when the instance stops, leaves one. What has none is
+ * the {@link #getWatermark()}. Every number handed out is tracked until its
+ * transaction completes, each lease row records how far its block is resolved,
+ * and the watermark is the lowest of those over the lease rows. Every entry
+ * numbered at or below it has committed or never will, so a reader following
+ * the ledger in sequence order up to the watermark never misses an entry that
+ * commits later.
+ * <p>
+ * Lease progress doubles as a heartbeat and is written every
+ * {@code publishInterval}. A lease not heard from in {@code leaseTimeout} is
+ * taken to belong to a dead instance and deleted, which lets the watermark move
+ * past it. The owner stops trusting a lease {@code leaseMargin} before that:
+ * just before a posting commits, it checks in memory that every lease its
+ * numbers came from was confirmed by a heartbeat less than
+ * {@code leaseTimeout - leaseMargin} ago, and fails otherwise. An instance that
+ * was only stalled therefore gives up its leases before anyone may delete them,
+ * and never commits a number below a watermark that has already moved on. The
+ * margin has to cover the clock skew between instances and the time from that
+ * check to the commit itself; no lock is taken, so commits never wait on each
+ * other.
+ */
+public class PostingSequencer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingSequencer.class);
+
+    private final JdbcSequenceLeaseRepository repository;
+    private final TransactionTemplate leaseTransaction;
+    private final PostingSequenceProperties properties;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // When each held lease was last confirmed in the database, on clock.
+    private final Map<UUID, Long> confirmedAt = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long validNanos;
+    private final Counter leased;
+
+    // Guards the fields below; never held across a database call.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition blockLeased = lock.newCondition();
+    // Leases not yet fully resolved, the one numbers come from, the next one
+    // leased ahead of time, and the next number to hand out.
+    private final List<SequenceLease> leases = new ArrayList<>();
+    private SequenceLease current;
+    private SequenceLease standby;
+    private long cursor;
+    private boolean leasing;
+
+    private volatile boolean running;
+    private volatile Thread publisher;
+
+    public PostingSequencer(
+        JdbcSequenceLeaseRepository repository,
+        PlatformTransactionManager transactionManager,
+        PostingSequenceProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this(repository, transactionManager, properties, meterRegistry, System::nanoTime);
+    }
+
+    PostingSequencer(
+        JdbcSequenceLeaseRepository repository,
+        PlatformTransactionManager transactionManager,
+        PostingSequenceProperties properties,
+        MeterRegistry meterRegistry,
+        LongSupplier clock
+    ) {
+        if (properties.leaseMargin().compareTo(properties.leaseTimeout()) >= 0) {
+            throw new IllegalArgumentException("Posting sequence lease margin must be shorter than the lease timeout");
+        }
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        this.validNanos = properties.leaseTimeout().minus(properties.leaseMargin()).toNanos();
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leased = Counter.builder("finledger.posting.sequence.leases")
+            .description("Blocks of posting sequence numbers leased from the database")
+            .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        publisher = Thread.ofPlatform().name("posting-sequence").daemon().start(this::publishPeriodically);
+    }
+
+    /**
+     * Gives up the unused rest of the current and the standby block and
+     * publishes once more, so leases whose numbers are all resolved are dropped.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        lock.lock();
+        try {
+            if (current != null) {
+                cursor = current.end() + 1;
+            }
+            standby = null;
+        } finally {
+            lock.unlock();
+        }
+        publisher.interrupt();
+        try {
+            publisher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            log.warn("Could not publish posting sequence leases on shutdown", e);
+        }
+    }
+
+    /**
+     * Allocates the next number for an entry saved in the current transaction.
+     * The number counts as resolved once that transaction commits or rolls back,
+     * and the transaction fails to commit if the number's lease has expired.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long next() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Posting sequence numbers must be allocated inside a transaction");
+        }
+        long number;
+        SequenceLease lease;
+        boolean prefetch;
+        lock.lock();
+        try {
+            while (current == null || cursor > current.end()) {
+                if (standby != null) {
+                    current = standby;
+                    standby = null;
+                    cursor = current.start();
+                } else if (leasing) {
+                    blockLeased.await();
+                } else {
+                    leaseStandby();
+                }
+            }
+            lease = current;
+            number = cursor++;
+            inFlight.add(number);
+            prefetch = standby == null && !leasing && cursor - current.start() == properties.blockSize() / 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for posting sequence numbers", e);
+        } finally {
+            lock.unlock();
+        }
+        Thread p = publisher;
+        if (prefetch && p != null) {
+            LockSupport.unpark(p);
+        }
+        allocation().add(number, lease);
+        return number;
+    }
+
+    /** Every posted entry numbered at or below this has committed or never will. */
+    public long getWatermark() {
+        return repository.watermark();
+    }
+
+    /**
+     * Leases the next block ahead of time once half of the current one is
+     * handed out. Normally called by the publisher thread.
+     */
+    void prefetch() {
+        lock.lock();
+        try {
+            boolean due = current == null || cursor - current.start() >= properties.blockSize() / 2;
+            if (running && due && standby == null && !leasing) {
+                leaseStandby();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes how far each lease is resolved and drops leases that are done.
+     * Normally called by the publisher thread.
+     */
+    void publish() {
+        Map<SequenceLease, Long> resolvedThrough = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            for (SequenceLease lease : leases) {
+                long unissued = lease == current ? cursor : lease == standby ? lease.start() : lease.end() + 1;
+                Long oldest = inFlight.ceiling(lease.start());
+                long lowest = oldest != null && oldest < unissued ? oldest : unissued;
+                resolvedThrough.put(lease, lowest - 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Read before the heartbeat time, so a lease never counts as confirmed
+        // later than the row says.
+        long asked = clock.getAsLong();
+        Instant now = Instant.now();
+        for (Map.Entry<SequenceLease, Long> e : resolvedThrough.entrySet()) {
+            SequenceLease lease = e.getKey();
+            if (e.getValue() == lease.end()) {
+                repository.release(lease.id());
+                forget(lease);
+            } else if (repository.heartbeat(lease.id(), e.getValue(), now)) {
+                confirmedAt.put(lease.id(), asked);
+            } else {
+                log.warn("Posting sequence lease {} was taken for dead; leasing a new block", lease.id());
+                forget(lease);
+            }
+        }
+        repository.deleteStale(now.minus(properties.leaseTimeout()));
+    }
+
+    /**
+     * Leases a block into {@code standby}. Called with the lock held, which is
+     * let go while the database is asked; other callers wait on {@code blockLeased}.
+     */
+    private void leaseStandby() {
+        leasing = true;
+        lock.unlock();
+        SequenceLease lease = null;
+        long asked = clock.getAsLong();
+        try {
+            lease = leaseTransaction.execute(status -> repository.lease(owner, properties.blockSize(), Instant.now()));
+        } finally {
+            lock.lock();
+            leasing = false;
+            if (lease != null) {
+                confirmedAt.put(lease.id(), asked);
+                leases.add(lease);
+                standby = lease;
+                leased.increment();
+            }
+            blockLeased.signalAll();
+        }
+    }
+
+    private void forget(SequenceLease lease) {
+        confirmedAt.remove(lease.id());
+        lock.lock();
+        try {
+            leases.remove(lease);
+            if (lease == current) {
+                current = null;
+            }
+            if (lease == standby) {
+                standby = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Allocation allocation() {
+        Allocation allocation = (Allocation) TransactionSynchronizationManager.getResource(this);
+        if (allocation == null) {
+            allocation = new Allocation();
+            TransactionSynchronizationManager.bindResource(this, allocation);
+            TransactionSynchronizationManager.registerSynchronization(allocation);
+        }
+        return allocation;
+    }
+
+    private void publishPeriodically() {
+        long intervalNanos = properties.publishInterval().toNanos();
+        while (running) {
+            // Woken early by next() when half a block is handed out.
+            LockSupport.parkNanos(this, intervalNanos);
+            if (Thread.interrupted()) {
+                return;
+            }
+            try {
+                prefetch();
+                publish();
+            } catch (RuntimeException e) {
+                log.error("Publishing posting sequence leases failed", e);
+            }
+        }
+    }
+
+    /** The numbers allocated in one transaction and the leases they came from. */
+    private final class Allocation implements TransactionSynchronization {
+
+        private final List<Long> numbers = new ArrayList<>();
+        private final Set<UUID> leaseIds = new HashSet<>();
+
+        void add(long number, SequenceLease lease) {
+            numbers.add(number);
+            leaseIds.add(lease.id());
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            long now = clock.getAsLong();
+            for (UUID leaseId : leaseIds) {
+                Long confirmed = confirmedAt.get(leaseId);
+                if (confirmed == null || now - confirmed >= validNanos) {
+                    throw new IllegalStateException(
+                        "Posting sequence lease " + leaseId + " has expired and may be taken for dead; its numbers can no longer commit");
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            numbers.forEach(inFlight::remove);
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostingSequencer.this);
+        }
+    }
+}
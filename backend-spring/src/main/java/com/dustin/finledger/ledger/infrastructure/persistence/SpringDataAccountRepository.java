@@ -1,5 +1,7 @@
 package com.dustin.finledger.ledger.infrastructure.persistence;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,6 @@ import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountEnti
 public interface SpringDataAccountRepository extends JpaRepository<AccountEntity, UUID>{
     
     Optional<AccountEntity> findByName(String name);
+
+    List<AccountEntity> findAllByIdIn(Collection<UUID> ids);
 }
@@ -0,0 +1,63 @@
+package com.dustin.finledger.ledger.infrastructure.persistence.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Running debit and credit totals of an account, maintained whenever a posted
+ * journal entry is saved so balance reads are a primary-key lookup.
+ * <p>
+ * An account has one row per balance slot; its balance is the sum of them.
+ */
+@Entity
+@Table(name = "account_balance")
+@IdClass(AccountBalanceEntity.Key.class)
+public class AccountBalanceEntity {
+
+    public record Key(UUID accountId, int slot) {}
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    // Totals in whole minor units of the currency.
+    @Column(name = "debit_minor", nullable = false)
+    private long debitMinor;
+
+    @Column(name = "credit_minor", nullable = false)
+    private long creditMinor;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    protected AccountBalanceEntity() {};
+
+    public AccountBalanceEntity(UUID accountId, int slot, String currency, long debitMinor, long creditMinor) {
+        this.accountId = accountId;
+        this.slot = slot;
+        this.currency = currency;
+        this.debitMinor = debitMinor;
+        this.creditMinor = creditMinor;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public int getSlot() { return slot; }
+    public String getCurrency() { return currency; }
+    public long getDebitMinor() { return debitMinor; }
+    public long getCreditMinor() { return creditMinor; }
+    public long getVersion() { return version; }
+}
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import com.dustin.finledger.ledger.domain.account.AccountStatus;
 import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -35,14 +36,23 @@ public class AccountEntity {
     @Column(name = "status", nullable = false)
     private AccountStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "overdraft_policy", nullable = false)
+    private OverdraftPolicy overdraftPolicy;
+
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
     protected AccountEntity() {};
 
-    public AccountEntity(UUID id, String name, AccountType type, String currencyCode, AccountStatus status) {
+    public AccountEntity(UUID id, String name, AccountType type, String currencyCode, AccountStatus status, OverdraftPolicy overdraftPolicy, int balanceSlots) {
         this.id = id;
         this.name = name;
         this.type = type;
         this.currencyCode = currencyCode;
         this.status = status;
+        this.overdraftPolicy = overdraftPolicy;
+        this.balanceSlots = balanceSlots;
     }
 
 
@@ -51,4 +61,6 @@ public class AccountEntity {
     public AccountType getType() { return type; }
     public String getCurrencyCode() { return currencyCode; }
     public AccountStatus getStatus() { return status; }
+    public OverdraftPolicy getOverdraftPolicy() { return overdraftPolicy; }
+    public int getBalanceSlots() { return balanceSlots; }
 }
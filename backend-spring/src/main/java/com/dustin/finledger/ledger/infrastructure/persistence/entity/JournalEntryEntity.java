@@ -13,14 +13,24 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 // import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "journal_entry")
+@NamedEntityGraph(
+    name = JournalEntryEntity.WITH_LINES,
+    attributeNodes = @NamedAttributeNode("lines")
+)
 public class JournalEntryEntity {
-    
+
+    /** Fetch graph that loads an entry together with all of its lines in one query. */
+    public static final String WITH_LINES = "JournalEntryEntity.withLines";
+
     @Id
     @Column(name = "id", nullable = false)
     private UUID id;
@@ -34,10 +44,14 @@ public class JournalEntryEntity {
     @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.ALL, orphanRemoval = true)
     // @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     // @JoinColumn(name = "journal_entry_id")
+    @OrderBy("lineNo")
     private List<JournalLineEntity> lines = new ArrayList<>();
 
     @Column(name = "posted", nullable = false)
     private boolean posted;
+
+    @Column(name = "sequence_number", unique = true)
+    private Long sequence;
     
     protected JournalEntryEntity() {};
 
@@ -57,23 +71,29 @@ public class JournalEntryEntity {
             new ArrayList<>(),
             domain.isPosted()
         );
+        entity.sequence = domain.getSequence();
 
-        for (JournalLine line : domain.getLines()) {
-            JournalLineEntity lineEntity = JournalLineEntity.fromDomain(line);
+        List<JournalLine> domainLines = domain.getLines();
+        for (int i = 0; i < domainLines.size(); i++) {
+            JournalLineEntity lineEntity = JournalLineEntity.fromDomain(domainLines.get(i), i);
             lineEntity.setJournalEntry(entity);
             entity.lines.add(lineEntity);
         }
         return entity;
     }
     public JournalEntry toDomain() {
-        JournalEntry entry = new JournalEntry(new JournalEntryId(this.getId()), this.getDescription());
+        List<JournalLine> domainLines = new ArrayList<>(this.lines.size());
         for (JournalLineEntity lineEntity : this.lines) {
-            entry.addLine(lineEntity.toDomain());
-        }
-        if (posted) {
-            entry.post();
+            domainLines.add(lineEntity.toDomain());
         }
-        return entry;
+        return JournalEntry.reconstitute(
+            new JournalEntryId(this.id),
+            this.description,
+            this.timestamp,
+            domainLines,
+            this.posted,
+            this.sequence
+        );
     }
 
     public UUID getId() {  return id;  }
@@ -81,4 +101,5 @@ public class JournalEntryEntity {
     public Instant getTimestamp() { return timestamp; }
     public List<JournalLineEntity> getLines() { return lines; }
     public boolean getPosted() { return posted; }
+    public Long getSequence() { return sequence; }
 }
@@ -1,11 +1,11 @@
 package com.dustin.finledger.ledger.infrastructure.persistence.entity;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Currency;
 import java.util.UUID;
 
 import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.money.MoneyMinor;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.journal.EntrySide;
 import com.dustin.finledger.ledger.domain.journal.JournalLine;
@@ -15,6 +15,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -31,8 +32,9 @@ public class JournalLineEntity {
     @Column(name = "account_id", nullable = false)
     private UUID accountId;
 
-    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
-    private BigDecimal amount;
+    // Whole minor units of the currency (cents for USD), not a decimal amount.
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
 
     @Column(name = "currency", nullable = false, length = 3)
     private String currency;
@@ -44,38 +46,53 @@ public class JournalLineEntity {
     @Column(name = "side", nullable = false)
     private EntrySide side;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "journal_entry_id", nullable = false)
     private JournalEntryEntity  journalEntry;
 
+    // Denormalized from the owning entry so statement and balance queries
+    // can be served from journal_line indexes without joining journal_entry.
+    @Column(name = "posted", nullable = false)
+    private boolean posted;
+
+    @Column(name = "entry_created_at", nullable = false)
+    private Instant entryCreatedAt;
+
+    // Position within the entry; lines are read back in this order.
+    @Column(name = "line_no", nullable = false)
+    private int lineNo;
+
 
     protected JournalLineEntity() {};
 
-    public JournalLineEntity(UUID id, UUID accountId, BigDecimal amount, String currency, Instant occurredAt, EntrySide side) {
+    public JournalLineEntity(UUID id, UUID accountId, long amountMinor, String currency, Instant occurredAt, EntrySide side) {
         this.id = id;
         this.accountId = accountId;
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.currency = currency;
         this.occurredAt = occurredAt;
         this.side = side;
     }
 
-    public static JournalLineEntity fromDomain(JournalLine line) {
-        return new JournalLineEntity(
+    public static JournalLineEntity fromDomain(JournalLine line, int lineNo) {
+        JournalLineEntity entity = new JournalLineEntity(
             line.id().id(),
             line.accountId().id(),
-            line.amount().amount(),
+            MoneyMinor.toMinorUnits(line.amount().amount(), line.amount().currency()),
             line.amount().currency().getCurrencyCode(),
             line.occurredAt(),
             line.side()
         );
+        entity.lineNo = lineNo;
+        return entity;
     }
     
     public JournalLine toDomain() {
+        Currency lineCurrency = Currency.getInstance(this.currency);
         return new JournalLine(
             new JournalLineId(this.id),
             new AccountId(this.accountId),
-            new Money(this.amount, Currency.getInstance(this.currency)),
+            new Money(MoneyMinor.toDecimal(this.amountMinor, lineCurrency), lineCurrency),
             this.occurredAt,
             this.side);
     }
@@ -83,12 +100,21 @@ public class JournalLineEntity {
 
     public UUID getId() { return id; }
     public UUID getAccountId() { return accountId; }
-    public BigDecimal getAmount() { return amount; }
+    public long getAmountMinor() { return amountMinor; }
     public String getCurrency() { return currency; }
     public Instant getOccurredAt() { return occurredAt; }
     public EntrySide getSide() { return side; }
-
+    public boolean getPosted() { return posted; }
+    public Instant getEntryCreatedAt() { return entryCreatedAt; }
+    public int getLineNo() { return lineNo; }
+
+    /**
+     * Attaches this line to its entry and copies the entry's posted flag and
+     * timestamp into the denormalized columns.
+     */
     public void setJournalEntry(JournalEntryEntity journalEntry) {
         this.journalEntry = journalEntry;
+        this.posted = journalEntry.getPosted();
+        this.entryCreatedAt = journalEntry.getTimestamp();
     }
 }
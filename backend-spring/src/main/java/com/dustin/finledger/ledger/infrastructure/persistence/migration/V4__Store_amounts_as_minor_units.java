@@ -0,0 +1,116 @@
+package com.dustin.finledger.ledger.infrastructure.persistence.migration;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.dustin.finledger.common.money.CurrencyScale;
+
+/**
+ * Replaces the NUMERIC(19,4) amount columns with BIGINT counts of each
+ * currency's minor units.
+ * <p>
+ * The scale differs per currency (2 for USD, 0 for JPY, 3 for BHD), which plain
+ * SQL cannot know, so existing rows are converted one currency at a time here.
+ * The migration fails rather than round if any stored amount has more decimal
+ * places than its currency allows.
+ */
+public class V4__Store_amounts_as_minor_units extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE journal_line ADD COLUMN amount_minor BIGINT");
+            ddl.execute("ALTER TABLE account_balance ADD COLUMN debit_minor BIGINT");
+            ddl.execute("ALTER TABLE account_balance ADD COLUMN credit_minor BIGINT");
+        }
+
+        for (String code : distinctCurrencies(connection)) {
+            BigDecimal factor = BigDecimal.valueOf(CurrencyScale.of(Currency.getInstance(code)).minorUnitsPerMajor());
+
+            requireWholeMinorUnits(connection, code, factor, "journal_line", "amount");
+            requireWholeMinorUnits(connection, code, factor, "account_balance", "debit_total");
+            requireWholeMinorUnits(connection, code, factor, "account_balance", "credit_total");
+
+            update(connection, """
+                UPDATE journal_line
+                SET amount_minor = CAST(amount * ? AS BIGINT)
+                WHERE currency = ?
+                """, factor, code);
+            update(connection, """
+                UPDATE account_balance
+                SET debit_minor = CAST(debit_total * ? AS BIGINT),
+                    credit_minor = CAST(credit_total * ? AS BIGINT)
+                WHERE currency = ?
+                """, factor, factor, code);
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP INDEX ix_journal_line_account_totals");
+            ddl.execute("ALTER TABLE journal_line DROP COLUMN amount");
+            ddl.execute("ALTER TABLE journal_line ALTER COLUMN amount_minor SET NOT NULL");
+            ddl.execute("""
+                CREATE INDEX ix_journal_line_account_totals
+                    ON journal_line (account_id, posted, currency, side, amount_minor)
+                """);
+
+            ddl.execute("ALTER TABLE account_balance DROP COLUMN debit_total");
+            ddl.execute("ALTER TABLE account_balance DROP COLUMN credit_total");
+            ddl.execute("ALTER TABLE account_balance ALTER COLUMN debit_minor SET NOT NULL");
+            ddl.execute("ALTER TABLE account_balance ALTER COLUMN credit_minor SET NOT NULL");
+        }
+    }
+
+    private static List<String> distinctCurrencies(Connection connection) throws SQLException {
+        List<String> codes = new ArrayList<>();
+        try (Statement query = connection.createStatement();
+             ResultSet rs = query.executeQuery("""
+                SELECT currency FROM journal_line
+                UNION
+                SELECT currency FROM account_balance
+                """)) {
+            while (rs.next()) {
+                codes.add(rs.getString(1));
+            }
+        }
+        return codes;
+    }
+
+    private static void requireWholeMinorUnits(Connection connection, String currency, BigDecimal factor, String table, String column) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM %1$s WHERE currency = ? AND %2$s * ? <> FLOOR(%2$s * ?)".formatted(table, column);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, currency);
+            ps.setBigDecimal(2, factor);
+            ps.setBigDecimal(3, factor);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                long offending = rs.getLong(1);
+                if (offending > 0) {
+                    throw new IllegalStateException(
+                        "%d %s.%s value(s) in %s have more decimal places than the currency allows"
+                            .formatted(offending, table, column, currency));
+                }
+            }
+        }
+    }
+
+    private static void update(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
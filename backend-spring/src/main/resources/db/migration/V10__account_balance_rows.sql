@@ -0,0 +1,16 @@
+-- Balance rows are now created together with their account, so postings only
+-- ever UPDATE them and two first postings to an account can't both INSERT.
+-- Give every existing account a row for each of its slots.
+
+INSERT INTO account_balance (account_id, slot, currency, debit_minor, credit_minor, version)
+WITH RECURSIVE slots (n) AS (
+    SELECT 0
+    UNION ALL
+    SELECT n + 1 FROM slots WHERE n < 63
+)
+SELECT a.id, s.n, a.currency_code, 0, 0, 0
+FROM account a
+JOIN slots s ON s.n < a.balance_slots
+WHERE NOT EXISTS (
+    SELECT 1 FROM account_balance b WHERE b.account_id = a.id AND b.slot = s.n
+);
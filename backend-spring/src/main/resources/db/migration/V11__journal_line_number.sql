@@ -0,0 +1,15 @@
+-- Position of a line within its entry, so lines read back in the order they
+-- were added whatever kind of ids they have. Existing lines are numbered in
+-- id order, which is the best ordering they have.
+
+ALTER TABLE journal_line ADD COLUMN line_no INT DEFAULT 0 NOT NULL;
+
+UPDATE journal_line jl
+SET line_no = (
+    SELECT numbered.rn - 1
+    FROM (
+        SELECT id, ROW_NUMBER() OVER (PARTITION BY journal_entry_id ORDER BY id) AS rn
+        FROM journal_line
+    ) numbered
+    WHERE numbered.id = jl.id
+);
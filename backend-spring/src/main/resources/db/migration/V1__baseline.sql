@@ -0,0 +1,39 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entities.
+
+CREATE TABLE account (
+    id              UUID            NOT NULL,
+    name            VARCHAR(255)    NOT NULL,
+    type            VARCHAR(16)     NOT NULL,
+    currency_code   VARCHAR(255)    NOT NULL,
+    status          VARCHAR(16)     NOT NULL,
+    CONSTRAINT pk_account PRIMARY KEY (id)
+);
+
+CREATE TABLE journal_entry (
+    id              UUID                        NOT NULL,
+    description     VARCHAR(255)                NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    posted          BOOLEAN                     NOT NULL,
+    CONSTRAINT pk_journal_entry PRIMARY KEY (id)
+);
+
+CREATE TABLE journal_line (
+    id                  UUID                        NOT NULL,
+    journal_entry_id    UUID                        NOT NULL,
+    account_id          UUID                        NOT NULL,
+    amount              NUMERIC(19,4)               NOT NULL,
+    currency            VARCHAR(3)                  NOT NULL,
+    occurred_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    side                VARCHAR(16)                 NOT NULL,
+    CONSTRAINT pk_journal_line PRIMARY KEY (id),
+    CONSTRAINT fk_journal_line_entry FOREIGN KEY (journal_entry_id) REFERENCES journal_entry (id)
+);
+
+CREATE TABLE account_balance (
+    account_id      UUID            NOT NULL,
+    currency        VARCHAR(3)      NOT NULL,
+    debit_total     NUMERIC(19,4)   NOT NULL,
+    credit_total    NUMERIC(19,4)   NOT NULL,
+    version         BIGINT          NOT NULL,
+    CONSTRAINT pk_account_balance PRIMARY KEY (account_id)
+);
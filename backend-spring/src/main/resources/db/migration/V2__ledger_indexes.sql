@@ -0,0 +1,27 @@
+-- Copy the entry's posted flag and timestamp onto each line so account
+-- statements and balance recomputation can be answered from journal_line alone.
+
+ALTER TABLE journal_line ADD COLUMN posted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE journal_line ADD COLUMN entry_created_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE journal_line
+SET posted = (SELECT je.posted FROM journal_entry je WHERE je.id = journal_line.journal_entry_id),
+    entry_created_at = (SELECT je.created_at FROM journal_entry je WHERE je.id = journal_line.journal_entry_id);
+
+ALTER TABLE journal_line ALTER COLUMN entry_created_at SET NOT NULL;
+
+-- Lines of one entry (getById, fetching lines for a page of entries).
+CREATE INDEX ix_journal_line_entry
+    ON journal_line (journal_entry_id);
+
+-- Posted entries touching an account, in posting order (findAllPostedByAccountId, statements).
+CREATE INDEX ix_journal_line_account_statement
+    ON journal_line (account_id, posted, entry_created_at, journal_entry_id);
+
+-- Per-account debit/credit totals without touching the table (balance recomputation).
+CREATE INDEX ix_journal_line_account_totals
+    ON journal_line (account_id, posted, currency, side, amount);
+
+-- Posted entries in posting order (findAll, global listings).
+CREATE INDEX ix_journal_entry_posted_created
+    ON journal_entry (posted, created_at, id);
@@ -0,0 +1,4 @@
+-- All posted lines in posting order (journal export without an account filter),
+-- so the export can stream straight off the index instead of sorting the table.
+CREATE INDEX ix_journal_line_posted_created
+    ON journal_line (posted, entry_created_at, journal_entry_id, id);
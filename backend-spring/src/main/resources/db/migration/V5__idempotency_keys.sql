@@ -0,0 +1,17 @@
+-- Idempotency-Key claims for the posting endpoints, with the response to replay.
+-- The primary key is what makes two concurrent requests with one key safe:
+-- only one INSERT wins. status_code stays NULL while that request is running.
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(255)                NOT NULL,
+    request_hash    VARCHAR(64)                 NOT NULL,
+    status_code     INTEGER,
+    content_type    VARCHAR(255),
+    location        VARCHAR(1024),
+    response_body   TEXT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+-- Purging expired keys and warming the in-memory filter both scan by expiry.
+CREATE INDEX ix_idempotency_key_expires_at ON idempotency_key (expires_at);
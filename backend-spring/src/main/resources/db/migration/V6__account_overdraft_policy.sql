@@ -0,0 +1,3 @@
+-- Per-account overdraft policy; existing accounts keep allowing negative balances.
+
+ALTER TABLE account ADD COLUMN overdraft_policy VARCHAR(16) DEFAULT 'ALLOW' NOT NULL;
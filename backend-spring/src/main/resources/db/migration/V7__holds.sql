@@ -0,0 +1,17 @@
+-- Authorization holds: funds reserved on an account until captured, released or expired.
+
+CREATE TABLE hold (
+    id                  UUID                        NOT NULL,
+    account_id          UUID                        NOT NULL,
+    amount_minor        BIGINT                      NOT NULL,
+    currency            VARCHAR(3)                  NOT NULL,
+    description         VARCHAR(255)                NOT NULL,
+    status              VARCHAR(16)                 NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    capture_entry_id    UUID,
+    CONSTRAINT pk_hold PRIMARY KEY (id)
+);
+
+-- Startup reloads the pending holds into memory.
+CREATE INDEX ix_hold_status ON hold (status);
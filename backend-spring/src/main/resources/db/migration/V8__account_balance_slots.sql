@@ -0,0 +1,9 @@
+-- Hot accounts can spread their running balance over several account_balance
+-- rows ("slots") so concurrent postings don't all wait on one row lock. Reads
+-- sum the slots. Existing accounts keep a single slot, which is slot 0.
+
+ALTER TABLE account ADD COLUMN balance_slots INT DEFAULT 1 NOT NULL;
+
+ALTER TABLE account_balance ADD COLUMN slot INT DEFAULT 0 NOT NULL;
+ALTER TABLE account_balance DROP CONSTRAINT pk_account_balance;
+ALTER TABLE account_balance ADD CONSTRAINT pk_account_balance PRIMARY KEY (account_id, slot);
@@ -0,0 +1,42 @@
+-- Ledger-wide posting order. Every posted journal entry gets a sequence number
+-- from a block of numbers leased by the application instance that posts it.
+
+ALTER TABLE journal_entry ADD COLUMN sequence_number BIGINT;
+
+-- Entries posted before this migration are numbered in posting order.
+UPDATE journal_entry je
+SET sequence_number = (
+    SELECT numbered.rn
+    FROM (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY created_at, id) AS rn
+        FROM journal_entry
+        WHERE posted = TRUE
+    ) numbered
+    WHERE numbered.id = je.id
+)
+WHERE je.posted = TRUE;
+
+CREATE UNIQUE INDEX ux_journal_entry_sequence_number ON journal_entry (sequence_number);
+
+-- The next number no instance has leased yet; one row.
+CREATE TABLE posting_sequence (
+    id              INTEGER NOT NULL,
+    next_number     BIGINT  NOT NULL,
+    CONSTRAINT pk_posting_sequence PRIMARY KEY (id)
+);
+
+INSERT INTO posting_sequence (id, next_number)
+SELECT 1, COALESCE(MAX(sequence_number), 0) + 1 FROM journal_entry;
+
+-- Blocks of numbers held by running instances. Every number in a block up to
+-- resolved_through has committed or rolled back; the lowest resolved_through
+-- over live leases is the watermark readers may follow the sequence up to.
+CREATE TABLE posting_sequence_lease (
+    id                  UUID                        NOT NULL,
+    owner               VARCHAR(255)                NOT NULL,
+    block_start         BIGINT                      NOT NULL,
+    block_end           BIGINT                      NOT NULL,
+    resolved_through    BIGINT                      NOT NULL,
+    heartbeat_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_posting_sequence_lease PRIMARY KEY (id)
+);
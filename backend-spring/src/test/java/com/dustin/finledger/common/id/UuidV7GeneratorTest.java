@@ -0,0 +1,88 @@
+package com.dustin.finledger.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void nextId_shouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = new UuidV7Generator().nextId();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void nextId_shouldBeStrictlyIncreasing_withinOneMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.nextId();
+            assertThat(compareUnsigned(next, previous)).isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_shouldStayIncreasing_whenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_500L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        UUID first = generator.nextId();
+        clock.set(1_700_000_000_000L);
+        UUID second = generator.nextId();
+
+        assertThat(compareUnsigned(second, first)).isPositive();
+    }
+
+    @Test
+    void nextId_shouldBeUniqueAndOrderedPerThread_underConcurrency() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    UUID previous = generator.nextId();
+                    seen.add(previous);
+                    boolean ordered = true;
+                    for (int i = 0; i < 20_000; i++) {
+                        UUID next = generator.nextId();
+                        ordered &= compareUnsigned(next, previous) > 0;
+                        seen.add(next);
+                        previous = next;
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(seen).hasSize(8 * 20_001);
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
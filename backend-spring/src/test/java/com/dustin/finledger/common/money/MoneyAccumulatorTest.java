@@ -0,0 +1,45 @@
+package com.dustin.finledger.common.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+
+class MoneyAccumulatorTest {
+
+    private final Currency USD = Currency.getInstance("USD");
+
+    @Test
+    void sums_amounts_exactly() {
+        MoneyAccumulator total = new MoneyAccumulator(USD);
+        for (int i = 0; i < 1000; i++) {
+            total.add(Money.of("0.10", USD));
+        }
+        total.add(new MoneyMinor(-5, USD));
+
+        assertEquals(9995L, total.minorUnits());
+        assertEquals(Money.of("99.95", USD), total.toMoney());
+        assertEquals(new MoneyMinor(9995, USD), total.toMoneyMinor());
+    }
+
+    @Test
+    void starts_at_zero() {
+        assertEquals(Money.zero(USD), new MoneyAccumulator(USD).toMoney());
+    }
+
+    @Test
+    void throws_on_currency_mismatch() {
+        MoneyAccumulator total = new MoneyAccumulator(USD);
+        assertThrows(IllegalArgumentException.class,
+            () -> total.add(Money.of("1", Currency.getInstance("EUR"))));
+    }
+
+    @Test
+    void throws_on_overflow() {
+        MoneyAccumulator total = new MoneyAccumulator(USD).addMinorUnits(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> total.addMinorUnits(1));
+    }
+}
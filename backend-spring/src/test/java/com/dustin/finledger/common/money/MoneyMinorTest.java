@@ -0,0 +1,68 @@
+package com.dustin.finledger.common.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+
+class MoneyMinorTest {
+
+    private final Currency USD = Currency.getInstance("USD");
+    private final Currency JPY = Currency.getInstance("JPY");
+    private final Currency BHD = Currency.getInstance("BHD");
+
+    @Test
+    void of_converts_to_minor_units_using_currency_scale() {
+        assertEquals(12345L, MoneyMinor.of(new BigDecimal("123.45"), USD).minorUnits());
+        assertEquals(12345L, MoneyMinor.of(new BigDecimal("12345"), JPY).minorUnits());
+        assertEquals(1234L, MoneyMinor.of(new BigDecimal("1.234"), BHD).minorUnits());
+        assertEquals(500L, MoneyMinor.of(new BigDecimal("5"), USD).minorUnits());
+    }
+
+    @Test
+    void of_throws_when_precision_would_be_lost() {
+        assertThrows(ArithmeticException.class, () -> MoneyMinor.of(new BigDecimal("1.005"), USD));
+    }
+
+    @Test
+    void of_throws_when_amount_does_not_fit_in_long() {
+        assertThrows(ArithmeticException.class,
+            () -> MoneyMinor.of(new BigDecimal("100000000000000000.00"), USD));
+    }
+
+    @Test
+    void round_trips_through_money() {
+        Money money = Money.of("-42.10", USD);
+        assertEquals(money, MoneyMinor.from(money).toMoney());
+        assertEquals(new BigDecimal("-42.10"), MoneyMinor.from(money).toBigDecimal());
+    }
+
+    @Test
+    void add_subtract_and_negate_are_exact() {
+        MoneyMinor a = new MoneyMinor(1050, USD);
+        MoneyMinor b = new MoneyMinor(25, USD);
+
+        assertEquals(new MoneyMinor(1075, USD), a.add(b));
+        assertEquals(new MoneyMinor(1025, USD), a.subtract(b));
+        assertEquals(new MoneyMinor(-1050, USD), a.negate());
+        assertTrue(a.negate().isNegative());
+    }
+
+    @Test
+    void add_throws_on_overflow_instead_of_wrapping() {
+        MoneyMinor max = new MoneyMinor(Long.MAX_VALUE, USD);
+        assertThrows(ArithmeticException.class, () -> max.add(new MoneyMinor(1, USD)));
+        assertThrows(ArithmeticException.class, () -> new MoneyMinor(Long.MIN_VALUE, USD).negate());
+    }
+
+    @Test
+    void add_throws_on_currency_mismatch() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MoneyMinor(1, USD).add(new MoneyMinor(1, JPY)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.dustin.finledger.common.threads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class StripedLocksTest {
+
+    @Test
+    void constructor_shouldRoundStripesUpToPowerOfTwo() {
+        assertThat(new StripedLocks(1000).stripes()).isEqualTo(1024);
+        assertThat(new StripedLocks(64).stripes()).isEqualTo(64);
+    }
+
+    @Test
+    void lockAll_shouldNotDeadlock_whenCallersNameKeysInOppositeOrder() throws Exception {
+        StripedLocks locks = new StripedLocks(4);
+        List<String> keys = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+        List<String> reversed = keys.reversed();
+        CountDownLatch done = new CountDownLatch(2);
+
+        Runnable forward = () -> repeat(locks, keys, done);
+        Runnable backward = () -> repeat(locks, reversed, done);
+        Thread.ofPlatform().start(forward);
+        Thread.ofPlatform().start(backward);
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void held_shouldReleaseOnlyOnce() {
+        StripedLocks locks = new StripedLocks(4);
+        StripedLocks.Held held = locks.lockAll(List.of("a", "b"));
+        held.close();
+        held.close();
+
+        try (StripedLocks.Held again = locks.lockAll(List.of("a", "b"))) {
+            assertThat(again).isNotNull();
+        }
+    }
+
+    private static void repeat(StripedLocks locks, List<String> keys, CountDownLatch done) {
+        for (int i = 0; i < 10_000; i++) {
+            try (StripedLocks.Held held = locks.lockAll(keys)) {
+                Thread.onSpinWait();
+            }
+        }
+        done.countDown();
+    }
+}
@@ -0,0 +1,47 @@
+package com.dustin.finledger.common.threads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void pinnedVirtualThread_shouldBeRecordedAsTimer() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer pinned = registry.find("jvm.threads.virtual.pinned").timer();
+        assertThat(pinned).isNull();
+
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(1))) {
+            monitor.start();
+            Object lock = new Object();
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+            Timer timer = registry.get("jvm.threads.virtual.pinned").timer();
+            while (timer.count() == 0 && System.nanoTime() < deadline) {
+                // Sleeping while holding a monitor pins the virtual thread on Java 21.
+                Thread.ofVirtual().start(() -> {
+                    synchronized (lock) {
+                        sleep(Duration.ofMillis(20));
+                    }
+                }).join();
+                Thread.sleep(200);
+            }
+
+            assertThat(timer.count()).isPositive();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
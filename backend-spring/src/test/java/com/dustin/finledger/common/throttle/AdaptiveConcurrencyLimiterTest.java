@@ -0,0 +1,140 @@
+package com.dustin.finledger.common.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    // Stands in for System.nanoTime(); every request starts after the previous one finished.
+    private long clock;
+
+    @Test
+    void tryAcquire_shouldRefuseOnceLimitAndQueueAreFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0);
+
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(10))).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_shouldLetAQueuedRequestInWhenASlotIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1);
+        limiter.tryAcquire(Duration.ZERO);
+
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> waiting = pool.submit(() -> limiter.tryAcquire(Duration.ofSeconds(5)));
+            while (limiter.getQueued() == 0) {
+                Thread.sleep(1);
+            }
+            assertThat(limiter.tryAcquire(Duration.ZERO)).as("queue is full").isFalse();
+
+            release(limiter, FAST, false);
+
+            assertThat(waiting.get()).isTrue();
+            assertThat(limiter.getQueued()).isZero();
+        }
+    }
+
+    @Test
+    void release_shouldBackOffOnSlowOrOverloadedRequests() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 0);
+
+        limiter.tryAcquire(Duration.ZERO);
+        release(limiter, SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(18);
+
+        limiter.tryAcquire(Duration.ZERO);
+        release(limiter, FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(16);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(Duration.ZERO);
+            release(limiter, SLOW, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_shouldGrowOnlyWhileTheLimitIsInUse() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(Duration.ZERO);
+            release(limiter, FAST, false);
+        }
+        assertThat(limiter.getLimit()).as("one request at a time never uses half of the limit").isEqualTo(4);
+
+        for (int round = 0; round < 20; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                limiter.tryAcquire(Duration.ZERO);
+            }
+            for (int i = 0; i < limit; i++) {
+                release(limiter, FAST, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isBetween(10, 24);
+    }
+
+    @Test
+    void release_shouldBackOffOnlyOncePerRoundTrip() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 0);
+
+        long started = clock;
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(Duration.ZERO);
+        }
+        clock += SLOW;
+        for (int i = 0; i < 10; i++) {
+            limiter.release(started, clock++, false);
+        }
+        assertThat(limiter.getLimit()).as("one burst of slow requests is one overload").isEqualTo(18);
+
+        limiter.tryAcquire(Duration.ZERO);
+        release(limiter, SLOW, false);
+        assertThat(limiter.getLimit()).as("admitted after the cut").isEqualTo(16);
+    }
+
+    @Test
+    void releaseWithoutSample_shouldOnlyBackOffOnOverload() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0);
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 8; i++) {
+                limiter.tryAcquire(Duration.ZERO);
+            }
+            for (int i = 0; i < 8; i++) {
+                long started = clock;
+                clock += round % 2 == 0 ? SLOW : FAST;
+                limiter.releaseWithoutSample(started, clock++, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        limiter.tryAcquire(Duration.ZERO);
+        long started = clock;
+        limiter.releaseWithoutSample(started, ++clock, true);
+        assertThat(limiter.getLimit()).isEqualTo(7);
+    }
+
+    private void release(AdaptiveConcurrencyLimiter limiter, long latency, boolean overloaded) {
+        long started = clock;
+        clock += latency;
+        limiter.release(started, clock++, overloaded);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueue) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, Math.min(4, initialLimit), 64, Duration.ofMillis(100), 0.9, maxQueue);
+    }
+}
@@ -0,0 +1,35 @@
+package com.dustin.finledger.common.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_shouldAllowABurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).as("wait for the next token").isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtTheRateButNotPastCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 20)).isEqualTo(SECOND / 20);
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+
+        long muchLater = 60 * SECOND;
+        assertThat(bucket.tryAcquire(muchLater)).isZero();
+        assertThat(bucket.tryAcquire(muchLater)).isZero();
+        assertThat(bucket.tryAcquire(muchLater)).isPositive();
+    }
+}
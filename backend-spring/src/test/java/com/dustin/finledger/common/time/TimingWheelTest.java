@@ -0,0 +1,62 @@
+package com.dustin.finledger.common.time;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_shouldFireEachTimeoutAtItsDeadline_acrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(3, 1_000);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1_000 + 1 + random.nextInt(64 * 64 * 64 - 1);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long tick = 1_001; tick <= 1_000 + 64 * 64 * 64; tick++) {
+            for (long fired : wheel.advanceTo(tick)) {
+                assertThat(fired).isEqualTo(tick);
+                deadlines.remove(fired);
+            }
+        }
+
+        assertThat(deadlines).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_shouldFireTimeoutsBeyondTopLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("far", 1_000);
+
+        assertThat(wheel.advanceTo(999)).isEmpty();
+        assertThat(wheel.advanceTo(1_000)).containsExactly("far");
+    }
+
+    @Test
+    void advanceTo_shouldFirePastDeadlinesOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(2, 100);
+        wheel.schedule("late", 50);
+
+        assertThat(wheel.advanceTo(101)).containsExactly("late");
+    }
+
+    @Test
+    void cancel_shouldKeepTimeoutFromFiring() {
+        TimingWheel<String> wheel = new TimingWheel<>(2, 0);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 100);
+        wheel.schedule("kept", 100);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.advanceTo(200)).containsExactly("kept");
+    }
+}
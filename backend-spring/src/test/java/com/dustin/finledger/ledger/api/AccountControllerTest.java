@@ -22,6 +22,7 @@ import com.dustin.finledger.ledger.api.dto.CreateAccountRequest;
 import com.dustin.finledger.ledger.application.CalculateAccountBalanceService;
 import com.dustin.finledger.ledger.application.CreateAccountService;
 import com.dustin.finledger.ledger.application.GetAccountService;
+import com.dustin.finledger.ledger.application.dto.AccountBalance;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.account.AccountType;
@@ -54,7 +55,7 @@ class AccountControllerTest {
         when(createAccountService.handle(any()))
             .thenReturn(id);
         
-        CreateAccountRequest request = new CreateAccountRequest("Cash", "ASSET", "USD");
+        CreateAccountRequest request = new CreateAccountRequest("Cash", "ASSET", "USD", null, null);
         
         mockMvc.perform(post("/accounts")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -91,9 +92,11 @@ class AccountControllerTest {
 
         UUID id = UUID.randomUUID();
 
-        Money balance = Money.of(
-            new BigDecimal("100.00"),
-            Currency.getInstance("USD")
+        Currency usd = Currency.getInstance("USD");
+        AccountBalance balance = new AccountBalance(
+            Money.of(new BigDecimal("100.00"), usd),
+            Money.of(new BigDecimal("30.00"), usd),
+            Money.of(new BigDecimal("70.00"), usd)
         );
         
         when(calculateAccountBalanceService.handle(id))
@@ -103,6 +106,8 @@ class AccountControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountId").value(id.toString()))
                 .andExpect(jsonPath("$.amount").value(100.00))
+                .andExpect(jsonPath("$.pending").value(30.00))
+                .andExpect(jsonPath("$.available").value(70.00))
                 .andExpect(jsonPath("$.currency").value("USD"));
     }
 }
@@ -0,0 +1,144 @@
+package com.dustin.finledger.ledger.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.dustin.finledger.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+class AdmissionFilterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRefuseClientOverItsRateWith429AndRetryAfter() throws Exception {
+        AdmissionFilter filter = filter(0.5, 2, 32);
+
+        filter.doFilter(post("10.0.0.10"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(post("10.0.0.10"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("10.0.0.10"), refused, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(refused.getContentAsString()).contains("RATE_LIMITED");
+        assertThat(meterRegistry.get("finledger.admission.shed").tag("reason", "rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClient() throws Exception {
+        AdmissionFilter filter = filter(0.5, 1, 32);
+
+        filter.doFilter(post("10.0.0.10"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(post("10.0.0.11"), other, new MockFilterChain());
+
+        assertThat(other.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldRefuseWritesOverTheConcurrencyLimit() throws Exception {
+        AdmissionFilter filter = filter(1000, 1000, 1);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    filter.doFilter(post("10.0.0.11"), nested, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        filter.doFilter(post("10.0.0.10"), new MockHttpServletResponse(), chain);
+
+        assertThat(nested.getStatus()).isEqualTo(429);
+        assertThat(nested.getContentAsString()).contains("CONCURRENCY_LIMITED");
+        assertThat(meterRegistry.get("finledger.admission.shed").tag("reason", "concurrency").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("finledger.admission.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldLetReadsThrough() throws Exception {
+        AdmissionFilter filter = filter(0.5, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertThat(chain.getRequest()).isSameAs(request);
+        }
+    }
+
+    @Test
+    void shouldIgnoreTheClientHeader_unlessTheRequestComesFromATrustedProxy() throws Exception {
+        AdmissionFilter filter = filter(0.5, 1, 32);
+
+        MockHttpServletRequest first = post("10.0.0.7");
+        first.addHeader("X-Client-Id", "client-a");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest spoofed = post("10.0.0.7");
+        spoofed.addHeader("X-Client-Id", "client-b");
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        filter.doFilter(spoofed, refused, new MockFilterChain());
+
+        MockHttpServletRequest proxiedA = post(PROXY);
+        proxiedA.addHeader("X-Client-Id", "client-a");
+        filter.doFilter(proxiedA, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest proxiedB = post(PROXY);
+        proxiedB.addHeader("X-Client-Id", "client-b");
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(proxiedB, admitted, new MockFilterChain());
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(admitted.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldNotBackOffOnTheLatencyOfBatches() throws Exception {
+        AdmissionFilter filter = new AdmissionFilter(properties(1000, 1000, 8, Duration.ZERO), JsonMapper.builder().build(), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/transactions/batch");
+            filter.doFilter(batch, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        assertThat(meterRegistry.get("finledger.admission.limit").gauge().value()).isEqualTo(8);
+
+        filter.doFilter(post("10.0.0.10"), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(meterRegistry.get("finledger.admission.limit").gauge().value()).isEqualTo(7);
+    }
+
+    private AdmissionFilter filter(double clientRate, int clientBurst, int limit) {
+        return new AdmissionFilter(properties(clientRate, clientBurst, limit, Duration.ofSeconds(5)), JsonMapper.builder().build(), meterRegistry);
+    }
+
+    private static AdmissionProperties properties(double clientRate, int clientBurst, int limit, Duration latencyThreshold) {
+        return new AdmissionProperties(
+            true, "X-Client-Id", List.of(PROXY), clientRate, clientBurst, 1000, Duration.ofMinutes(10),
+            limit, 1, Math.max(limit, 64), latencyThreshold, List.of("/transactions/batch"),
+            0.9, 0, Duration.ZERO, Duration.ofSeconds(1));
+    }
+
+    private static MockHttpServletRequest post(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
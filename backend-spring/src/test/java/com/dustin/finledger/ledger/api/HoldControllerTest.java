@@ -0,0 +1,90 @@
+package com.dustin.finledger.ledger.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.api.dto.CaptureHoldRequest;
+import com.dustin.finledger.ledger.api.dto.PlaceHoldRequest;
+import com.dustin.finledger.ledger.application.HoldService;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+import tools.jackson.databind.ObjectMapper;
+
+@WebMvcTest(HoldController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class HoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private HoldService holdService;
+
+    private final AccountId accountId = AccountId.newId();
+    private final Instant now = Instant.now();
+
+    @Test
+    void placeHold_shouldReturn201WithLocation() throws Exception {
+        Hold hold = Hold.place(accountId, Money.of("25.00", Currency.getInstance("USD")), "Card authorization", now, now.plusSeconds(600));
+        when(holdService.place(any())).thenReturn(hold);
+
+        PlaceHoldRequest request = new PlaceHoldRequest(accountId.id(), new BigDecimal("25.00"), "USD", "Card authorization", 600L);
+
+        mockMvc.perform(post("/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Location", "/holds/" + hold.getId().id()))
+            .andExpect(jsonPath("$.status").value("PENDING"))
+            .andExpect(jsonPath("$.amount").value(25.00));
+    }
+
+    @Test
+    void captureHold_shouldReturnCapturedHold() throws Exception {
+        Hold hold = Hold.place(accountId, Money.of("25.00", Currency.getInstance("USD")), "", now, now.plusSeconds(600));
+        JournalEntryId entryId = JournalEntryId.newId();
+        when(holdService.capture(eq(hold.getId()), any())).thenReturn(hold.captured(entryId));
+
+        CaptureHoldRequest request = new CaptureHoldRequest(UUID.randomUUID(), null, null);
+
+        mockMvc.perform(post("/holds/{id}/capture", hold.getId().id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CAPTURED"))
+            .andExpect(jsonPath("$.captureEntryId").value(entryId.id().toString()));
+    }
+
+    @Test
+    void releaseHold_shouldReturn400_whenHoldIsNotPending() throws Exception {
+        HoldId id = HoldId.newId();
+        when(holdService.release(id)).thenThrow(new DomainException("Hold " + id.id() + " is already CAPTURED"));
+
+        mockMvc.perform(post("/holds/{id}/release", id.id()))
+            .andExpect(status().isBadRequest());
+    }
+}
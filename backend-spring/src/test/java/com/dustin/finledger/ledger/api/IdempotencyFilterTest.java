@@ -0,0 +1,151 @@
+package com.dustin.finledger.ledger.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.dustin.finledger.ledger.application.IdempotencyService;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService, JsonMapper.builder().build());
+    }
+
+    @Test
+    void shouldStoreResponseOfFirstRequest() throws Exception {
+        when(idempotencyService.begin(eq("k1"), anyString())).thenReturn(new IdempotencyService.Decision.Proceed());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("k1", "{\"a\":1}"), response, chain(201, "{\"id\":\"abc\"}"));
+
+        ArgumentCaptor<IdempotentResponse> stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyService).complete(eq("k1"), anyString(), stored.capture());
+        assertThat(stored.getValue().status()).isEqualTo(201);
+        assertThat(stored.getValue().location()).isEqualTo("/transactions/abc");
+        assertThat(stored.getValue().body()).isEqualTo("{\"id\":\"abc\"}");
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"abc\"}");
+    }
+
+    @Test
+    void shouldHashIdenticalRequestsIdentically() throws Exception {
+        ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+        when(idempotencyService.begin(eq("k1"), hashes.capture())).thenReturn(new IdempotencyService.Decision.InProgress());
+
+        filter.doFilter(request("k1", "{\"a\":1}"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("k1", "{\"a\":1}"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("k1", "{\"a\":2}"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(hashes.getAllValues().get(0)).isEqualTo(hashes.getAllValues().get(1));
+        assertThat(hashes.getAllValues().get(2)).isNotEqualTo(hashes.getAllValues().get(0));
+    }
+
+    @Test
+    void shouldReplayStoredResponse() throws Exception {
+        IdempotentResponse stored = new IdempotentResponse(201, "application/json", "/transactions/abc", "{\"id\":\"abc\"}");
+        when(idempotencyService.begin(eq("k1"), anyString())).thenReturn(new IdempotencyService.Decision.Replay(stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("k1", "{\"a\":1}"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader("Location")).isEqualTo("/transactions/abc");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"abc\"}");
+    }
+
+    @Test
+    void shouldRefuseKeyReusedForDifferentRequest() throws Exception {
+        when(idempotencyService.begin(eq("k1"), anyString())).thenReturn(new IdempotencyService.Decision.Mismatch());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("k1", "{\"a\":1}"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    void shouldReleaseKeyOnServerError() throws Exception {
+        when(idempotencyService.begin(eq("k1"), anyString())).thenReturn(new IdempotencyService.Decision.Proceed());
+
+        filter.doFilter(request("k1", "{}"), new MockHttpServletResponse(), chain(500, "{}"));
+
+        verify(idempotencyService).abandon("k1");
+    }
+
+    @Test
+    void shouldRejectOverlongKey() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("k".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), "{}"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        verifyNoInteractions(idempotencyService);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        MockHttpServletRequest request = request("k1", "{}");
+        request.removeHeader(IdempotencyFilter.HEADER);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockFilterChain chain(int status, String body) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+                response.setStatus(status);
+                response.setHeader("Location", "/transactions/abc");
+                response.setContentType("application/json");
+                response.getWriter().write(body);
+            }
+        });
+    }
+}
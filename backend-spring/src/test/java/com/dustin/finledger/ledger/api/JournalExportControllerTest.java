@@ -0,0 +1,132 @@
+package com.dustin.finledger.ledger.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.dustin.finledger.ledger.application.ExportJournalService;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+@WebMvcTest(JournalExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class JournalExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportJournalService exportJournalService;
+
+    private final JournalEntryId entryId = JournalEntryId.newId();
+    private final AccountId accountId = AccountId.newId();
+    private final Instant timestamp = Instant.parse("2025-01-15T10:00:00Z");
+
+    @Test
+    void export_shouldStreamNdjsonByDefault() throws Exception {
+        stubLines(line("Rent", EntrySide.DEBIT), line("Rent", EntrySide.CREDIT));
+
+        MvcResult result = mockMvc.perform(get("/transactions/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).as("export never times out").isLessThanOrEqualTo(0);
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"journal.ndjson\""))
+            .andExpect(content().string(allOf(
+                containsString("\"transactionId\":\"" + entryId.id() + "\""),
+                containsString("\"side\":\"DEBIT\""),
+                containsString("\"side\":\"CREDIT\""),
+                endsWith("}\n")
+            )));
+    }
+
+    @Test
+    void export_shouldStreamCsvWithQuotedFields() throws Exception {
+        stubLines(line("Rent, \"March\"", EntrySide.DEBIT));
+
+        MvcResult result = mockMvc.perform(get("/transactions/export")
+                .param("format", "csv")
+                .param("accountId", accountId.id().toString())
+                .param("from", "2025-01-01T00:00:00Z")
+                .param("to", "2025-02-01T00:00:00Z"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv"))
+            .andExpect(content().string(startsWith(
+                "transactionId,description,timestamp,lineId,accountId,amount,currency,side,occurredAt\r\n"
+                    + entryId.id() + ",\"Rent, \"\"March\"\"\"," + timestamp + ",")))
+            .andExpect(content().string(containsString(",125.50,USD,DEBIT,")));
+    }
+
+    @Test
+    void export_shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/transactions/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportJournalService);
+    }
+
+    @Test
+    void export_shouldRejectEmptyRange() throws Exception {
+        mockMvc.perform(get("/transactions/export")
+                .param("from", "2025-02-01T00:00:00Z")
+                .param("to", "2025-01-01T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportJournalService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubLines(PostedJournalLine... lines) {
+        doAnswer(invocation -> {
+            Consumer<PostedJournalLine> sink = invocation.getArgument(1);
+            for (PostedJournalLine line : lines) {
+                sink.accept(line);
+            }
+            return null;
+        }).when(exportJournalService).handle(any(), any(Consumer.class));
+    }
+
+    private PostedJournalLine line(String description, EntrySide side) {
+        return new PostedJournalLine(
+            entryId,
+            description,
+            timestamp,
+            JournalLineId.newId(),
+            accountId,
+            new BigDecimal("125.50"),
+            "USD",
+            side,
+            timestamp
+        );
+    }
+}
@@ -1,15 +1,20 @@
 package com.dustin.finledger.ledger.api;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Currency;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,18 +23,32 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.exceptions.OverloadedException;
+import com.dustin.finledger.ledger.api.dto.RecordTransactionBatchRequest;
 import com.dustin.finledger.ledger.api.dto.RecordTransactionRequest;
+import com.dustin.finledger.ledger.application.AsyncPostingService;
 import com.dustin.finledger.ledger.application.GetJournalEntryService;
+import com.dustin.finledger.ledger.application.RecordJournalEntryBatchService;
 import com.dustin.finledger.ledger.application.RecordJournalEntryService;
 import com.dustin.finledger.ledger.application.ReverseJournalEntryService;
+import com.dustin.finledger.ledger.application.dto.BatchEntryResult;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
+import com.dustin.finledger.ledger.application.dto.PostingStatus;
+import com.dustin.finledger.ledger.application.dto.PostingTicket;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.journal.EntrySide;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
-import com.dustin.finledger.ledger.domain.journal.JournalLine;
 import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryCursor;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
+import com.dustin.finledger.ledger.domain.repository.JournalLineView;
 
 import tools.jackson.databind.ObjectMapper;
 
@@ -49,6 +68,12 @@ class TransactionControllerTest {
     @MockitoBean
     private ReverseJournalEntryService reverseJournalEntryService;
 
+    @MockitoBean
+    private RecordJournalEntryBatchService recordJournalEntryBatchService;
+
+    @MockitoBean
+    private AsyncPostingService asyncPostingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -69,30 +94,92 @@ class TransactionControllerTest {
                 .andExpect(header().string("Location", "/transactions/" + id.id()));
     }
 
+    @Test
+    void recordTransaction_async_shouldReturn202WithStatusUrl() throws Exception {
+        PostingTicket ticket = PostingTicket.queued(UUID.randomUUID(), Instant.now());
+        when(asyncPostingService.submit(any())).thenReturn(ticket);
+
+        mockMvc.perform(post("/transactions").param("mode", "async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TestData.sampleTransactionRequest())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/transactions/status/" + ticket.ticket()))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.statusUrl").value("/transactions/status/" + ticket.ticket()));
+
+        verify(recordJournalEntryService, never()).handle(any());
+    }
+
+    @Test
+    void recordTransaction_async_whenQueueIsFull_shouldReturn503WithRetryAfter() throws Exception {
+        when(asyncPostingService.submit(any())).thenThrow(new OverloadedException("Posting queue is full", Duration.ofSeconds(1)));
+
+        mockMvc.perform(post("/transactions").param("mode", "async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TestData.sampleTransactionRequest())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("OVERLOADED"));
+    }
+
+    @Test
+    void recordTransaction_withUnknownMode_shouldReturn400() throws Exception {
+        mockMvc.perform(post("/transactions").param("mode", "later")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TestData.sampleTransactionRequest())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactionStatus_shouldReturnCurrentTicket() throws Exception {
+        JournalEntryId entryId = JournalEntryId.newId();
+        PostingTicket ticket = PostingTicket.queued(UUID.randomUUID(), Instant.now()).posted(entryId, Instant.now());
+        when(asyncPostingService.status(ticket.ticket())).thenReturn(ticket);
+
+        MvcResult result = mockMvc.perform(get("/transactions/status/{ticket}", ticket.ticket()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("POSTED"))
+                .andExpect(jsonPath("$.transactionId").value(entryId.id().toString()));
+    }
+
+    @Test
+    void getTransactionStatus_withWait_shouldLongPollForCompletion() throws Exception {
+        PostingTicket queued = PostingTicket.queued(UUID.randomUUID(), Instant.now());
+        CompletableFuture<PostingTicket> completion = new CompletableFuture<>();
+        when(asyncPostingService.awaitCompletion(queued.ticket(), Duration.ofSeconds(10))).thenReturn(completion);
+
+        MvcResult result = mockMvc.perform(get("/transactions/status/{ticket}", queued.ticket()).param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        completion.complete(queued.failed(PostingStatus.REJECTED, "Account not found", Instant.now()));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.error").value("Account not found"));
+    }
+
     @Test
     void getTransaction_shouldReturnTransactionResponse() throws Exception {
         UUID rawId = UUID.randomUUID();
 
         JournalEntryId journalEntryId = JournalEntryId.of(rawId);
 
-        JournalEntry entry = new JournalEntry(journalEntryId, "Test transaction");
-        JournalLine debit = new JournalLine(
-            JournalLineId.newId(),
-            AccountId.newId(),
-            new Money(new BigDecimal("100.00"), Currency.getInstance("USD")),
+        JournalEntryView entry = new JournalEntryView(
+            journalEntryId,
+            "Test transaction",
             Instant.now(),
-            EntrySide.DEBIT
+            true,
+            42L,
+            List.of(
+                new JournalLineView(JournalLineId.newId(), AccountId.newId(), new BigDecimal("100.00"), "USD", Instant.now(), EntrySide.DEBIT),
+                new JournalLineView(JournalLineId.newId(), AccountId.newId(), new BigDecimal("100.00"), "USD", Instant.now(), EntrySide.CREDIT)
+            )
         );
-        JournalLine credit = new JournalLine(
-            JournalLineId.newId(),
-            AccountId.newId(),
-            new Money(new BigDecimal("100.00"), Currency.getInstance("USD")),
-            Instant.now(),
-            EntrySide.CREDIT
-        );
-        entry.addLine(debit);
-        entry.addLine(credit);
-        entry.post();
 
         when(getJournalEntryService.handle(journalEntryId)).thenReturn(entry);
 
@@ -102,7 +189,17 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.description").value("Test transaction"))
                 .andExpect(jsonPath("$.lines[0].amount").value(100.00))
                 .andExpect(jsonPath("$.lines[0].currency").value("USD"))
-                .andExpect(jsonPath("$.posted").value(true));
+                .andExpect(jsonPath("$.posted").value(true))
+                .andExpect(jsonPath("$.sequence").value(42));
+    }
+
+    @Test
+    void getSequenceWatermark_shouldReturnWatermark() throws Exception {
+        when(getJournalEntryService.sequenceWatermark()).thenReturn(1234L);
+
+        mockMvc.perform(get("/transactions/sequence-watermark"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watermark").value(1234));
     }
 
     
@@ -123,6 +220,88 @@ class TransactionControllerTest {
                 .andExpect(header().string("Location", "/transactions/" + reversedId.id()));
     }
 
-    
-        
+    @Test
+    void recordTransactionBatch_shouldReturn200WithPerEntryResults() throws Exception {
+        JournalEntryId id = JournalEntryId.newId();
+
+        when(recordJournalEntryBatchService.handle(any()))
+                .thenReturn(new RecordJournalEntryBatchResult(
+                    BatchPostingMode.BEST_EFFORT,
+                    true,
+                    List.of(
+                        BatchEntryResult.posted(0, id),
+                        BatchEntryResult.rejected(1, new DomainException("Debits and credits must balance"))
+                    )
+                ));
+
+        RecordTransactionBatchRequest request = new RecordTransactionBatchRequest(
+                "BEST_EFFORT",
+                List.of(TestData.sampleTransactionRequest(), TestData.sampleTransactionRequest())
+        );
+
+        mockMvc.perform(post("/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.posted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("POSTED"))
+                .andExpect(jsonPath("$.results[0].id").value(id.id().toString()))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+    }
+
+    @Test
+    void recordTransactionBatch_shouldReturn400_whenAllOrNothingBatchIsAborted() throws Exception {
+        when(recordJournalEntryBatchService.handle(any()))
+                .thenReturn(new RecordJournalEntryBatchResult(
+                    BatchPostingMode.ALL_OR_NOTHING,
+                    false,
+                    List.of(
+                        BatchEntryResult.aborted(0),
+                        BatchEntryResult.rejected(1, new DomainException("Account not found"))
+                    )
+                ));
+
+        RecordTransactionBatchRequest request = new RecordTransactionBatchRequest(
+                null,
+                List.of(TestData.sampleTransactionRequest(), TestData.sampleTransactionRequest())
+        );
+
+        mockMvc.perform(post("/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.results[0].status").value("ABORTED"));
+    }
+
+    @Test
+    void getTransactions_shouldReturnPageWithOpaqueCursor() throws Exception {
+        JournalEntryCursor next = new JournalEntryCursor(Instant.parse("2026-01-01T00:00:00Z"), JournalEntryId.newId());
+
+        when(getJournalEntryService.handlePage(any()))
+                .thenReturn(new JournalEntryPage(List.of(), next, null));
+
+        String nextCursor = JournalEntryCursorCodec.encode(next);
+
+        mockMvc.perform(get("/transactions").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.previousCursor").doesNotExist());
+
+        when(getJournalEntryService.handlePage(argThat((JournalEntryPageRequest r) -> next.equals(r.after()))))
+                .thenReturn(new JournalEntryPage(List.of(), null, next));
+
+        mockMvc.perform(get("/transactions").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.previousCursor").value(nextCursor));
+    }
+
+    @Test
+    void getTransactions_shouldReturn400_whenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/transactions").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
 }
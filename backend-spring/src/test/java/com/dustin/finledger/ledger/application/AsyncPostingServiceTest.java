@@ -0,0 +1,155 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.exceptions.OverloadedException;
+import com.dustin.finledger.config.AsyncPostingProperties;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.PostingStatus;
+import com.dustin.finledger.ledger.application.dto.PostingTicket;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncPostingServiceTest {
+
+    @Mock
+    private RecordJournalEntryService recordJournalEntryService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncPostingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void submit_shouldReturnQueuedTicketThatCompletesAsPosted() throws Exception {
+        start(10, 1);
+        JournalEntryId id = JournalEntryId.newId();
+        when(recordJournalEntryService.handle(any())).thenReturn(id);
+
+        PostingTicket ticket = service.submit(command());
+
+        assertThat(ticket.status()).isEqualTo(PostingStatus.QUEUED);
+        PostingTicket done = service.awaitCompletion(ticket.ticket(), Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+        assertThat(done.status()).isEqualTo(PostingStatus.POSTED);
+        assertThat(done.entryId()).isEqualTo(id);
+        assertThat(done.completedAt()).isNotNull();
+        assertThat(service.status(ticket.ticket())).isEqualTo(done);
+        assertThat(meterRegistry.get("finledger.posting.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void businessRuleViolation_shouldMarkTicketRejectedWithReason() throws Exception {
+        start(10, 1);
+        when(recordJournalEntryService.handle(any())).thenThrow(new DomainException("Account is frozen"));
+
+        PostingTicket ticket = service.submit(command());
+        PostingTicket done = service.awaitCompletion(ticket.ticket(), Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+
+        assertThat(done.status()).isEqualTo(PostingStatus.REJECTED);
+        assertThat(done.error()).isEqualTo("Account is frozen");
+    }
+
+    @Test
+    void unexpectedFailure_shouldMarkTicketFailed() throws Exception {
+        start(10, 1);
+        when(recordJournalEntryService.handle(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        PostingTicket ticket = service.submit(command());
+        PostingTicket done = service.awaitCompletion(ticket.ticket(), Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+
+        assertThat(done.status()).isEqualTo(PostingStatus.FAILED);
+        assertThat(done.error()).doesNotContain("connection reset");
+    }
+
+    @Test
+    void fullQueue_shouldRefuseAndCountRejection() throws Exception {
+        start(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        when(recordJournalEntryService.handle(any())).thenAnswer(inv -> {
+            busy.countDown();
+            release.await();
+            return JournalEntryId.newId();
+        });
+
+        service.submit(command());
+        busy.await(5, TimeUnit.SECONDS);
+        PostingTicket waiting = service.submit(command());
+
+        assertThatThrownBy(() -> service.submit(command()))
+            .isInstanceOf(OverloadedException.class);
+        assertThat(meterRegistry.get("finledger.posting.queue.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("finledger.posting.queue.depth").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(service.awaitCompletion(waiting.ticket(), Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS).status())
+            .isEqualTo(PostingStatus.POSTED);
+    }
+
+    @Test
+    void awaitCompletion_shouldReturnCurrentStateWhenTheWaitRunsOut() throws Exception {
+        start(10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(recordJournalEntryService.handle(any())).thenAnswer(inv -> {
+            release.await();
+            return JournalEntryId.newId();
+        });
+
+        PostingTicket ticket = service.submit(command());
+        PostingTicket current = service.awaitCompletion(ticket.ticket(), Duration.ofMillis(50)).get(10, TimeUnit.SECONDS);
+
+        assertThat(current.status()).isEqualTo(PostingStatus.QUEUED);
+        release.countDown();
+    }
+
+    @Test
+    void status_forUnknownTicket_shouldThrowDomainException() {
+        start(10, 1);
+
+        assertThatThrownBy(() -> service.status(UUID.randomUUID()))
+            .isInstanceOf(DomainException.class)
+            .hasMessageContaining("Posting ticket not found");
+    }
+
+    private void start(int queueCapacity, int workers) {
+        service = new AsyncPostingService(recordJournalEntryService,
+            new AsyncPostingProperties(queueCapacity, workers, Duration.ofMinutes(1), 1000, Duration.ofSeconds(30)),
+            meterRegistry);
+        service.start();
+    }
+
+    private static RecordJournalEntryCommand command() {
+        return new RecordJournalEntryCommand("Sale", List.of(
+            new JournalLineCommand(AccountId.newId(), new BigDecimal("10.00"), "USD", "DEBIT", Instant.now()),
+            new JournalLineCommand(AccountId.newId(), new BigDecimal("10.00"), "USD", "CREDIT", Instant.now())
+        ));
+    }
+}
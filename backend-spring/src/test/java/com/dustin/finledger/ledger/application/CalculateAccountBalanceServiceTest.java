@@ -21,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.dustin.finledger.common.exceptions.DomainException;
 import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.application.dto.AccountBalance;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.account.AccountType;
@@ -36,6 +37,9 @@ class CalculateAccountBalanceServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private HoldService holdService;
+
     @InjectMocks
     private CalculateAccountBalanceService service;
 
@@ -60,16 +64,33 @@ class CalculateAccountBalanceServiceTest {
         when(journalEntryRepository.getAccountBalance(AccountId.of(usdAccountRawId), usdAccount.getCurrency()))
             .thenReturn(Money.of(new BigDecimal("500.00"), usdAccount.getCurrency()));
         
-        Money balance = service.handle(usdAccountRawId);
+        AccountBalance balance = service.handle(usdAccountRawId);
 
-        assertThat(balance.amount()).isEqualByComparingTo(new BigDecimal("500.00"));
-        assertThat(balance.currency()).isEqualTo(usdAccount.getCurrency());
+        assertThat(balance.ledger().amount()).isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(balance.ledger().currency()).isEqualTo(usdAccount.getCurrency());
+        assertThat(balance.pending().amount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(balance.available().amount()).isEqualByComparingTo(new BigDecimal("500.00"));
         verify(accountRepository, times(1)).getById(AccountId.of(usdAccountRawId));
         verify(journalEntryRepository, times(1))
             .getAccountBalance(AccountId.of(usdAccountRawId), usdAccount.getCurrency());
 
     }
 
+    @Test
+    void handle_shouldTakePendingHoldsOffAvailableBalance() {
+        when(accountRepository.getById(AccountId.of(usdAccountRawId)))
+            .thenReturn(Optional.of(usdAccount));
+        when(journalEntryRepository.getAccountBalance(AccountId.of(usdAccountRawId), usdAccount.getCurrency()))
+            .thenReturn(Money.of(new BigDecimal("500.00"), usdAccount.getCurrency()));
+        when(holdService.reservedMinorUnits(AccountId.of(usdAccountRawId))).thenReturn(12_550L);
+
+        AccountBalance balance = service.handle(usdAccountRawId);
+
+        assertThat(balance.ledger().amount()).isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(balance.pending().amount()).isEqualByComparingTo(new BigDecimal("125.50"));
+        assertThat(balance.available().amount()).isEqualByComparingTo(new BigDecimal("374.50"));
+    }
+
     @Test
     void handle_shouldThrow_whenAccountNotFound() {
         when(accountRepository.getById(AccountId.of(usdAccountRawId)))
@@ -4,16 +4,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.dustin.finledger.common.exceptions.DomainException;
 import com.dustin.finledger.ledger.application.dto.CreateAccountCommand;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 import com.dustin.finledger.ledger.domain.repository.AccountRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +35,9 @@ public class CreateAccountServiceTest {
         CreateAccountCommand command = new CreateAccountCommand(
             "Cash",
             "ASSET",
-            "USD"
+            "USD",
+            null,
+            null
         );
 
         AccountId id = service.handle(command);
@@ -40,4 +46,30 @@ public class CreateAccountServiceTest {
 
         verify(accountRepository, times(1)).save(any(Account.class));
     }
+
+    @Test
+    void handle_shouldApplyRequestedOverdraftPolicy() {
+        AccountId id = service.handle(new CreateAccountCommand("Wallet", "ASSET", "USD", "DENY", null));
+
+        ArgumentCaptor<Account> saved = ArgumentCaptor.forClass(Account.class);
+        verify(accountRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo(id);
+        assertThat(saved.getValue().getOverdraftPolicy()).isEqualTo(OverdraftPolicy.DENY);
+        assertThat(saved.getValue().getBalanceSlots()).isEqualTo(1);
+    }
+
+    @Test
+    void handle_shouldApplyRequestedBalanceSlots() {
+        service.handle(new CreateAccountCommand("Cash clearing", "ASSET", "USD", null, 16));
+
+        ArgumentCaptor<Account> saved = ArgumentCaptor.forClass(Account.class);
+        verify(accountRepository).save(saved.capture());
+        assertThat(saved.getValue().getBalanceSlots()).isEqualTo(16);
+    }
+
+    @Test
+    void handle_shouldRejectTooManyBalanceSlots() {
+        assertThatThrownBy(() -> service.handle(new CreateAccountCommand("Cash clearing", "ASSET", "USD", null, Account.MAX_BALANCE_SLOTS + 1)))
+            .isInstanceOf(DomainException.class);
+    }
 }
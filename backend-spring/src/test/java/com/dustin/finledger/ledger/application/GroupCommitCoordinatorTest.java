@@ -0,0 +1,205 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.config.GroupCommitProperties;
+import com.dustin.finledger.ledger.application.dto.BatchEntryResult;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalInvariantViolation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitCoordinatorTest {
+
+    @Mock
+    private RecordJournalEntryBatchService batchService;
+
+    @Mock
+    private RecordJournalEntryService singleService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GroupCommitCoordinator coordinator;
+
+    @AfterEach
+    void tearDown() {
+        if (coordinator != null) {
+            coordinator.close();
+        }
+    }
+
+    @Test
+    void postingsWithinTheWindow_shouldShareOneBatchInBestEffortMode() throws Exception {
+        start(Duration.ofMillis(300), 100);
+        when(batchService.handle(any())).thenAnswer(inv -> allPosted(inv.getArgument(0)));
+
+        List<CompletableFuture<JournalEntryId>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(coordinator.submit(command("Posting " + i)));
+        }
+
+        for (CompletableFuture<JournalEntryId> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+        }
+        ArgumentCaptor<RecordJournalEntryBatchCommand> captor = ArgumentCaptor.forClass(RecordJournalEntryBatchCommand.class);
+        verify(batchService).handle(captor.capture());
+        assertThat(captor.getValue().entries()).hasSize(3);
+        assertThat(captor.getValue().mode()).isEqualTo(BatchPostingMode.BEST_EFFORT);
+        assertThat(meterRegistry.get("finledger.group_commit.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void fullBatch_shouldFlushWithoutWaitingForTheWindow() throws Exception {
+        start(Duration.ofSeconds(30), 2);
+        when(batchService.handle(any())).thenAnswer(inv -> allPosted(inv.getArgument(0)));
+
+        CompletableFuture<JournalEntryId> first = coordinator.submit(command("A"));
+        CompletableFuture<JournalEntryId> second = coordinator.submit(command("B"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void rejectedPosting_shouldFailOnlyItsOwnCaller() throws Exception {
+        start(Duration.ofMillis(300), 100);
+        JournalEntryId postedId = JournalEntryId.newId();
+        when(batchService.handle(any())).thenReturn(new RecordJournalEntryBatchResult(
+            BatchPostingMode.BEST_EFFORT, true, List.of(
+                BatchEntryResult.posted(0, postedId),
+                BatchEntryResult.rejected(1, new DomainException("Account not found"))
+            )));
+
+        CompletableFuture<JournalEntryId> good = coordinator.submit(command("Good"));
+        CompletableFuture<JournalEntryId> bad = coordinator.submit(command("Bad"));
+
+        assertThat(good.get(5, TimeUnit.SECONDS)).isEqualTo(postedId);
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(DomainException.class)
+            .hasMessageContaining("Account not found");
+    }
+
+    @Test
+    void failedTransaction_shouldRetryEachPostingOnItsOwn() throws Exception {
+        start(Duration.ofMillis(300), 100);
+        RecordJournalEntryCommand good = command("Good");
+        RecordJournalEntryCommand bad = command("Bad");
+        JournalEntryId goodId = JournalEntryId.newId();
+        when(batchService.handle(any())).thenThrow(new IllegalStateException("constraint violation"));
+        when(singleService.handle(good)).thenReturn(goodId);
+        when(singleService.handle(bad)).thenThrow(new IllegalStateException("constraint violation"));
+
+        CompletableFuture<JournalEntryId> goodResult = coordinator.submit(good);
+        CompletableFuture<JournalEntryId> badResult = coordinator.submit(bad);
+
+        assertThat(goodResult.get(5, TimeUnit.SECONDS)).isEqualTo(goodId);
+        assertThatThrownBy(() -> badResult.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        verify(singleService, times(2)).handle(any());
+    }
+
+    @Test
+    void record_shouldRethrowTheCallersOwnException() {
+        start(Duration.ZERO, 100);
+        when(batchService.handle(any())).thenReturn(new RecordJournalEntryBatchResult(
+            BatchPostingMode.BEST_EFFORT, false, List.of(BatchEntryResult.rejected(0, new DomainException("Lines do not balance")))));
+
+        assertThatThrownBy(() -> coordinator.record(command("Unbalanced")))
+            .isInstanceOf(DomainException.class)
+            .hasMessage("Lines do not balance");
+    }
+
+    @Test
+    void record_shouldRethrowTheRejectionUnchanged_likeASinglePosting() {
+        start(Duration.ZERO, 100);
+        JournalInvariantViolation violation = new JournalInvariantViolation("Journal entry must have at least two lines");
+        when(batchService.handle(any())).thenReturn(new RecordJournalEntryBatchResult(
+            BatchPostingMode.BEST_EFFORT, false, List.of(BatchEntryResult.rejected(0, violation))));
+
+        assertThatThrownBy(() -> coordinator.record(command("One line"))).isSameAs(violation);
+    }
+
+    @Test
+    void submit_shouldCompleteEveryPosting_whenCloseRacesWithSubmitters() throws Exception {
+        lenient().when(batchService.handle(any())).thenAnswer(inv -> allPosted(inv.getArgument(0)));
+        for (int round = 0; round < 50; round++) {
+            start(Duration.ZERO, 100);
+            List<CompletableFuture<JournalEntryId>> results = new CopyOnWriteArrayList<>();
+            CountDownLatch ready = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                submitters.add(Thread.ofPlatform().start(() -> {
+                    ready.countDown();
+                    try {
+                        while (true) results.add(coordinator.submit(command("Race")));
+                    } catch (IllegalStateException shutDown) {
+                        // Rejected up front once the coordinator is closed.
+                    }
+                }));
+            }
+            ready.await();
+            coordinator.close();
+            for (Thread submitter : submitters) submitter.join();
+
+            for (CompletableFuture<JournalEntryId> result : results) {
+                // Posted or rejected as shut down, but never left pending.
+                result.handle((id, failure) -> id).get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void start(Duration window, int maxBatch) {
+        coordinator = new GroupCommitCoordinator(batchService, singleService,
+            new GroupCommitProperties(true, window, maxBatch, 1000), meterRegistry);
+        coordinator.start();
+    }
+
+    private static RecordJournalEntryBatchResult allPosted(RecordJournalEntryBatchCommand command) {
+        List<BatchEntryResult> results = new ArrayList<>();
+        for (int i = 0; i < command.entries().size(); i++) {
+            results.add(BatchEntryResult.posted(i, JournalEntryId.newId()));
+        }
+        return new RecordJournalEntryBatchResult(command.mode(), true, results);
+    }
+
+    private static RecordJournalEntryCommand command(String description) {
+        AccountId cash = AccountId.newId();
+        AccountId revenue = AccountId.newId();
+        return new RecordJournalEntryCommand(description, List.of(
+            new JournalLineCommand(cash, new BigDecimal("10.00"), "USD", "DEBIT", Instant.now()),
+            new JournalLineCommand(revenue, new BigDecimal("10.00"), "USD", "CREDIT", Instant.now())
+        ));
+    }
+}
@@ -0,0 +1,197 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.config.HoldProperties;
+import com.dustin.finledger.ledger.application.dto.CaptureHoldCommand;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.PlaceHoldCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldId;
+import com.dustin.finledger.ledger.domain.hold.HoldStatus;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.HoldRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private RecordJournalEntryService recordJournalEntryService;
+
+    private HoldService service;
+
+    private final Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+    private final AccountId merchant = AccountId.newId();
+
+    @BeforeEach
+    void setUp() {
+        HoldProperties properties = new HoldProperties(Duration.ofDays(7), Duration.ofDays(30), Duration.ofSeconds(1), 4);
+        service = new HoldService(holdRepository, accountRepository, new OverdraftGuard(journalEntryRepository, 16),
+            recordJournalEntryService, new InlineTransactionManager(), properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void place_shouldReserveFunds() {
+        walletBalance("100.00");
+
+        Hold hold = service.place(hold("40.00", null));
+
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.PENDING);
+        assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(4_000);
+        verify(holdRepository).insert(hold);
+    }
+
+    @Test
+    void place_shouldRefuseHoldBeyondAvailableBalance_whenOverdraftDenied() {
+        walletBalance("100.00");
+        service.place(hold("60.00", null));
+
+        assertThrows(DomainException.class, () -> service.place(hold("60.00", null)));
+        assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(6_000);
+    }
+
+    @Test
+    void release_shouldReturnFundsAndRefuseSecondRelease() {
+        walletBalance("100.00");
+        Hold hold = service.place(hold("40.00", null));
+        when(holdRepository.updateIfPending(any())).thenReturn(true);
+
+        Hold released = service.release(hold.getId());
+
+        assertThat(released.getStatus()).isEqualTo(HoldStatus.RELEASED);
+        assertThat(service.reservedMinorUnits(wallet.getId())).isZero();
+        when(holdRepository.getById(hold.getId())).thenReturn(Optional.of(released));
+        assertThrows(DomainException.class, () -> service.release(hold.getId()));
+    }
+
+    @Test
+    void capture_shouldPostEntryFromHoldAccountToCounterparty() {
+        walletBalance("100.00");
+        Hold hold = service.place(hold("40.00", null));
+        when(holdRepository.updateIfPending(any())).thenReturn(true);
+
+        Hold captured = service.capture(hold.getId(), new CaptureHoldCommand(merchant, new BigDecimal("25.00"), null));
+
+        ArgumentCaptor<RecordJournalEntryCommand> posted = ArgumentCaptor.forClass(RecordJournalEntryCommand.class);
+        ArgumentCaptor<JournalEntryId> entryId = ArgumentCaptor.forClass(JournalEntryId.class);
+        verify(recordJournalEntryService).handle(posted.capture(), entryId.capture());
+        assertThat(posted.getValue().lines()).extracting(JournalLineCommand::accountId, JournalLineCommand::side)
+            .containsExactly(
+                tuple(wallet.getId(), "CREDIT"),
+                tuple(merchant, "DEBIT"));
+        assertThat(posted.getValue().lines().get(0).amount()).isEqualByComparingTo("25.00");
+        assertThat(captured.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(captured.getCaptureEntryId()).isEqualTo(entryId.getValue());
+        assertThat(service.reservedMinorUnits(wallet.getId())).isZero();
+    }
+
+    @Test
+    void capture_shouldKeepHoldPending_whenPostingFails() {
+        walletBalance("100.00");
+        Hold hold = service.place(hold("40.00", null));
+        when(holdRepository.updateIfPending(any())).thenReturn(true);
+        when(recordJournalEntryService.handle(any(), any())).thenThrow(new DomainException("Account not found"));
+
+        assertThrows(DomainException.class,
+            () -> service.capture(hold.getId(), new CaptureHoldCommand(merchant, null, null)));
+
+        assertThat(service.get(hold.getId()).getStatus()).isEqualTo(HoldStatus.PENDING);
+        assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(4_000);
+    }
+
+    @Test
+    void capture_shouldNotPost_whenTheHoldIsNoLongerPending() {
+        walletBalance("100.00");
+        Hold hold = service.place(hold("40.00", null));
+        when(holdRepository.updateIfPending(any())).thenReturn(false);
+
+        assertThrows(DomainException.class,
+            () -> service.capture(hold.getId(), new CaptureHoldCommand(merchant, null, null)));
+
+        verify(recordJournalEntryService, never()).handle(any(), any());
+        assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(4_000);
+    }
+
+    @Test
+    void expireDue_shouldExpireHoldsWhoseDeadlinePassed() {
+        walletBalance("100.00");
+        Hold shortHold = service.place(hold("10.00", Duration.ofMinutes(5)));
+        service.place(hold("20.00", Duration.ofHours(5)));
+        when(holdRepository.updateIfPending(any())).thenReturn(true);
+
+        service.expireDue(Instant.now().plus(Duration.ofMinutes(6)));
+
+        ArgumentCaptor<Hold> updated = ArgumentCaptor.forClass(Hold.class);
+        verify(holdRepository).updateIfPending(updated.capture());
+        assertThat(updated.getValue().getId()).isEqualTo(shortHold.getId());
+        assertThat(updated.getValue().getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(2_000);
+    }
+
+    @Test
+    void start_shouldReloadPendingHolds() {
+        Instant now = Instant.now();
+        Hold pending = new Hold(HoldId.newId(), wallet.getId(),
+            Money.of("15.00", USD), "", now, now.plusSeconds(3600), HoldStatus.PENDING, null);
+        when(holdRepository.findAllPending()).thenReturn(List.of(pending));
+
+        service.start();
+        try {
+            assertThat(service.reservedMinorUnits(wallet.getId())).isEqualTo(1_500);
+            assertThat(service.get(pending.getId())).isSameAs(pending);
+        } finally {
+            service.close();
+        }
+    }
+
+    private void walletBalance(String amount) {
+        when(accountRepository.getById(wallet.getId())).thenReturn(Optional.of(wallet));
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of(amount, USD));
+    }
+
+    private PlaceHoldCommand hold(String amount, Duration expiresIn) {
+        return new PlaceHoldCommand(wallet.getId(), new BigDecimal(amount), "USD", "Card authorization", expiresIn);
+    }
+}
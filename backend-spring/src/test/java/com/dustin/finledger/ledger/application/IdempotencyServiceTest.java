@@ -0,0 +1,110 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.config.IdempotencyProperties;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyKeyRepository;
+import com.dustin.finledger.ledger.domain.repository.IdempotencyRecord;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final IdempotentResponse CREATED =
+        new IdempotentResponse(201, "application/json", "/transactions/abc", "{\"id\":\"abc\"}");
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties(Duration.ofHours(24), 1_000, 0.01, 100, Duration.ofHours(1));
+        service = new IdempotencyService(repository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void begin_shouldClaimUnseenKeyWithoutReadingTheTable() {
+        when(repository.claim(eq("k1"), eq("h1"), any(), any())).thenReturn(true);
+
+        assertThat(service.begin("k1", "h1")).isInstanceOf(IdempotencyService.Decision.Proceed.class);
+        verify(repository, never()).find(anyString());
+    }
+
+    @Test
+    void begin_shouldReplayCompletedResponseFromCache() {
+        when(repository.claim(eq("k1"), eq("h1"), any(), any())).thenReturn(true);
+        service.begin("k1", "h1");
+        service.complete("k1", "h1", CREATED);
+
+        IdempotencyService.Decision decision = service.begin("k1", "h1");
+
+        assertThat(decision).isEqualTo(new IdempotencyService.Decision.Replay(CREATED));
+        verify(repository, never()).find(anyString());
+    }
+
+    @Test
+    void begin_shouldRefuseCompletedKeyReusedForDifferentRequest() {
+        when(repository.claim(eq("k1"), eq("h1"), any(), any())).thenReturn(true);
+        service.begin("k1", "h1");
+        service.complete("k1", "h1", CREATED);
+
+        assertThat(service.begin("k1", "h2")).isInstanceOf(IdempotencyService.Decision.Mismatch.class);
+    }
+
+    @Test
+    void begin_shouldReportInProgressWhileTheFirstRequestRuns() {
+        when(repository.claim(eq("k1"), eq("h1"), any(), any())).thenReturn(true, false);
+        when(repository.find("k1")).thenReturn(Optional.of(
+            new IdempotencyRecord("k1", "h1", null, Instant.now().plusSeconds(60))));
+
+        service.begin("k1", "h1");
+
+        assertThat(service.begin("k1", "h1")).isInstanceOf(IdempotencyService.Decision.InProgress.class);
+    }
+
+    @Test
+    void begin_shouldReplayKeyCompletedByAnotherInstance() {
+        when(repository.claim(eq("k1"), eq("h1"), any(), any())).thenReturn(false);
+        when(repository.find("k1")).thenReturn(Optional.of(
+            new IdempotencyRecord("k1", "h1", CREATED, Instant.now().plusSeconds(60))));
+
+        assertThat(service.begin("k1", "h1")).isEqualTo(new IdempotencyService.Decision.Replay(CREATED));
+    }
+
+    @Test
+    void begin_shouldReclaimExpiredKey() {
+        when(repository.claim(eq("k1"), eq("h2"), any(), any())).thenReturn(false, true);
+        when(repository.find("k1")).thenReturn(Optional.of(
+            new IdempotencyRecord("k1", "h1", CREATED, Instant.now().minusSeconds(1))));
+
+        assertThat(service.begin("k1", "h2")).isInstanceOf(IdempotencyService.Decision.Proceed.class);
+        verify(repository).deleteIfExpired(eq("k1"), any());
+    }
+
+    @Test
+    void abandon_shouldReleaseKey() {
+        service.abandon("k1");
+
+        verify(repository).release("k1");
+    }
+}
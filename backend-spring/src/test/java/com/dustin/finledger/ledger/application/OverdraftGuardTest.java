@@ -0,0 +1,197 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OverdraftGuardTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    private final Account expense = new Account(AccountId.newId(), "Expense", AccountType.EXPENSE, USD);
+
+    @Test
+    void concurrentPostings_shouldNeverOverdrawDenyAccount() throws Exception {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("100.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads * 10; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+                    permit.check(spend(wallet, "1.00"));
+                    permit.posted();
+                    return true;
+                } catch (DomainException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int posted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) posted++;
+        }
+        executor.shutdown();
+
+        assertThat(posted).isEqualTo(100);
+    }
+
+    @Test
+    void check_shouldIgnoreAccountsThatAllowOverdraft() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD);
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            permit.check(spend(wallet, "1000.00"));
+        }
+    }
+
+    @Test
+    void check_shouldMeasureLiabilitiesOnTheCreditSide() {
+        Account loan = new Account(AccountId.newId(), "Loan", AccountType.LIABILITY, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(loan.getId(), USD)).thenReturn(Money.of("-50.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, loan))) {
+            JournalEntry repayment = entry(loan, "50.00", EntrySide.DEBIT);
+            permit.check(repayment);
+            assertThrows(DomainException.class,
+                () -> permit.check(entry(loan, "0.01", EntrySide.DEBIT)));
+        }
+    }
+
+    @Test
+    void posted_shouldNotReachBalanceView_whenPermitWasNotPosted() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("10.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            permit.check(spend(wallet, "10.00"));
+        }
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            permit.check(spend(wallet, "10.00"));
+        }
+    }
+
+    @Test
+    void check_shouldNotSpendFundsReservedByHolds() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("100.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+        guard.reserve(wallet, 6_000);
+
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            assertThrows(DomainException.class, () -> permit.check(spend(wallet, "40.01")));
+            permit.check(spend(wallet, "40.00"));
+        }
+    }
+
+    @Test
+    void reserve_shouldRefuseFundsAlreadySpentByPostings() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("100.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            permit.check(spend(wallet, "70.00"));
+            permit.posted();
+        }
+
+        assertThrows(DomainException.class, () -> guard.reserve(wallet, 3_001));
+        guard.reserve(wallet, 3_000);
+        assertThat(guard.reservedMinorUnits(wallet.getId())).isEqualTo(3_000);
+    }
+
+    @Test
+    void releaseOnCommit_shouldLetTheCaptureSpendItsOwnHold_andDropItOnCommit() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("100.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+        guard.reserve(wallet, 6_000);
+        guard.reserve(wallet, 3_000);
+
+        new TransactionTemplate(new InlineTransactionManager()).executeWithoutResult(status -> {
+            guard.releaseOnCommit(wallet.getId(), 6_000);
+            OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet));
+            assertThrows(DomainException.class, () -> permit.check(spend(wallet, "70.01")));
+            permit.check(spend(wallet, "70.00"));
+            permit.posted();
+        });
+
+        assertThat(guard.reservedMinorUnits(wallet.getId())).isEqualTo(3_000);
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            assertThrows(DomainException.class, () -> permit.check(spend(wallet, "0.01")));
+        }
+    }
+
+    @Test
+    void releaseOnCommit_shouldKeepTheReservation_whenTheTransactionRollsBack() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, USD, OverdraftPolicy.DENY);
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), USD)).thenReturn(Money.of("100.00", USD));
+        OverdraftGuard guard = new OverdraftGuard(journalEntryRepository, 16);
+        guard.reserve(wallet, 6_000);
+
+        new TransactionTemplate(new InlineTransactionManager()).executeWithoutResult(status -> {
+            guard.releaseOnCommit(wallet.getId(), 6_000);
+            status.setRollbackOnly();
+        });
+
+        assertThat(guard.reservedMinorUnits(wallet.getId())).isEqualTo(6_000);
+        try (OverdraftGuard.Permit permit = guard.lock(List.of(expense, wallet))) {
+            assertThrows(DomainException.class, () -> permit.check(spend(wallet, "40.01")));
+        }
+    }
+
+    private JournalEntry spend(Account wallet, String amount) {
+        return entry(wallet, amount, EntrySide.CREDIT);
+    }
+
+    private JournalEntry entry(Account account, String amount, EntrySide side) {
+        EntrySide other = side == EntrySide.DEBIT ? EntrySide.CREDIT : EntrySide.DEBIT;
+        JournalEntry entry = JournalEntry.create("Test");
+        entry.addLine(new JournalLine(JournalLineId.newId(), account.getId(), Money.of(new BigDecimal(amount), USD), Instant.now(), side));
+        entry.addLine(new JournalLine(JournalLineId.newId(), expense.getId(), Money.of(new BigDecimal(amount), USD), Instant.now(), other));
+        entry.post();
+        return entry;
+    }
+}
@@ -0,0 +1,178 @@
+package com.dustin.finledger.ledger.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.application.dto.BatchEntryStatus;
+import com.dustin.finledger.ledger.application.dto.BatchPostingMode;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryBatchResult;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RecordJournalEntryBatchServiceTest {
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private RecordJournalEntryBatchService service;
+
+    private final AccountId usdAccountId = AccountId.newId();
+
+    private Account usdAccount;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecordJournalEntryBatchService(journalEntryRepository, accountRepository, new OverdraftGuard(journalEntryRepository, 16));
+        usdAccount = new Account(
+            usdAccountId,
+            "Cash",
+            AccountType.ASSET,
+            Currency.getInstance("USD")
+        );
+    }
+
+    @Test
+    void handle_shouldSaveAllEntriesInOneCall_whenAllValid() {
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of(usdAccount));
+
+        RecordJournalEntryBatchCommand command = new RecordJournalEntryBatchCommand(
+            List.of(balanced("First"), balanced("Second"), balanced("Third")),
+            BatchPostingMode.ALL_OR_NOTHING
+        );
+
+        RecordJournalEntryBatchResult result = service.handle(command);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JournalEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(journalEntryRepository).saveAll(saved.capture());
+
+        assertThat(result.committed()).isTrue();
+        assertThat(result.postedCount()).isEqualTo(3);
+        assertThat(saved.getValue()).hasSize(3);
+        assertThat(result.results())
+            .extracting(r -> r.id())
+            .containsExactlyElementsOf(saved.getValue().stream().map(JournalEntry::getId).toList());
+        verify(journalEntryRepository, never()).save(any());
+        verify(accountRepository, times(1)).getAllByIds(any());
+    }
+
+    @Test
+    void handle_shouldSaveNothing_whenAllOrNothingAndOneEntryIsRejected() {
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of(usdAccount));
+
+        RecordJournalEntryBatchCommand command = new RecordJournalEntryBatchCommand(
+            List.of(balanced("Good"), unbalanced("Bad")),
+            BatchPostingMode.ALL_OR_NOTHING
+        );
+
+        RecordJournalEntryBatchResult result = service.handle(command);
+
+        assertThat(result.committed()).isFalse();
+        assertThat(result.results().get(0).status()).isEqualTo(BatchEntryStatus.ABORTED);
+        assertThat(result.results().get(1).status()).isEqualTo(BatchEntryStatus.REJECTED);
+        assertThat(result.results().get(1).error()).contains("Debits and credits must balance");
+        verify(journalEntryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void handle_shouldSaveValidEntries_whenBestEffortAndOneEntryIsRejected() {
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of(usdAccount));
+
+        RecordJournalEntryBatchCommand command = new RecordJournalEntryBatchCommand(
+            List.of(unbalanced("Bad"), balanced("Good")),
+            BatchPostingMode.BEST_EFFORT
+        );
+
+        RecordJournalEntryBatchResult result = service.handle(command);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JournalEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(journalEntryRepository).saveAll(saved.capture());
+
+        assertThat(result.committed()).isTrue();
+        assertThat(saved.getValue()).hasSize(1);
+        assertThat(result.results().get(0).status()).isEqualTo(BatchEntryStatus.REJECTED);
+        assertThat(result.results().get(1).status()).isEqualTo(BatchEntryStatus.POSTED);
+        assertThat(result.results().get(1).id()).isEqualTo(saved.getValue().get(0).getId());
+    }
+
+    @Test
+    void handle_shouldRejectEntryThatOverdrawsBalanceLeftByEarlierEntries_whenBestEffort() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, Currency.getInstance("USD"), OverdraftPolicy.DENY);
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of(usdAccount, wallet));
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), wallet.getCurrency()))
+            .thenReturn(Money.of("100.00", wallet.getCurrency()));
+
+        RecordJournalEntryBatchCommand command = new RecordJournalEntryBatchCommand(
+            List.of(spend(wallet, "60.00"), spend(wallet, "60.00"), spend(wallet, "40.00")),
+            BatchPostingMode.BEST_EFFORT
+        );
+
+        RecordJournalEntryBatchResult result = service.handle(command);
+
+        assertThat(result.results()).extracting(r -> r.status()).containsExactly(
+            BatchEntryStatus.POSTED, BatchEntryStatus.REJECTED, BatchEntryStatus.POSTED);
+        assertThat(result.results().get(1).error()).contains("overdraw");
+    }
+
+    private RecordJournalEntryCommand spend(Account wallet, String amount) {
+        return new RecordJournalEntryCommand("Spend", List.of(
+            line(amount, "DEBIT"),
+            new JournalLineCommand(wallet.getId(), new BigDecimal(amount), "USD", "CREDIT", Instant.now())
+        ));
+    }
+
+    private RecordJournalEntryCommand balanced(String description) {
+        return new RecordJournalEntryCommand(description, List.of(
+            line("100.00", "DEBIT"),
+            line("100.00", "CREDIT")
+        ));
+    }
+
+    private RecordJournalEntryCommand unbalanced(String description) {
+        return new RecordJournalEntryCommand(description, List.of(
+            line("100.00", "DEBIT"),
+            line("90.00", "CREDIT")
+        ));
+    }
+
+    private JournalLineCommand line(String amount, String side) {
+        return new JournalLineCommand(
+            usdAccountId,
+            new BigDecimal(amount),
+            "USD",
+            side,
+            Instant.now()
+        );
+    }
+}
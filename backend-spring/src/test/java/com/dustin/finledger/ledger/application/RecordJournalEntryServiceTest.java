@@ -1,7 +1,6 @@
 package com.dustin.finledger.ledger.application;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -9,23 +8,25 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
 import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
 import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
 import com.dustin.finledger.ledger.domain.journal.JournalInvariantViolation;
@@ -45,7 +46,6 @@ public class RecordJournalEntryServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
-    @InjectMocks
     private RecordJournalEntryService service;
 
     private final AccountId usdAccountId = AccountId.newId();
@@ -54,6 +54,7 @@ public class RecordJournalEntryServiceTest {
 
     @BeforeEach
     void setUp(){
+        service = new RecordJournalEntryService(journalEntryRepository, accountRepository, new OverdraftGuard(journalEntryRepository, 16));
         // MockitoAnnotations.openMocks(this);
         usdAccount = new Account(
             usdAccountId, 
@@ -65,8 +66,8 @@ public class RecordJournalEntryServiceTest {
 
     @Test
     void handle_shouldPostAndSaveTransaction_whenAllLinesValid() {
-        when(accountRepository.getById(eq(usdAccountId)))
-            .thenReturn(Optional.of(usdAccount));
+        when(accountRepository.getAllByIds(any()))
+            .thenReturn(List.of(usdAccount));
 
         JournalLineCommand debit = new JournalLineCommand(
             usdAccountId,
@@ -92,12 +93,13 @@ public class RecordJournalEntryServiceTest {
 
         assertThat(entryId).isNotNull();
         verify(journalEntryRepository, times(1)).save(any(JournalEntry.class));
-        verify(accountRepository, times(2)).getById(usdAccount.getId());
+        verify(accountRepository, times(1)).getAllByIds(Set.of(usdAccount.getId()));
+        verify(accountRepository, never()).getById(any());
     }
 
     @Test
     void handle_shouldThrow_whenAccountNotFound() {
-        when(accountRepository.getById(any())).thenReturn(Optional.empty());
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of());
 
         JournalLineCommand line = new JournalLineCommand(
             AccountId.newId(),
@@ -118,8 +120,8 @@ public class RecordJournalEntryServiceTest {
 
     @Test
     void handle_shouldThrow_whenCurrencyMismatch() {
-        when(accountRepository.getById(eq(usdAccountId)))
-            .thenReturn(Optional.of(usdAccount));
+        when(accountRepository.getAllByIds(any()))
+            .thenReturn(List.of(usdAccount));
         
         JournalLineCommand debit = new JournalLineCommand(
             usdAccountId,
@@ -148,8 +150,8 @@ public class RecordJournalEntryServiceTest {
 
     @Test
     void handle_shouldThrow_whenPostingUnbalancedTransaction() {
-        when(accountRepository.getById(usdAccount.getId()))
-            .thenReturn(Optional.of(usdAccount));
+        when(accountRepository.getAllByIds(any()))
+            .thenReturn(List.of(usdAccount));
 
         
         JournalLineCommand debit1 = new JournalLineCommand(
@@ -176,4 +178,76 @@ public class RecordJournalEntryServiceTest {
         verify(journalEntryRepository, never()).save(any());
 
     }
+
+    @Test
+    void handle_shouldResolveEachDistinctAccountOnce_whenLinesRepeatAccounts() {
+        AccountId expenseAccountId = AccountId.newId();
+        Account expenseAccount = new Account(
+            expenseAccountId,
+            "Payroll",
+            AccountType.EXPENSE,
+            Currency.getInstance("USD")
+        );
+        when(accountRepository.getAllByIds(any()))
+            .thenReturn(List.of(usdAccount, expenseAccount));
+
+        List<JournalLineCommand> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add(new JournalLineCommand(expenseAccountId, new BigDecimal("1.00"), "USD", "DEBIT", Instant.now()));
+        }
+        lines.add(new JournalLineCommand(usdAccountId, new BigDecimal("100.00"), "USD", "CREDIT", Instant.now()));
+
+        service.handle(new RecordJournalEntryCommand("Payroll run", lines));
+
+        verify(accountRepository, times(1)).getAllByIds(Set.of(expenseAccountId, usdAccountId));
+        verify(journalEntryRepository, times(1)).save(any(JournalEntry.class));
+    }
+
+    @Test
+    void handle_shouldThrow_whenAnyAccountCannotPost() {
+        usdAccount.freeze();
+        when(accountRepository.getAllByIds(any()))
+            .thenReturn(List.of(usdAccount));
+
+        JournalLineCommand debit = new JournalLineCommand(usdAccountId, new BigDecimal("10.00"), "USD", "DEBIT", Instant.now());
+        JournalLineCommand credit = new JournalLineCommand(usdAccountId, new BigDecimal("10.00"), "USD", "CREDIT", Instant.now());
+
+        assertThrows(DomainException.class,
+            () -> service.handle(new RecordJournalEntryCommand("Frozen", List.of(debit, credit))));
+        verify(journalEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void handle_shouldRejectPosting_whenDenyAccountWouldGoNegative() {
+        Account wallet = walletWithBalance("50.00");
+
+        assertThrows(DomainException.class, () -> service.handle(spend(wallet, "80.00")));
+        verify(journalEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void handle_shouldCheckLaterPostingsAgainstEarlierOnes_whenDenyAccount() {
+        Account wallet = walletWithBalance("100.00");
+
+        service.handle(spend(wallet, "60.00"));
+
+        assertThrows(DomainException.class, () -> service.handle(spend(wallet, "60.00")));
+        verify(journalEntryRepository, times(1)).save(any(JournalEntry.class));
+        verify(journalEntryRepository, times(1)).getAccountBalance(wallet.getId(), wallet.getCurrency());
+    }
+
+    private Account walletWithBalance(String balance) {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, Currency.getInstance("USD"), OverdraftPolicy.DENY);
+        when(accountRepository.getAllByIds(any())).thenReturn(List.of(wallet, usdAccount));
+        when(journalEntryRepository.getAccountBalance(wallet.getId(), wallet.getCurrency()))
+            .thenReturn(Money.of(balance, wallet.getCurrency()));
+        return wallet;
+    }
+
+    private RecordJournalEntryCommand spend(Account wallet, String amount) {
+        return new RecordJournalEntryCommand("Spend", List.of(
+            new JournalLineCommand(usdAccountId, new BigDecimal(amount), "USD", "DEBIT", Instant.now()),
+            new JournalLineCommand(wallet.getId(), new BigDecimal(amount), "USD", "CREDIT", Instant.now())
+        ));
+    }
 }
@@ -11,15 +11,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.dustin.finledger.common.exceptions.DomainException;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
 import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +29,16 @@ public class ReverseJournalEntryServiceTest {
     @Mock
     private JournalEntryRepository journalEntryRepository;
 
-    @InjectMocks
+    @Mock
+    private AccountRepository accountRepository;
+
     private ReverseJournalEntryService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new ReverseJournalEntryService(journalEntryRepository, accountRepository, new OverdraftGuard(journalEntryRepository, 16));
+    }
+
     @Test
     void handle_shouldReverseAndSave_whenEntryIsPosted() {
         JournalEntryId id = JournalEntryId.newId();
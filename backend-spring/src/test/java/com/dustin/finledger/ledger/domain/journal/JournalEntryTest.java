@@ -5,11 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -200,6 +204,28 @@ class JournalEntryTest {
         }
 
 
+        @Test
+        void post_succeedsWithExactTotals_whenEntryHasTensOfThousandsOfLines() {
+            int pairs = 25_000;
+            Currency usd = Currency.getInstance("USD");
+            AccountId payroll = AccountId.newId();
+            AccountId bank = AccountId.newId();
+
+            JournalEntry tx = JournalEntry.create("Payroll run");
+            assertTimeout(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < pairs; i++) {
+                    Money amount = new Money(new BigDecimal("1234.57"), usd);
+                    tx.addLine(new JournalLine(JournalLineId.newId(), payroll, amount, Instant.now(), EntrySide.DEBIT));
+                    tx.addLine(new JournalLine(JournalLineId.newId(), bank, amount, Instant.now(), EntrySide.CREDIT));
+                }
+                tx.post();
+            });
+
+            assertTrue(tx.isPosted());
+            assertEquals(new Money(new BigDecimal("30864250.00"), usd), tx.getTotalDebits());
+            assertEquals(tx.getTotalDebits(), tx.getTotalCredits());
+        }
+
         @Test
         void post_shouldThrowJournalInvariantViolation_whenEntryHasLessThanTwoLines() {
             JournalEntry tx = new JournalEntry(JournalEntryId.newId(), "Journal Entry with less than two lines");
@@ -288,6 +314,23 @@ class JournalEntryTest {
             assertEquals(new Money(new BigDecimal("150.00"), Currency.getInstance("USD")), totalCredits);
         }
 
+        @Test
+        void addLine_shouldLeaveEntryUnchanged_whenTotalsWouldOverflow() {
+            Currency usd = Currency.getInstance("USD");
+            Money half = new Money(new BigDecimal("50000000000000000.00"), usd);
+            JournalEntry tx = new JournalEntry(JournalEntryId.newId(), "Overflowing entry");
+            tx.addLine(new JournalLine(JournalLineId.newId(), AccountId.newId(), half, Instant.now(), EntrySide.DEBIT));
+            JournalLine overflowing = new JournalLine(JournalLineId.newId(), AccountId.newId(), half, Instant.now(), EntrySide.DEBIT);
+
+            assertThrows(ArithmeticException.class, () -> tx.addLine(overflowing));
+
+            assertEquals(1, tx.getLines().size());
+            assertEquals(half, tx.getTotalDebits());
+            tx.addLine(new JournalLine(overflowing.id(), AccountId.newId(), half, Instant.now(), EntrySide.CREDIT));
+            tx.post();
+            assertTrue(tx.isPosted());
+        }
+
         @Test
         void post_shouldThrowException_whenEntryHasNoLines(){
             JournalEntry tx = new JournalEntry(JournalEntryId.newId(), "Empty entry");
@@ -353,5 +396,66 @@ class JournalEntryTest {
         }
 
     }
-    
-}
\ No newline at end of file
+
+    @Nested
+    class ReconstituteTests {
+        @Test
+        void reconstitute_keepsStoredStateWithoutRevalidating() {
+            JournalEntryId id = JournalEntryId.newId();
+            Instant storedAt = Instant.parse("2024-03-01T12:00:00Z");
+            List<JournalLine> lines = List.of(
+                line(EntrySide.DEBIT, "100.00"),
+                line(EntrySide.CREDIT, "100.00")
+            );
+
+            JournalEntry tx = JournalEntry.reconstitute(id, "Stored", storedAt, lines, true);
+
+            assertEquals(id, tx.getId());
+            assertEquals("Stored", tx.getDescription());
+            assertEquals(storedAt, tx.getTimestamp());
+            assertEquals(lines, tx.getLines());
+            assertTrue(tx.isPosted());
+        }
+
+        @Test
+        void reconstitute_shouldRejectNewLines_whenPosted() {
+            JournalEntry tx = JournalEntry.reconstitute(
+                JournalEntryId.newId(),
+                "Stored",
+                Instant.now(),
+                new ArrayList<>(List.of(line(EntrySide.DEBIT, "5.00"), line(EntrySide.CREDIT, "5.00"))),
+                true
+            );
+
+            assertThrows(DomainException.class, () -> tx.addLine(line(EntrySide.DEBIT, "1.00")));
+            assertThrows(UnsupportedOperationException.class, () -> tx.getLines().add(line(EntrySide.DEBIT, "1.00")));
+        }
+
+        @Test
+        void reconstitute_shouldAllowAddingLines_whenDraft() {
+            JournalEntry tx = JournalEntry.reconstitute(
+                JournalEntryId.newId(),
+                "Draft",
+                Instant.now(),
+                List.of(line(EntrySide.DEBIT, "5.00")),
+                false
+            );
+
+            tx.addLine(line(EntrySide.CREDIT, "5.00"));
+            tx.post();
+
+            assertTrue(tx.isPosted());
+            assertEquals(2, tx.getLines().size());
+        }
+
+        private JournalLine line(EntrySide side, String amount) {
+            return new JournalLine(
+                JournalLineId.newId(),
+                AccountId.newId(),
+                new Money(new BigDecimal(amount), Currency.getInstance("USD")),
+                Instant.now(),
+                side
+            );
+        }
+    }
+}
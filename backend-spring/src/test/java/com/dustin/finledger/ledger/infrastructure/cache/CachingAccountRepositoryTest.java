@@ -0,0 +1,124 @@
+package com.dustin.finledger.ledger.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountRepositoryTest {
+
+    @Mock
+    private AccountRepository delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingAccountRepository repository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Cache<AccountId, CachedAccount> cache = CaffeineCacheMetrics.monitor(
+            meterRegistry,
+            Caffeine.newBuilder().maximumSize(100).recordStats().<AccountId, CachedAccount>build(),
+            "accounts"
+        );
+        repository = new CachingAccountRepository(delegate, cache);
+
+        account = new Account(AccountId.newId(), "Cash", AccountType.ASSET, Currency.getInstance("USD"));
+    }
+
+    @Test
+    void getById_shouldHitDelegateOnlyOnce_whenReadRepeatedly() {
+        when(delegate.getById(account.getId())).thenReturn(Optional.of(account));
+
+        repository.getById(account.getId());
+        repository.getById(account.getId());
+        Optional<Account> third = repository.getById(account.getId());
+
+        assertThat(third).get().usingRecursiveComparison().isEqualTo(account);
+        verify(delegate, times(1)).getById(account.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit").functionCounter().count())
+            .isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "miss").functionCounter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void getById_shouldNotCacheMissingAccounts() {
+        AccountId unknown = AccountId.newId();
+        when(delegate.getById(unknown)).thenReturn(Optional.empty());
+
+        repository.getById(unknown);
+        repository.getById(unknown);
+
+        verify(delegate, times(2)).getById(unknown);
+    }
+
+    @Test
+    void save_shouldInvalidateCachedAccount() {
+        Account frozen = new Account(account.getId(), "Cash", AccountType.ASSET, Currency.getInstance("USD"));
+        frozen.freeze();
+        when(delegate.getById(account.getId()))
+            .thenReturn(Optional.of(account))
+            .thenReturn(Optional.of(frozen));
+
+        repository.getById(account.getId());
+        repository.save(frozen);
+
+        assertThat(repository.getById(account.getId()).orElseThrow().getStatus())
+            .isEqualTo(AccountStatus.FROZEN);
+        verify(delegate).save(frozen);
+        verify(delegate, times(2)).getById(account.getId());
+    }
+
+    @Test
+    void getById_shouldHandOutCopies_soChangesAreNotSharedBeforeSave() {
+        when(delegate.getById(account.getId())).thenReturn(Optional.of(account));
+        repository.getById(account.getId());
+
+        Account first = repository.getById(account.getId()).orElseThrow();
+        first.freeze();
+        Account second = repository.getById(account.getId()).orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStatus()).isEqualTo(AccountStatus.OPEN);
+    }
+
+    @Test
+    void getAllByIds_shouldOnlyLoadAccountsMissingFromCache() {
+        Account savings = new Account(AccountId.newId(), "Savings", AccountType.ASSET, Currency.getInstance("USD"));
+        when(delegate.getById(account.getId())).thenReturn(Optional.of(account));
+        when(delegate.getAllByIds(Set.of(savings.getId()))).thenReturn(List.of(savings));
+
+        repository.getById(account.getId());
+        List<Account> result = repository.getAllByIds(List.of(account.getId(), savings.getId()));
+
+        assertThat(result).extracting(Account::getId).containsExactlyInAnyOrder(account.getId(), savings.getId());
+        verify(delegate).getAllByIds(Set.of(savings.getId()));
+    }
+}
@@ -0,0 +1,352 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.config.InMemoryLedgerProperties;
+import com.dustin.finledger.ledger.domain.account.Account;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
+import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+
+class InMemoryLedgerEngineTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @TempDir
+    Path dir;
+
+    private Path ledgerDir;
+    private InMemoryLedgerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ledgerDir = dir.resolve("ledger");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    @Test
+    void restart_shouldRecoverAccountsEntriesAndBalancesFromTheLog() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        JournalEntry entry = post(cash, revenue, "125.50");
+        cash.freeze();
+        new InMemoryAccountRepository(engine).save(cash);
+
+        crash();
+        start(1_000_000);
+
+        var accounts = new InMemoryAccountRepository(engine);
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThat(accounts.getById(cash.getId())).get()
+            .extracting(Account::getStatus).isEqualTo(AccountStatus.FROZEN);
+        assertThat(journal.getById(entry.getId())).get()
+            .satisfies(e -> {
+                assertThat(e.isPosted()).isTrue();
+                assertThat(e.getLines()).hasSize(2);
+            });
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("125.50", USD));
+        assertThat(journal.getAccountBalance(revenue.getId(), USD)).isEqualTo(Money.of("-125.50", USD));
+    }
+
+    @Test
+    void snapshot_shouldReplaceOlderSegmentsAndStillRecoverEverything() throws Exception {
+        start(4);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(post(cash, revenue, "1.00"));
+        }
+
+        crash();
+        assertThat(files("snapshot-")).isNotEmpty();
+        start(4);
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        var views = new InMemoryJournalEntryViewRepository(engine);
+        assertThat(views.findPostedPage(new JournalEntryPageRequest(cash.getId(), null, null, 100)).entries())
+            .extracting(v -> v.id())
+            .containsExactlyElementsOf(entries.stream().map(JournalEntry::getId).toList());
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("10.00", USD));
+    }
+
+    @Test
+    void restart_afterTwoCrashes_shouldKeepWritesAcknowledgedAfterATornRecord() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        JournalEntry before = post(cash, revenue, "1.00");
+        crash();
+        tearTail();
+
+        start(1_000_000);
+        JournalEntry after = post(cash, revenue, "2.00");
+        crash();
+        start(1_000_000);
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThat(journal.getById(before.getId())).isPresent();
+        assertThat(journal.getById(after.getId())).isPresent();
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("3.00", USD));
+    }
+
+    @Test
+    void close_shouldWriteAFinalSnapshotThatReopensWithoutReplay() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        post(cash, revenue, "3.00");
+        engine.close();
+
+        assertThat(files("snapshot-")).hasSize(1);
+        start(1_000_000);
+        assertThat(new InMemoryJournalEntryRepository(engine).getAccountBalance(cash.getId(), USD))
+            .isEqualTo(Money.of("3.00", USD));
+    }
+
+    @Test
+    void restart_afterCleanShutdown_shouldReuseTheCheckpointedBalanceIndex() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        post(cash, revenue, "2.50");
+        engine.close();
+        start(1_000_000);
+        post(cash, revenue, "1.00");
+
+        crash();
+        start(1_000_000);
+
+        assertThat(new InMemoryJournalEntryRepository(engine).getAccountBalance(cash.getId(), USD))
+            .isEqualTo(Money.of("3.50", USD));
+    }
+
+    @Test
+    void saveAll_shouldRejectTheWholeBatchWhenAnyEntryIsAlreadyRecorded() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        JournalEntry recorded = post(cash, revenue, "5.00");
+        JournalEntry fresh = entry(cash, revenue, "7.00");
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThatThrownBy(() -> journal.saveAll(List.of(fresh, recorded)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already recorded");
+
+        assertThat(journal.getById(fresh.getId())).isEmpty();
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("5.00", USD));
+    }
+
+    @Test
+    void saveAll_shouldRecoverAllOrNoneOfTheBatch_whenItsRecordIsTorn() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        JournalEntry recorded = post(cash, revenue, "5.00");
+        List<JournalEntry> batch = List.of(entry(cash, revenue, "1.00"), entry(cash, revenue, "2.00"), entry(cash, revenue, "3.00"));
+        new InMemoryJournalEntryRepository(engine).saveAll(batch);
+
+        crash();
+        tearLastRecord();
+        start(1_000_000);
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThat(journal.getById(recorded.getId())).isPresent();
+        assertThat(batch).allSatisfy(e -> assertThat(journal.getById(e.getId())).isEmpty());
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("5.00", USD));
+    }
+
+    @Test
+    void concurrentWriters_shouldAllBeRecorded() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            List<Future<JournalEntry>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(pool.submit(() -> post(cash, revenue, "1.00")));
+            }
+            for (Future<JournalEntry> future : futures) {
+                future.get();
+            }
+        }
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThat(engine.state().posted()).hasSize(200);
+        assertThat(journal.getAccountBalance(cash.getId(), USD)).isEqualTo(Money.of("200.00", USD));
+    }
+
+    @Test
+    void post_shouldNumberEntriesInLogOrderAcrossRestarts() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        JournalEntry first = post(cash, revenue, "1.00");
+        JournalEntry second = post(cash, revenue, "2.00");
+
+        crash();
+        start(1_000_000);
+        JournalEntry third = post(cash, revenue, "3.00");
+
+        var journal = new InMemoryJournalEntryRepository(engine);
+        assertThat(List.of(first, second, third)).extracting(JournalEntry::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(journal.getById(second.getId())).get().extracting(JournalEntry::getSequence).isEqualTo(2L);
+        assertThat(journal.getSequenceWatermark()).isEqualTo(3L);
+    }
+
+    @Test
+    void findPostedPage_shouldWalkForwardAndBackInPostingOrder() throws Exception {
+        start(1_000_000);
+        Account cash = saveAccount("Cash");
+        Account revenue = saveAccount("Revenue");
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(post(cash, revenue, "1.00"));
+            Thread.sleep(2);
+        }
+        var views = new InMemoryJournalEntryViewRepository(engine);
+
+        JournalEntryPage first = views.findPostedPage(new JournalEntryPageRequest(cash.getId(), null, null, 2));
+        JournalEntryPage second = views.findPostedPage(new JournalEntryPageRequest(cash.getId(), first.next(), null, 2));
+        JournalEntryPage back = views.findPostedPage(new JournalEntryPageRequest(cash.getId(), null, second.previous(), 2));
+
+        assertThat(first.entries()).extracting(v -> v.id()).containsExactly(entries.get(0).getId(), entries.get(1).getId());
+        assertThat(first.previous()).isNull();
+        assertThat(second.entries()).extracting(v -> v.id()).containsExactly(entries.get(2).getId(), entries.get(3).getId());
+        assertThat(back.entries()).extracting(v -> v.id()).containsExactly(entries.get(0).getId(), entries.get(1).getId());
+        assertThat(back.previous()).isNull();
+    }
+
+    private void start(long snapshotEvery) throws Exception {
+        engine = new InMemoryLedgerEngine(new InMemoryLedgerProperties(
+            ledgerDir, DataSize.ofKilobytes(4), 64, 16, snapshotEvery, 16));
+        engine.start();
+    }
+
+    /**
+     * Copies the ledger directory as it is on disk right now, which is what a
+     * crash would leave behind, then points the next {@link #start} at the copy.
+     * A background snapshot may delete files mid-copy; the copy is then retried.
+     */
+    private void crash() throws Exception {
+        Path image;
+        while (true) {
+            image = dir.resolve("crash-" + System.nanoTime());
+            Files.createDirectories(image);
+            try (Stream<Path> files = Files.list(ledgerDir)) {
+                for (Path p : files.toList()) {
+                    Files.copy(p, image.resolve(p.getFileName()));
+                }
+                break;
+            } catch (NoSuchFileException e) {
+                Thread.sleep(10);
+            }
+        }
+        engine.close();
+        engine = null;
+        ledgerDir = image;
+    }
+
+    /**
+     * Leaves a half-written record behind the last complete one in the newest
+     * WAL segment, as a crash in the middle of an append would.
+     */
+    private void tearTail() throws Exception {
+        try (FileChannel channel = FileChannel.open(newestSegment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            List<Long> records = recordOffsets(channel);
+            channel.write(ByteBuffer.allocate(8).putInt(64).putInt(0xBAD).flip(), records.getLast());
+        }
+    }
+
+    /**
+     * Corrupts the last complete record in the newest WAL segment, as if the
+     * crash had hit while it was being written.
+     */
+    private void tearLastRecord() throws Exception {
+        try (FileChannel channel = FileChannel.open(newestSegment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            List<Long> records = recordOffsets(channel);
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), records.get(records.size() - 2) + 9);
+        }
+    }
+
+    private Path newestSegment() throws Exception {
+        return files("wal-").stream().sorted().reduce((a, b) -> b).orElseThrow();
+    }
+
+    /** Start offsets of every record in a segment, followed by the end of the last one. */
+    private static List<Long> recordOffsets(FileChannel channel) throws Exception {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = 0;
+        while (channel.read(header.clear(), position) == 4 && header.getInt(0) != 0) {
+            offsets.add(position);
+            position += 8 + header.getInt(0);
+        }
+        offsets.add(position);
+        return offsets;
+    }
+
+    private List<Path> files(String prefix) throws Exception {
+        try (Stream<Path> files = Files.list(ledgerDir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private Account saveAccount(String name) {
+        Account account = Account.create(name, AccountType.ASSET, USD);
+        new InMemoryAccountRepository(engine).save(account);
+        return account;
+    }
+
+    private JournalEntry post(Account debit, Account credit, String amount) {
+        JournalEntry entry = entry(debit, credit, amount);
+        new InMemoryJournalEntryRepository(engine).save(entry);
+        return entry;
+    }
+
+    private static JournalEntry entry(Account debit, Account credit, String amount) {
+        JournalEntry entry = JournalEntry.create("Sale");
+        entry.addLine(new JournalLine(JournalLineId.newId(), debit.getId(), Money.of(amount, USD), Instant.now(), EntrySide.DEBIT));
+        entry.addLine(new JournalLine(JournalLineId.newId(), credit.getId(), Money.of(amount, USD), Instant.now(), EntrySide.CREDIT));
+        entry.post();
+        return entry;
+    }
+}
@@ -0,0 +1,113 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.dustin.finledger.common.exceptions.DomainException;
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.application.CalculateAccountBalanceService;
+import com.dustin.finledger.ledger.application.CreateAccountService;
+import com.dustin.finledger.ledger.application.GetJournalEntryService;
+import com.dustin.finledger.ledger.application.HoldService;
+import com.dustin.finledger.ledger.application.RecordJournalEntryService;
+import com.dustin.finledger.ledger.application.dto.CaptureHoldCommand;
+import com.dustin.finledger.ledger.application.dto.CreateAccountCommand;
+import com.dustin.finledger.ledger.application.dto.JournalLineCommand;
+import com.dustin.finledger.ledger.application.dto.PlaceHoldCommand;
+import com.dustin.finledger.ledger.application.dto.RecordJournalEntryCommand;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.repository.AccountRepository;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryRepository;
+
+@SpringBootTest
+@ActiveProfiles({"test", "in-memory"})
+class InMemoryLedgerProfileTest {
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void ledgerDirectory(DynamicPropertyRegistry registry) {
+        registry.add("finledger.in-memory.directory", () -> dir.toString());
+    }
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private CreateAccountService createAccountService;
+
+    @Autowired
+    private RecordJournalEntryService recordJournalEntryService;
+
+    @Autowired
+    private GetJournalEntryService getJournalEntryService;
+
+    @Autowired
+    private CalculateAccountBalanceService calculateAccountBalanceService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositories_shouldBeBackedByTheEngine() {
+        assertThat(accountRepository).isInstanceOf(InMemoryAccountRepository.class);
+        assertThat(journalEntryRepository).isInstanceOf(InMemoryJournalEntryRepository.class);
+    }
+
+    @Test
+    void recordJournalEntry_shouldWorkEndToEndThroughTheServices() {
+        AccountId cash = createAccountService.handle(new CreateAccountCommand("Cash", "ASSET", "USD", null, null));
+        AccountId revenue = createAccountService.handle(new CreateAccountCommand("Revenue", "REVENUE", "USD", null, null));
+
+        JournalEntryId id = recordJournalEntryService.handle(new RecordJournalEntryCommand("Sale", List.of(
+            new JournalLineCommand(cash, new BigDecimal("42.00"), "USD", "DEBIT", Instant.now()),
+            new JournalLineCommand(revenue, new BigDecimal("42.00"), "USD", "CREDIT", Instant.now())
+        )));
+
+        assertThat(getJournalEntryService.handle(id).lines()).hasSize(2);
+        assertThat(calculateAccountBalanceService.handle(cash.id()).ledger())
+            .isEqualTo(Money.of("42.00", Currency.getInstance("USD")));
+    }
+
+    @Test
+    void capture_shouldPostNothing_whenTheHoldWasSettledElsewhere() {
+        AccountId wallet = createAccountService.handle(new CreateAccountCommand("Wallet", "ASSET", "USD", null, null));
+        AccountId merchant = createAccountService.handle(new CreateAccountCommand("Merchant", "LIABILITY", "USD", null, null));
+        Hold hold = holdService.place(new PlaceHoldCommand(wallet, new BigDecimal("30.00"), "USD", "Card authorization", null));
+        // Another instance releases it; this one still has it as pending.
+        jdbcTemplate.update("UPDATE hold SET status = 'RELEASED' WHERE id = ?", hold.getId().id());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> holdService.capture(hold.getId(), new CaptureHoldCommand(merchant, null, null)))
+                .isInstanceOf(DomainException.class);
+        }
+
+        Money zero = Money.zero(Currency.getInstance("USD"));
+        assertThat(calculateAccountBalanceService.handle(wallet.id()).ledger()).isEqualTo(zero);
+        assertThat(calculateAccountBalanceService.handle(merchant.id()).ledger()).isEqualTo(zero);
+    }
+}
@@ -0,0 +1,122 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dustin.finledger.ledger.domain.account.AccountId;
+
+class MappedBalanceIndexTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void add_shouldAccumulateDebitsAndCreditsPerAccount() throws Exception {
+        AccountId cash = AccountId.newId();
+        AccountId fees = AccountId.newId();
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(dir.resolve("balances.idx"), 16)) {
+            index.add(cash, USD, 1_000, 0);
+            index.add(cash, USD, 0, 250);
+            index.add(fees, JPY, 0, 500);
+
+            assertThat(index.get(cash)).isEqualTo(new LedgerState.Balance(USD, 1_000, 250));
+            assertThat(index.get(fees)).isEqualTo(new LedgerState.Balance(JPY, 0, 500));
+            assertThat(index.get(AccountId.newId())).isNull();
+            assertThat(index.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void add_shouldGrowTheTableAndKeepEveryAccount() throws Exception {
+        List<AccountId> accounts = new ArrayList<>();
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(dir.resolve("balances.idx"), 16)) {
+            for (int i = 0; i < 1_000; i++) {
+                AccountId id = AccountId.newId();
+                accounts.add(id);
+                index.add(id, USD, i, 0);
+            }
+
+            assertThat(index.capacity()).isGreaterThanOrEqualTo(1_024);
+            for (int i = 0; i < accounts.size(); i++) {
+                assertThat(index.get(accounts.get(i)).debitMinor()).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    void open_shouldSeeTotalsWrittenBeforeClose() throws Exception {
+        AccountId cash = AccountId.newId();
+        Path file = dir.resolve("balances.idx");
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(file, 16)) {
+            for (int i = 0; i < 100; i++) {
+                index.add(AccountId.newId(), USD, 1, 0);
+            }
+            index.add(cash, USD, 42, 7);
+            index.checkpoint(9);
+        }
+
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(file, 16)) {
+            assertThat(index.checkpoint()).isEqualTo(9);
+            assertThat(index.size()).isEqualTo(101);
+            assertThat(index.get(cash)).isEqualTo(new LedgerState.Balance(USD, 42, 7));
+        }
+    }
+
+    @Test
+    void add_shouldClearTheCheckpointUntilTheNextOne() throws Exception {
+        Path file = dir.resolve("balances.idx");
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(file, 16)) {
+            index.checkpoint(3);
+            index.add(AccountId.newId(), USD, 1, 0);
+        }
+
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(file, 16)) {
+            assertThat(index.checkpoint()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void get_shouldNeverSeeAHalfWrittenSlot() throws Exception {
+        AccountId account = AccountId.newId();
+        try (MappedBalanceIndex index = MappedBalanceIndex.open(dir.resolve("balances.idx"), 16)) {
+            index.add(account, USD, 0, 0);
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicLong torn = new AtomicLong();
+
+            List<Thread> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(Thread.ofPlatform().start(() -> {
+                    while (!done.get()) {
+                        LedgerState.Balance balance = index.get(account);
+                        if (balance.debitMinor() != balance.creditMinor()) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            // Debits and credits move together, so a consistent read always sees them equal.
+            for (int i = 0; i < 200_000; i++) {
+                index.add(account, USD, 1, 1);
+            }
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertThat(torn.get()).isZero();
+            assertThat(index.get(account)).isEqualTo(new LedgerState.Balance(USD, 200_000, 200_000));
+        }
+    }
+}
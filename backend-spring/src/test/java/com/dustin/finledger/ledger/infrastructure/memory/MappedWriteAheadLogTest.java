@@ -0,0 +1,131 @@
+package com.dustin.finledger.ledger.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedWriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replay_shouldReturnRecordsInAppendOrderAcrossSegments() throws IOException {
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 64)) {
+            wal.open();
+            for (int i = 0; i < 10; i++) {
+                wal.append(record("record-" + i));
+            }
+            wal.force();
+        }
+
+        assertThat(segments()).hasSizeGreaterThan(1);
+        assertThat(replay(0)).containsExactly(
+            "record-0", "record-1", "record-2", "record-3", "record-4",
+            "record-5", "record-6", "record-7", "record-8", "record-9");
+    }
+
+    @Test
+    void replay_shouldSkipSegmentsBeforeTheRequestedSequence() throws IOException {
+        long rolledTo;
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.open();
+            wal.append(record("old"));
+            rolledTo = wal.roll();
+            wal.append(record("new"));
+            wal.force();
+        }
+
+        assertThat(replay(rolledTo)).containsExactly("new");
+    }
+
+    @Test
+    void replay_shouldStopAtATornRecord() throws IOException {
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.open();
+            wal.append(record("complete"));
+            wal.append(record("torn"));
+            wal.force();
+        }
+        // Flip a payload byte of the second record so its checksum no longer matches.
+        Path segment = segments().get(0);
+        int offset = 8 + "complete".length() + 8 + 1;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), offset);
+        }
+
+        assertThat(replay(0)).containsExactly("complete");
+    }
+
+    @Test
+    void replay_shouldDiscardATornTail_soSegmentsWrittenAfterRecoveryAreReplayed() throws IOException {
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.open();
+            wal.append(record("before"));
+            wal.append(record("torn"));
+            wal.force();
+        }
+        Path segment = segments().get(0);
+        int offset = 8 + "before".length() + 8 + 1;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), offset);
+        }
+
+        assertThat(replay(0)).containsExactly("before");
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.open();
+            wal.append(record("after"));
+            wal.force();
+        }
+
+        assertThat(replay(0)).containsExactly("before", "after");
+    }
+
+    @Test
+    void deleteSegmentsBefore_shouldRemoveOnlyOlderSegments() throws IOException {
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.open();
+            wal.append(record("a"));
+            long keep = wal.roll();
+            wal.append(record("b"));
+            wal.deleteSegmentsBefore(keep);
+        }
+
+        assertThat(segments()).hasSize(1);
+        assertThat(replay(0)).containsExactly("b");
+    }
+
+    private List<String> replay(long from) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (MappedWriteAheadLog wal = new MappedWriteAheadLog(dir, 1024)) {
+            wal.replay(from, buf -> {
+                byte[] bytes = new byte[buf.remaining()];
+                buf.get(bytes);
+                records.add(new String(bytes, StandardCharsets.UTF_8));
+            });
+        }
+        return records;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static ByteBuffer record(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountBalanceEntity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional
+class AccountBalanceVerificationJobTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaJournalEntryRepository repository;
+
+    private AccountBalanceVerificationJob job;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AccountId cashId = AccountId.newId();
+    private final AccountId revenueId = AccountId.newId();
+
+    @BeforeEach
+    void setUp() {
+        repository = new JpaJournalEntryRepository(em, TestSequencers.create(jdbcTemplate, transactionManager));
+        meterRegistry = new SimpleMeterRegistry();
+        job = new AccountBalanceVerificationJob(jdbcTemplate, meterRegistry);
+
+        JournalEntry entry = JournalEntry.create("Sale");
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            cashId,
+            Money.of(new BigDecimal("80.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.DEBIT
+        ));
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            revenueId,
+            Money.of(new BigDecimal("80.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.CREDIT
+        ));
+        entry.post();
+        repository.save(entry);
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void verify_shouldReportNoDrift_whenBalancesMatchJournal() {
+        List<AccountBalanceDrift> drifts = job.verify();
+
+        assertThat(drifts).isEmpty();
+        assertThat(meterRegistry.get("ledger.balance.drift").gauge().value()).isZero();
+    }
+
+    @Test
+    void verify_shouldReportDrift_whenStoredTotalsDiffer() {
+        em.createQuery("UPDATE AccountBalanceEntity b SET b.debitMinor = :debit WHERE b.accountId = :accountId")
+            .setParameter("debit", 7500L)
+            .setParameter("accountId", cashId.id())
+            .executeUpdate();
+        em.clear();
+
+        List<AccountBalanceDrift> drifts = job.verify();
+
+        assertThat(drifts).hasSize(1);
+        AccountBalanceDrift drift = drifts.get(0);
+        assertThat(drift.accountId()).isEqualTo(cashId.id());
+        assertThat(drift.journalDebitTotal()).isEqualByComparingTo("80.00");
+        assertThat(drift.storedDebitTotal()).isEqualByComparingTo("75.00");
+        assertThat(meterRegistry.get("ledger.balance.drift").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void verify_shouldReportBalances_withoutPostedLines() {
+        AccountId orphanId = AccountId.newId();
+        em.persist(new AccountBalanceEntity(orphanId.id(), 0, "USD", 0L, 1250L));
+        em.flush();
+        em.clear();
+
+        List<AccountBalanceDrift> drifts = job.verify();
+
+        assertThat(drifts).singleElement().satisfies(drift -> {
+            assertThat(drift.accountId()).isEqualTo(orphanId.id());
+            assertThat(drift.journalCreditTotal()).isEqualByComparingTo("0.00");
+            assertThat(drift.storedCreditTotal()).isEqualByComparingTo("12.50");
+        });
+    }
+
+    @Test
+    void verify_shouldAddUpBalanceSlots() {
+        jdbcTemplate.update("UPDATE account_balance SET debit_minor = debit_minor - 3000 WHERE account_id = ?", cashId.id());
+        em.persist(new AccountBalanceEntity(cashId.id(), 5, "USD", 3000L, 0L));
+        em.flush();
+        em.clear();
+
+        assertThat(job.verify()).isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.dustin.finledger.ledger.infrastructure.persistence;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
 import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -26,13 +29,16 @@ class AccountJpaRepositoryTest {
     @Autowired
     private SpringDataAccountRepository springDataRepo;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private AccountJpaRepository repository;
 
     private Account testAccount;
 
     @BeforeEach
     void setUp() {
-        repository = new AccountJpaRepository(springDataRepo);
+        repository = new AccountJpaRepository(springDataRepo, jdbcTemplate);
 
         testAccount = new Account(
             AccountId.newId(),
@@ -54,7 +60,15 @@ class AccountJpaRepositoryTest {
         assertThat(retrieved.getName()).isEqualTo("Cash");
         assertThat(retrieved.getType()).isEqualTo(AccountType.ASSET);
         assertThat(retrieved.getCurrency()).isEqualTo(Currency.getInstance("USD"));
+        assertThat(retrieved.getOverdraftPolicy()).isEqualTo(OverdraftPolicy.ALLOW);
+    }
 
+    @Test
+    void save_shouldPersistOverdraftPolicy() {
+        Account wallet = new Account(AccountId.newId(), "Wallet", AccountType.ASSET, Currency.getInstance("USD"), OverdraftPolicy.DENY);
+        repository.save(wallet);
+
+        assertThat(repository.getById(wallet.getId()).orElseThrow().getOverdraftPolicy()).isEqualTo(OverdraftPolicy.DENY);
     }
 
     @Test
@@ -64,4 +78,42 @@ class AccountJpaRepositoryTest {
 
         assertThat(retrieved).isEmpty();
     }
+
+    @Test
+    void getAllByIds_shouldReturnOnlyExistingAccounts() {
+        Account savings = new Account(
+            AccountId.newId(),
+            "Savings",
+            AccountType.ASSET,
+            Currency.getInstance("USD")
+        );
+        repository.save(testAccount);
+        repository.save(savings);
+
+        List<Account> retrieved = repository.getAllByIds(
+            List.of(testAccount.getId(), savings.getId(), testAccount.getId(), AccountId.newId())
+        );
+
+        assertThat(retrieved)
+            .extracting(Account::getId)
+            .containsExactlyInAnyOrder(testAccount.getId(), savings.getId());
+    }
+
+    @Test
+    void save_shouldCreateOneBalanceRowPerSlot_onlyForNewAccounts() {
+        Account hot = new Account(AccountId.newId(), "Clearing", AccountType.ASSET, Currency.getInstance("USD"), OverdraftPolicy.ALLOW, 3);
+
+        repository.save(hot);
+        hot.freeze();
+        repository.save(hot);
+
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT slot FROM account_balance WHERE account_id = ? ORDER BY slot", Integer.class, hot.getId().id()))
+            .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void getAllByIds_shouldReturnEmpty_whenNoIdsGiven() {
+        assertThat(repository.getAllByIds(List.of())).isEmpty();
+    }
 }
@@ -0,0 +1,68 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.hold.Hold;
+import com.dustin.finledger.ledger.domain.hold.HoldStatus;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JdbcHoldRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcHoldRepository repository;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private final Currency jpy = Currency.getInstance("JPY");
+
+    @BeforeEach
+    void setUp() {
+        repository = new JdbcHoldRepository(jdbcTemplate);
+    }
+
+    @Test
+    void insertAndGetById_shouldRoundTripHold() {
+        Hold hold = Hold.place(AccountId.newId(), Money.of("1250", jpy), "Card authorization", now, now.plusSeconds(600));
+
+        repository.insert(hold);
+
+        Hold loaded = repository.getById(hold.getId()).orElseThrow();
+        assertThat(loaded.getAccountId()).isEqualTo(hold.getAccountId());
+        assertThat(loaded.getAmount()).isEqualTo(hold.getAmount());
+        assertThat(loaded.getExpiresAt()).isEqualTo(hold.getExpiresAt());
+        assertThat(loaded.getStatus()).isEqualTo(HoldStatus.PENDING);
+    }
+
+    @Test
+    void updateIfPending_shouldChangeStatusOnlyOnce() {
+        Hold hold = Hold.place(AccountId.newId(), Money.of("1250", jpy), "", now, now.plusSeconds(600));
+        repository.insert(hold);
+        JournalEntryId entryId = JournalEntryId.newId();
+
+        assertThat(repository.updateIfPending(hold.captured(entryId))).isTrue();
+        assertThat(repository.updateIfPending(hold.released())).isFalse();
+
+        Hold loaded = repository.getById(hold.getId()).orElseThrow();
+        assertThat(loaded.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(loaded.getCaptureEntryId()).isEqualTo(entryId);
+        assertThat(repository.findAllPending()).extracting(Hold::getId).doesNotContain(hold.getId());
+    }
+}
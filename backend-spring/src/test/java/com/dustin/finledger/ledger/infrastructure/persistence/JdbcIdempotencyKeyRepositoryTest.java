@@ -0,0 +1,83 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dustin.finledger.ledger.domain.repository.IdempotencyRecord;
+import com.dustin.finledger.ledger.domain.repository.IdempotentResponse;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JdbcIdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcIdempotencyKeyRepository repository;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    void setUp() {
+        repository = new JdbcIdempotencyKeyRepository(jdbcTemplate);
+    }
+
+    @Test
+    void claim_shouldSucceedOnlyOncePerKey() {
+        assertThat(repository.claim("k1", "h1", now, now.plusSeconds(60))).isTrue();
+        assertThat(repository.claim("k1", "h2", now, now.plusSeconds(60))).isFalse();
+
+        IdempotencyRecord record = repository.find("k1").orElseThrow();
+        assertThat(record.requestHash()).isEqualTo("h1");
+        assertThat(record.response()).isNull();
+        assertThat(record.expiresAt()).isEqualTo(now.plusSeconds(60));
+    }
+
+    @Test
+    void complete_shouldStoreResponse() {
+        repository.claim("k1", "h1", now, now.plusSeconds(60));
+        IdempotentResponse response = new IdempotentResponse(201, "application/json", "/transactions/abc", "x".repeat(10_000));
+
+        repository.complete("k1", response);
+
+        assertThat(repository.find("k1").orElseThrow().response()).isEqualTo(response);
+    }
+
+    @Test
+    void release_shouldDropOnlyIncompleteClaims() {
+        repository.claim("pending", "h1", now, now.plusSeconds(60));
+        repository.claim("done", "h1", now, now.plusSeconds(60));
+        repository.complete("done", new IdempotentResponse(201, null, null, null));
+
+        repository.release("pending");
+        repository.release("done");
+
+        assertThat(repository.find("pending")).isEmpty();
+        assertThat(repository.find("done")).isPresent();
+    }
+
+    @Test
+    void deleteExpired_shouldKeepActiveKeys() {
+        repository.claim("old", "h1", now.minusSeconds(120), now.minusSeconds(60));
+        repository.claim("new", "h1", now, now.plusSeconds(60));
+
+        assertThat(repository.deleteExpired(now)).isEqualTo(1);
+
+        List<String> active = new ArrayList<>();
+        repository.forEachActiveKey(now, active::add);
+        assertThat(active).containsExactly("new");
+    }
+}
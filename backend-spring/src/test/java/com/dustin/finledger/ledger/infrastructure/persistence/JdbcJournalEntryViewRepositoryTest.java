@@ -0,0 +1,185 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryView;
+import com.dustin.finledger.ledger.domain.repository.JournalLineView;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JdbcJournalEntryViewRepositoryTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JpaJournalEntryRepository journalEntryRepository;
+    private JdbcJournalEntryViewRepository repository;
+
+    private final AccountId cash = AccountId.newId();
+
+    @BeforeEach
+    void setUp() {
+        journalEntryRepository = new JpaJournalEntryRepository(em, TestSequencers.create(jdbcTemplate, transactionManager));
+        repository = new JdbcJournalEntryViewRepository(jdbcTemplate);
+    }
+
+    @Test
+    void findById_shouldReturnEntryWithLinesInInsertionOrder() {
+        AccountId revenue = AccountId.newId();
+        JournalEntry entry = balancedEntry("Sale", cash, revenue);
+        journalEntryRepository.save(entry);
+        em.flush();
+
+        JournalEntryView view = repository.findById(entry.getId()).orElseThrow();
+
+        assertThat(view.id()).isEqualTo(entry.getId());
+        assertThat(view.description()).isEqualTo("Sale");
+        assertThat(view.posted()).isTrue();
+        assertThat(view.lines()).extracting(JournalLineView::id)
+            .containsExactlyElementsOf(entry.getLines().stream().map(JournalLine::id).toList());
+        assertThat(view.lines().get(0).accountId()).isEqualTo(cash);
+        assertThat(view.lines().get(0).side()).isEqualTo(EntrySide.DEBIT);
+        assertThat(view.lines().get(0).amount()).isEqualTo(new BigDecimal("10.00"));
+        assertThat(view.lines().get(1).accountId()).isEqualTo(revenue);
+    }
+
+    @Test
+    void findById_shouldKeepInsertionOrder_whenLineIdsSortTheOtherWay() {
+        JournalEntry entry = JournalEntry.create("Random ids");
+        JournalLineId later = new JournalLineId(UUID.randomUUID());
+        JournalLineId earlier = new JournalLineId(new UUID(later.id().getMostSignificantBits() + 1, 0));
+        entry.addLine(new JournalLine(earlier, cash, Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.DEBIT));
+        entry.addLine(new JournalLine(later, AccountId.newId(), Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.CREDIT));
+        entry.post();
+        journalEntryRepository.save(entry);
+        em.flush();
+        em.clear();
+
+        assertThat(repository.findById(entry.getId()).orElseThrow().lines())
+            .extracting(JournalLineView::id).containsExactly(earlier, later);
+        assertThat(journalEntryRepository.getById(entry.getId()).orElseThrow().getLines())
+            .extracting(JournalLine::id).containsExactly(earlier, later);
+    }
+
+    @Test
+    void findById_shouldReturnDraftWithoutLines() {
+        JournalEntry draft = JournalEntry.create("Draft");
+        journalEntryRepository.save(draft);
+        em.flush();
+
+        JournalEntryView view = repository.findById(draft.getId()).orElseThrow();
+
+        assertThat(view.posted()).isFalse();
+        assertThat(view.lines()).isEmpty();
+    }
+
+    @Test
+    void findById_shouldReturnEmpty_whenEntryDoesNotExist() {
+        assertThat(repository.findById(JournalEntryId.newId())).isEmpty();
+    }
+
+    @Test
+    void findPostedPage_shouldWalkForwardAndBackwardWithoutGapsOrDuplicates() {
+        List<JournalEntry> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            JournalEntry entry = balancedEntry("Entry " + i, cash, AccountId.newId());
+            journalEntryRepository.save(entry);
+            saved.add(entry);
+        }
+        em.flush();
+
+        JournalEntryPage first = repository.findPostedPage(new JournalEntryPageRequest(null, null, null, 2));
+        JournalEntryPage second = repository.findPostedPage(new JournalEntryPageRequest(null, first.next(), null, 2));
+        JournalEntryPage third = repository.findPostedPage(new JournalEntryPageRequest(null, second.next(), null, 2));
+
+        List<JournalEntryView> walked = new ArrayList<>();
+        walked.addAll(first.entries());
+        walked.addAll(second.entries());
+        walked.addAll(third.entries());
+
+        assertThat(walked).extracting(JournalEntryView::id)
+            .containsExactlyElementsOf(saved.stream().map(JournalEntry::getId).toList());
+        assertThat(first.previous()).isNull();
+        assertThat(third.next()).isNull();
+        assertThat(third.entries()).hasSize(1);
+
+        JournalEntryPage back = repository.findPostedPage(new JournalEntryPageRequest(null, null, third.previous(), 2));
+        assertThat(back.entries()).extracting(JournalEntryView::id)
+            .containsExactlyElementsOf(second.entries().stream().map(JournalEntryView::id).toList());
+        assertThat(back.previous()).isNotNull();
+    }
+
+    @Test
+    void findPostedPage_shouldOnlyReturnEntriesTouchingAccount_whenAccountGiven() {
+        AccountId other = AccountId.newId();
+        JournalEntry mine = balancedEntry("Mine", cash, other);
+        JournalEntry notMine = balancedEntry("Not mine", other, AccountId.newId());
+        JournalEntry alsoMine = balancedEntry("Also mine", cash, cash);
+        journalEntryRepository.save(mine);
+        journalEntryRepository.save(notMine);
+        journalEntryRepository.save(alsoMine);
+        journalEntryRepository.save(JournalEntry.create("Draft"));
+        em.flush();
+
+        JournalEntryPage page = repository.findPostedPage(new JournalEntryPageRequest(cash, null, null, 10));
+
+        assertThat(page.entries()).extracting(JournalEntryView::description)
+            .containsExactly("Mine", "Also mine");
+        assertThat(page.entries().get(1).lines()).hasSize(2);
+        assertThat(page.next()).isNull();
+    }
+
+    private JournalEntry balancedEntry(String description, AccountId debitAccount, AccountId creditAccount) {
+        JournalEntry entry = JournalEntry.create(description);
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            debitAccount,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.DEBIT
+        ));
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            creditAccount,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.CREDIT
+        ));
+        entry.post();
+        return entry;
+    }
+}
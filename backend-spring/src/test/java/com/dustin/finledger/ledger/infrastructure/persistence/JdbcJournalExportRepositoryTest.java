@@ -0,0 +1,151 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalExportFilter;
+import com.dustin.finledger.ledger.domain.repository.PostedJournalLine;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JdbcJournalExportRepositoryTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JpaJournalEntryRepository journalEntryRepository;
+    private JdbcJournalExportRepository repository;
+
+    private final AccountId cash = AccountId.newId();
+    private final AccountId revenue = AccountId.newId();
+
+    @BeforeEach
+    void setUp() {
+        journalEntryRepository = new JpaJournalEntryRepository(em, TestSequencers.create(jdbcTemplate, transactionManager));
+        repository = new JdbcJournalExportRepository(jdbcTemplate);
+    }
+
+    @Test
+    void streamPostedLines_shouldEmitPostedLinesInPostingOrder() {
+        JournalEntry first = balancedEntry("First, with a comma", cash, revenue);
+        JournalEntry second = balancedEntry("Second", cash, revenue);
+        JournalEntry draft = JournalEntry.create("Draft");
+        journalEntryRepository.save(first);
+        journalEntryRepository.save(second);
+        journalEntryRepository.save(draft);
+        em.flush();
+
+        List<PostedJournalLine> lines = new ArrayList<>();
+        repository.streamPostedLines(new JournalExportFilter(null, null, null), lines::add);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines).extracting(PostedJournalLine::entryId)
+            .containsExactly(first.getId(), first.getId(), second.getId(), second.getId());
+        assertThat(lines.get(0).description()).isEqualTo("First, with a comma");
+        assertThat(lines.get(0).amount()).isEqualByComparingTo("10.00");
+        assertThat(lines.get(0).currency()).isEqualTo("USD");
+    }
+
+    @Test
+    void streamPostedLines_shouldApplyAccountAndTimeFilters() throws InterruptedException {
+        JournalEntry mine = balancedEntry("Mine", cash, revenue);
+        Thread.sleep(5); // keep the two entries well apart at the column's microsecond precision
+        JournalEntry other = balancedEntry("Other", AccountId.newId(), revenue);
+        journalEntryRepository.save(mine);
+        journalEntryRepository.save(other);
+        em.flush();
+
+        List<PostedJournalLine> byAccount = new ArrayList<>();
+        repository.streamPostedLines(new JournalExportFilter(cash, null, null), byAccount::add);
+
+        assertThat(byAccount).singleElement()
+            .satisfies(line -> {
+                assertThat(line.entryId()).isEqualTo(mine.getId());
+                assertThat(line.side()).isEqualTo(EntrySide.DEBIT);
+            });
+
+        List<PostedJournalLine> afterEverything = new ArrayList<>();
+        repository.streamPostedLines(
+            new JournalExportFilter(null, other.getTimestamp().plusSeconds(1), null),
+            afterEverything::add
+        );
+        assertThat(afterEverything).isEmpty();
+
+        List<PostedJournalLine> upToOther = new ArrayList<>();
+        repository.streamPostedLines(
+            new JournalExportFilter(null, mine.getTimestamp().minusMillis(1), other.getTimestamp().minusMillis(1)),
+            upToOther::add
+        );
+        assertThat(upToOther).extracting(PostedJournalLine::entryId)
+            .containsOnly(mine.getId());
+    }
+
+    @Test
+    void streamPostedLines_shouldStopReadingWhenConsumerFails() {
+        for (int i = 0; i < 5; i++) {
+            journalEntryRepository.save(balancedEntry("Entry " + i, cash, revenue));
+        }
+        em.flush();
+
+        List<PostedJournalLine> seen = new ArrayList<>();
+        assertThatThrownBy(() -> repository.streamPostedLines(
+            new JournalExportFilter(null, null, null),
+            line -> {
+                seen.add(line);
+                throw new IllegalStateException("client went away");
+            }
+        )).isInstanceOf(IllegalStateException.class);
+
+        assertThat(seen).hasSize(1);
+    }
+
+    private JournalEntry balancedEntry(String description, AccountId debitAccount, AccountId creditAccount) {
+        JournalEntry entry = JournalEntry.create(description);
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            debitAccount,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.DEBIT
+        ));
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            creditAccount,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.CREDIT
+        ));
+        entry.post();
+        return entry;
+    }
+}
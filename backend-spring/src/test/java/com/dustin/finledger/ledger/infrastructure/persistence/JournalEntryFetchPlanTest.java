@@ -0,0 +1,155 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.common.money.Money;
+import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.journal.EntrySide;
+import com.dustin.finledger.ledger.domain.journal.JournalEntry;
+import com.dustin.finledger.ledger.domain.journal.JournalEntryId;
+import com.dustin.finledger.ledger.domain.journal.JournalLine;
+import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPage;
+import com.dustin.finledger.ledger.domain.repository.JournalEntryPageRequest;
+import com.dustin.finledger.ledger.infrastructure.persistence.entity.JournalEntryEntity;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pins the number of SQL statements a journal read issues, so an entry and
+ * its lines always load together in one query, and a page of the listing in
+ * two whatever its size or depth.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JournalEntryFetchPlanTest {
+
+    private static final int ENTRY_COUNT = 20;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaJournalEntryRepository repository;
+    private JdbcJournalEntryViewRepository viewRepository;
+    private Statistics statistics;
+    private JournalEntryId first;
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final AccountId cash = AccountId.newId();
+    private final AccountId revenue = AccountId.newId();
+
+    @BeforeEach
+    void setUp() {
+        repository = new JpaJournalEntryRepository(em, TestSequencers.create(jdbcTemplate, transactionManager));
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        // Every query(sql, args...) variant ends up here.
+        viewRepository = new JdbcJournalEntryViewRepository(new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse) {
+                queries.incrementAndGet();
+                return super.query(psc, pss, rse);
+            }
+        });
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            JournalEntry entry = balancedEntry("Entry " + i);
+            repository.save(entry);
+            if (i == 0) {
+                first = entry.getId();
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getById_shouldLoadEntryAndLinesInOneStatement() {
+        JournalEntry entry = repository.getById(first).orElseThrow();
+
+        assertThat(entry.getLines()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findPostedPage_shouldIssueTwoStatementsPerPage() {
+        JournalEntryPage page = viewRepository.findPostedPage(new JournalEntryPageRequest(null, null, null, ENTRY_COUNT / 2));
+        assertThat(page.entries()).hasSize(ENTRY_COUNT / 2);
+        assertThat(queries).hasValue(2);
+
+        queries.set(0);
+        JournalEntryPage next = viewRepository.findPostedPage(new JournalEntryPageRequest(null, page.next(), null, ENTRY_COUNT / 2));
+        assertThat(next.entries()).isNotEmpty();
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void findPostedPage_shouldIssueTwoStatementsPerPage_whenFilteredByAccount() {
+        JournalEntryPage page = viewRepository.findPostedPage(new JournalEntryPageRequest(cash, null, null, ENTRY_COUNT / 2));
+        assertThat(page.entries()).hasSize(ENTRY_COUNT / 2);
+        assertThat(queries).hasValue(2);
+
+        queries.set(0);
+        JournalEntryPage next = viewRepository.findPostedPage(new JournalEntryPageRequest(cash, page.next(), null, ENTRY_COUNT / 2));
+        assertThat(next.entries()).hasSize(ENTRY_COUNT / 2).allSatisfy(entry -> assertThat(entry.lines()).hasSize(2));
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void reads_shouldLoadEntitiesReadOnly() {
+        JournalEntry entry = repository.getById(first).orElseThrow();
+
+        Session session = em.unwrap(Session.class);
+        JournalEntryEntity loaded = session.getReference(JournalEntryEntity.class, entry.getId().id());
+
+        assertThat(session.isReadOnly(loaded)).isTrue();
+        assertThat(loaded.getLines()).allSatisfy(line -> assertThat(session.isReadOnly(line)).isTrue());
+    }
+
+    private JournalEntry balancedEntry(String description) {
+        JournalEntry entry = JournalEntry.create(description);
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            cash,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.DEBIT
+        ));
+        entry.addLine(new JournalLine(
+            JournalLineId.newId(),
+            revenue,
+            Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.CREDIT
+        ));
+        entry.post();
+        return entry;
+    }
+}
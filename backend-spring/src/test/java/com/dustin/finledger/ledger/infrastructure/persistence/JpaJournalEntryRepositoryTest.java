@@ -1,28 +1,46 @@
 package com.dustin.finledger.ledger.infrastructure.persistence;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.dustin.finledger.common.money.Money;
 import com.dustin.finledger.ledger.domain.account.Account;
 import com.dustin.finledger.ledger.domain.account.AccountId;
+import com.dustin.finledger.ledger.domain.account.AccountStatus;
 import com.dustin.finledger.ledger.domain.account.AccountType;
+import com.dustin.finledger.ledger.domain.account.OverdraftPolicy;
 import com.dustin.finledger.ledger.domain.journal.EntrySide;
 import com.dustin.finledger.ledger.domain.journal.JournalEntry;
 import com.dustin.finledger.ledger.domain.journal.JournalLine;
 import com.dustin.finledger.ledger.domain.journal.JournalLineId;
+import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountBalanceEntity;
+import com.dustin.finledger.ledger.infrastructure.persistence.entity.AccountEntity;
 
 import jakarta.persistence.EntityManager;
 
@@ -35,13 +53,19 @@ class JpaJournalEntryRepositoryTest {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private JpaJournalEntryRepository repository;
 
     private Account testAccount;
 
     @BeforeEach
     void setUp() {
-        repository = new JpaJournalEntryRepository(em);
+        repository = new JpaJournalEntryRepository(em, TestSequencers.create(jdbcTemplate, transactionManager));
 
         testAccount = new Account(
             AccountId.newId(),
@@ -84,61 +108,24 @@ class JpaJournalEntryRepositoryTest {
 
         assertThat(retrieved.getId()).isEqualTo(entry.getId());
         assertThat(retrieved.getLines()).hasSize(2);
+        assertThat(retrieved.isPosted()).isTrue();
+        assertThat(retrieved.getSequence()).isNotNull().isEqualTo(entry.getSequence());
+        assertThat(retrieved.getTimestamp()).isCloseTo(entry.getTimestamp(), within(1, ChronoUnit.MICROS));
     }
 
     @Test
-    void findAllPostedByAccountId_shouldReturnOnlyPostedEntriedForAccount() {
-        JournalEntry posted = JournalEntry.create("Posted Entry");
-        JournalEntry unposted = JournalEntry.create("Unposted Entry");
-
-    
-        JournalLine debitEntry1 = new JournalLine(
-            JournalLineId.newId(),
-            testAccount.getId(),
-            Money.of(new BigDecimal("100.00"), Currency.getInstance("USD")),
-            Instant.now(),
-            EntrySide.DEBIT
-        );
-        JournalLine creditEntry1 = new JournalLine(
-            JournalLineId.newId(),
-            testAccount.getId(),
-            Money.of(new BigDecimal("100.00"), Currency.getInstance("USD")),
-            Instant.now(),
-            EntrySide.CREDIT
-        );
-
-        posted.addLine(debitEntry1);
-        posted.addLine(creditEntry1);
-        posted.post();
-
-
-        JournalLine debitEntry2 = new JournalLine(
-            JournalLineId.newId(),
-            testAccount.getId(),
-            Money.of(new BigDecimal("50.00"), Currency.getInstance("USD")),
-            Instant.now(),
-            EntrySide.DEBIT
-        );
-        JournalLine creditEntry2 = new JournalLine(
-            JournalLineId.newId(),
-            testAccount.getId(),
-            Money.of(new BigDecimal("50.00"), Currency.getInstance("USD")),
-            Instant.now(),
-            EntrySide.CREDIT
-        );
-        
-        unposted.addLine(debitEntry2);
-        unposted.addLine(creditEntry2);
-
-        repository.save(posted);
-        repository.save(unposted);
-
+    void getById_shouldKeepStoredTimestamp_whenLoadedLater() throws InterruptedException {
+        JournalEntry entry = JournalEntry.create("Stored earlier");
+        repository.save(entry);
         em.flush();
         em.clear();
 
-        List<JournalEntry> results = repository.findAllPostedByAccountId(testAccount.getId());
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).getDescription()).isEqualTo("Posted Entry");
+        Thread.sleep(5);
+        JournalEntry retrieved = repository.getById(entry.getId()).orElseThrow();
+
+        assertThat(retrieved.getSequence()).as("draft entries are not numbered").isNull();
+        assertThat(retrieved.getTimestamp()).isBefore(Instant.now().minusMillis(4));
+        assertThat(retrieved.getTimestamp()).isCloseTo(entry.getTimestamp(), within(1, ChronoUnit.MICROS));
     }
 
     @Test
@@ -183,4 +170,174 @@ class JpaJournalEntryRepositoryTest {
         assertThat(balance.amount()).isEqualByComparingTo("0.00");
         assertThat(balance.currency()).isEqualTo(testAccount.getCurrency());
     }
+
+    @Test
+    void saveAll_shouldPersistEveryEntryAcrossFlushIntervals() {
+        List<JournalEntry> entries = new ArrayList<>();
+        int count = JpaJournalEntryRepository.FLUSH_INTERVAL + 5;
+
+        for (int i = 0; i < count; i++) {
+            JournalEntry entry = JournalEntry.create("Batch " + i);
+            entry.addLine(new JournalLine(
+                JournalLineId.newId(),
+                testAccount.getId(),
+                Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+                Instant.now(),
+                EntrySide.DEBIT
+            ));
+            entry.addLine(new JournalLine(
+                JournalLineId.newId(),
+                testAccount.getId(),
+                Money.of(new BigDecimal("10.00"), Currency.getInstance("USD")),
+                Instant.now(),
+                EntrySide.CREDIT
+            ));
+            entry.post();
+            entries.add(entry);
+        }
+
+        repository.saveAll(entries);
+
+        em.flush();
+        em.clear();
+
+        assertThat(entries).allSatisfy(entry -> assertThat(repository.getById(entry.getId())).isPresent());
+    }
+
+    @Test
+    void getAccountBalance_shouldReflectPostingsAndReversals() {
+        AccountId revenueId = AccountId.newId();
+        JournalEntry sale = JournalEntry.create("Sale");
+        sale.addLine(new JournalLine(
+            JournalLineId.newId(),
+            testAccount.getId(),
+            Money.of(new BigDecimal("250.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.DEBIT
+        ));
+        sale.addLine(new JournalLine(
+            JournalLineId.newId(),
+            revenueId,
+            Money.of(new BigDecimal("250.00"), Currency.getInstance("USD")),
+            Instant.now(),
+            EntrySide.CREDIT
+        ));
+        sale.post();
+
+        repository.save(sale);
+        em.flush();
+        em.clear();
+
+        assertThat(repository.getAccountBalance(testAccount.getId(), testAccount.getCurrency()).amount())
+            .isEqualByComparingTo("250.00");
+        assertThat(repository.getAccountBalance(revenueId, testAccount.getCurrency()).amount())
+            .isEqualByComparingTo("-250.00");
+
+        repository.save(sale.reverse());
+        em.flush();
+        em.clear();
+
+        assertThat(repository.getAccountBalance(testAccount.getId(), testAccount.getCurrency()).amount())
+            .isEqualByComparingTo("0.00");
+        assertThat(repository.getAccountBalance(revenueId, testAccount.getCurrency()).amount())
+            .isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void getAccountBalance_shouldSumBalanceSlots() {
+        AccountId hotId = AccountId.newId();
+        em.persist(new AccountEntity(hotId.id(), "Cash clearing", AccountType.ASSET, "USD", AccountStatus.OPEN, OverdraftPolicy.ALLOW, 8));
+        em.flush();
+
+        JournalEntry sale = JournalEntry.create("Sale");
+        sale.addLine(new JournalLine(JournalLineId.newId(), hotId,
+            Money.of(new BigDecimal("40.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.DEBIT));
+        sale.addLine(new JournalLine(JournalLineId.newId(), testAccount.getId(),
+            Money.of(new BigDecimal("40.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.CREDIT));
+        sale.post();
+        repository.save(sale);
+
+        // What other workers would have left on their slots.
+        int mine = JpaJournalEntryRepository.slotFor(8);
+        em.persist(new AccountBalanceEntity(hotId.id(), (mine + 1) % 8, "USD", 2500L, 0L));
+        em.persist(new AccountBalanceEntity(hotId.id(), (mine + 2) % 8, "USD", 0L, 500L));
+        em.flush();
+        em.clear();
+
+        assertThat(repository.getAccountBalance(hotId, Currency.getInstance("USD")).amount())
+            .isEqualByComparingTo("60.00");
+        assertThat(em.createQuery("SELECT b.slot FROM AccountBalanceEntity b WHERE b.accountId = :id", Integer.class)
+            .setParameter("id", hotId.id())
+            .getResultList()).contains(mine);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void save_shouldNotDeadlock_whenConcurrentTransfersRunInOppositeDirections() throws Exception {
+        AccountId a = AccountId.newId();
+        AccountId b = AccountId.newId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int transfers = 50;
+        // As account creation does, so the workers only race on row locks, not on the first insert.
+        for (AccountId account : List.of(a, b)) {
+            jdbcTemplate.update("""
+                INSERT INTO account_balance (account_id, slot, currency, debit_minor, credit_minor, version)
+                VALUES (?, 0, 'USD', 0, 0, 0)
+                """, account.id());
+        }
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (AccountId[] direction : new AccountId[][] { { a, b }, { b, a } }) {
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < transfers; i++) {
+                        tx.executeWithoutResult(status -> repository.save(transfer("Transfer " + a.id(), direction[0], direction[1])));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get(60, TimeUnit.SECONDS);
+            }
+
+            assertThat(repository.getAccountBalance(a, Currency.getInstance("USD")).amount()).isEqualByComparingTo("0.00");
+            assertThat(repository.getAccountBalance(b, Currency.getInstance("USD")).amount()).isEqualByComparingTo("0.00");
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(60, TimeUnit.SECONDS);
+            List<Object> ids = List.of(a.id(), b.id());
+            jdbcTemplate.update("DELETE FROM account_balance WHERE account_id IN (?, ?)", ids.toArray());
+            jdbcTemplate.update("DELETE FROM journal_line WHERE account_id IN (?, ?)", ids.toArray());
+            jdbcTemplate.update("DELETE FROM journal_entry WHERE description = ?", "Transfer " + a.id());
+        }
+    }
+
+    private static JournalEntry transfer(String description, AccountId from, AccountId to) {
+        JournalEntry entry = JournalEntry.create(description);
+        entry.addLine(new JournalLine(JournalLineId.newId(), from,
+            Money.of(new BigDecimal("1.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.DEBIT));
+        entry.addLine(new JournalLine(JournalLineId.newId(), to,
+            Money.of(new BigDecimal("1.00"), Currency.getInstance("USD")), Instant.now(), EntrySide.CREDIT));
+        entry.post();
+        return entry;
+    }
+
+    @Test
+    void slotFor_shouldSpreadThreadsOverSlots() throws InterruptedException {
+        assertThat(JpaJournalEntryRepository.slotFor(1)).isZero();
+
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < 64; i++) {
+            Thread thread = Thread.ofPlatform().start(() -> {
+                synchronized (slots) {
+                    slots.add(JpaJournalEntryRepository.slotFor(8));
+                }
+            });
+            thread.join();
+        }
+
+        assertThat(slots).hasSizeGreaterThan(4).allSatisfy(slot -> assertThat(slot).isBetween(0, 7));
+    }
 }
@@ -0,0 +1,139 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks the query plans of the ledger's hot queries against the indexes
+ * created in the Flyway migrations.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class LedgerIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void accountStatementQuery_shouldUseAccountStatementIndex() {
+        String plan = explain("""
+            SELECT jl.journal_entry_id
+            FROM journal_line jl
+            WHERE jl.account_id = ?
+            AND jl.posted = TRUE
+            ORDER BY jl.entry_created_at, jl.journal_entry_id
+            """, UUID.randomUUID());
+
+        assertThat(plan).containsIgnoringCase("IX_JOURNAL_LINE_ACCOUNT_STATEMENT");
+    }
+
+    @Test
+    void accountTotalsQuery_shouldBeCoveredByTotalsIndex() {
+        String plan = explain("""
+            SELECT COALESCE(SUM(jl.amount_minor), 0)
+            FROM journal_line jl
+            WHERE jl.account_id = ?
+            AND jl.posted = TRUE
+            AND jl.currency = 'USD'
+            AND jl.side = 'DEBIT'
+            """, UUID.randomUUID());
+
+        // All four filter columns must be conditions on the index, not filters applied after it.
+        Matcher index = Pattern.compile("/\\* PUBLIC\\.IX_JOURNAL_LINE_ACCOUNT_TOTALS: (.*?)\\*/", Pattern.DOTALL).matcher(plan);
+        assertThat(index.find()).as(plan).isTrue();
+        assertThat(index.group(1))
+            .contains("ACCOUNT_ID = ?1", "POSTED = TRUE", "CURRENCY = 'USD'", "SIDE = 'DEBIT'");
+    }
+
+    @Test
+    void journalExportQuery_shouldStreamOffPostedCreatedIndex() {
+        String plan = explain("""
+            SELECT jl.id, jl.journal_entry_id, jl.amount_minor
+            FROM journal_line jl
+            WHERE jl.posted = TRUE
+            ORDER BY jl.entry_created_at, jl.journal_entry_id, jl.id
+            """);
+
+        assertThat(plan).containsIgnoringCase("IX_JOURNAL_LINE_POSTED_CREATED");
+    }
+
+    @Test
+    void entryLinesQuery_shouldUseEntryIndex() {
+        String plan = explain("""
+            SELECT jl.id, jl.account_id, jl.amount_minor
+            FROM journal_line jl
+            WHERE jl.journal_entry_id = ?
+            """, UUID.randomUUID());
+
+        // H2 already backs the foreign key with its own index; either one is an index lookup.
+        assertThat(plan).containsPattern("/\\* PUBLIC\\.\\w+: JOURNAL_ENTRY_ID = \\?1 \\*/");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void postedEntriesQuery_shouldUsePostedCreatedIndex() {
+        String plan = explain("""
+            SELECT je.id
+            FROM journal_entry je
+            WHERE je.posted = TRUE
+            ORDER BY je.created_at, je.id
+            """);
+
+        assertThat(plan).containsIgnoringCase("IX_JOURNAL_ENTRY_POSTED_CREATED");
+    }
+
+    @Test
+    void postedPageQuery_shouldSeekToTheCursorOnPostedCreatedIndex() {
+        for (boolean backward : new boolean[] { false, true }) {
+            String plan = explain(JdbcJournalEntryViewRepository.pageKeysSql(false, true, backward, 21),
+                OffsetDateTime.now(ZoneOffset.UTC), UUID.randomUUID());
+
+            Matcher index = Pattern.compile("/\\* PUBLIC\\.IX_JOURNAL_ENTRY_POSTED_CREATED: (.*?)\\*/", Pattern.DOTALL).matcher(plan);
+            assertThat(index.find()).as(plan).isTrue();
+            assertThat(index.group(1)).contains("POSTED = TRUE", backward ? "CREATED_AT <= ?1" : "CREATED_AT >= ?1");
+            assertThat(plan).doesNotContainIgnoringCase("DISTINCT");
+        }
+    }
+
+    @Test
+    void accountPageQuery_shouldSeekToTheCursorOnAccountStatementIndex() {
+        for (boolean backward : new boolean[] { false, true }) {
+            String plan = explain(JdbcJournalEntryViewRepository.pageKeysSql(true, true, backward, 21),
+                UUID.randomUUID(), OffsetDateTime.now(ZoneOffset.UTC), UUID.randomUUID());
+
+            Matcher index = Pattern.compile("/\\* PUBLIC\\.IX_JOURNAL_LINE_ACCOUNT_STATEMENT: (.*?)\\*/", Pattern.DOTALL).matcher(plan);
+            assertThat(index.find()).as(plan).isTrue();
+            assertThat(index.group(1))
+                .contains("ACCOUNT_ID = ?1", "POSTED = TRUE", backward ? "ENTRY_CREATED_AT <= ?2" : "ENTRY_CREATED_AT >= ?2");
+            assertThat(plan).doesNotContainIgnoringCase("DISTINCT");
+        }
+    }
+
+    @Test
+    void balanceLookup_shouldUsePrimaryKey() {
+        String plan = explain("""
+            SELECT b.debit_minor, b.credit_minor
+            FROM account_balance b
+            WHERE b.account_id = ?
+            """, UUID.randomUUID());
+
+        assertThat(plan).containsIgnoringCase("PRIMARY_KEY");
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
@@ -0,0 +1,256 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside the usual test transaction: numbers are allocated by many
+ * threads, each in a transaction of its own that really commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostingSequencerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong();
+    private TransactionTemplate transaction;
+    private PostingSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        // Leases left behind by sequencers in other tests would hold the watermark back.
+        jdbcTemplate.update("DELETE FROM posting_sequence_lease");
+        transaction = new TransactionTemplate(transactionManager);
+        sequencer = TestSequencers.create(jdbcTemplate, transactionManager, 50, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM posting_sequence_lease");
+    }
+
+    @Test
+    void next_shouldHandOutUniqueNumbersAcrossThreadsAndBlocks() throws Exception {
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    for (int n = 0; n < 100; n++) {
+                        numbers.add(transaction.execute(status -> sequencer.next()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        sequencer.publish();
+
+        assertThat(numbers).hasSize(800);
+        long highest = numbers.stream().mapToLong(Long::longValue).max().orElseThrow();
+        long lowest = numbers.stream().mapToLong(Long::longValue).min().orElseThrow();
+        assertThat(highest - lowest).isEqualTo(799);
+        assertThat(sequencer.getWatermark()).isEqualTo(highest);
+    }
+
+    @Test
+    void getWatermark_shouldStayBelowANumberWhoseTransactionIsStillOpen() throws Exception {
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            Future<Long> held = pool.submit(() -> transaction.execute(status -> {
+                long number = sequencer.next();
+                allocated.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return number;
+            }));
+            allocated.await();
+            long later = transaction.execute(status -> sequencer.next());
+            sequencer.publish();
+
+            assertThat(sequencer.getWatermark()).isLessThan(later);
+
+            finish.countDown();
+            long number = held.get();
+            sequencer.publish();
+
+            assertThat(later).isGreaterThan(number);
+            assertThat(sequencer.getWatermark()).isEqualTo(later);
+        }
+    }
+
+    @Test
+    void commit_shouldFail_whenTheLeaseWasNotRenewedInTime() {
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            sequencer.next();
+            // Stalled past leaseTimeout - leaseMargin, so another instance may drop the lease any moment.
+            clock.addAndGet(Duration.ofSeconds(25).toNanos());
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("expired");
+    }
+
+    @Test
+    void commit_shouldSucceed_whileHeartbeatsKeepRenewingTheLease() throws Exception {
+        try (ExecutorService publisher = Executors.newSingleThreadExecutor()) {
+            transaction.executeWithoutResult(status -> {
+                sequencer.next();
+                clock.addAndGet(Duration.ofSeconds(20).toNanos());
+                try {
+                    publisher.submit(sequencer::publish).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                clock.addAndGet(Duration.ofSeconds(20).toNanos());
+            });
+        }
+    }
+
+    @Test
+    void commits_shouldNotWaitOnEachOther() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            Future<?> slow = pool.submit(() -> transaction.executeWithoutResult(status -> {
+                sequencer.next();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        // Stuck in its commit, after the sequencer has checked the lease.
+                        committing.countDown();
+                        try {
+                            finish.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }));
+            assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Long> fast = pool.submit(() -> transaction.execute(status -> sequencer.next()));
+            assertThat(fast.get(5, TimeUnit.SECONDS)).isNotNull();
+
+            finish.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void getWatermark_shouldWaitForAStaleLeaseUntilItIsDropped() throws Exception {
+        long first = transaction.execute(status -> sequencer.next());
+        sequencer.publish();
+        // The instance stalls for an hour: its heartbeat goes stale, and so do its own leases.
+        jdbcTemplate.update("UPDATE posting_sequence_lease SET heartbeat_at = ?", OffsetDateTime.now(ZoneOffset.UTC).minusHours(1));
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+        assertThat(sequencer.getWatermark()).isEqualTo(first);
+
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            CountDownLatch allocated = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            Future<?> open = pool.submit(() -> transaction.executeWithoutResult(status -> {
+                sequencer.next();
+                allocated.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            allocated.await();
+
+            assertThat(sequencer.getWatermark()).isEqualTo(first);
+            new JdbcSequenceLeaseRepository(jdbcTemplate).deleteStale(Instant.now());
+            assertThat(sequencer.getWatermark()).isGreaterThan(first);
+
+            finish.countDown();
+            assertThatThrownBy(open::get).hasRootCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void publisher_shouldLeaseTheNextBlockBeforeTheCurrentOneRunsOut() throws Exception {
+        sequencer.start();
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < 25; i++) {
+                    sequencer.next();
+                }
+            });
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (leaseRows() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(leaseRows()).isEqualTo(2);
+
+            long leasedBefore = nextNumber();
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < 26; i++) {
+                    sequencer.next();
+                }
+            });
+            assertThat(nextNumber()).isEqualTo(leasedBefore);
+        } finally {
+            sequencer.close();
+        }
+    }
+
+    @Test
+    void next_shouldRequireATransaction() {
+        assertThatThrownBy(() -> sequencer.next()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private int leaseRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posting_sequence_lease", Integer.class);
+    }
+
+    private long nextNumber() {
+        return jdbcTemplate.queryForObject("SELECT next_number FROM posting_sequence WHERE id = 1", Long.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.dustin.finledger.ledger.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dustin.finledger.config.PostingSequenceProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TestSequencers {
+
+    /** A sequencer on the test database, without the publisher thread. */
+    static PostingSequencer create(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return create(jdbcTemplate, transactionManager, 1000);
+    }
+
+    static PostingSequencer create(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int blockSize) {
+        return create(jdbcTemplate, transactionManager, blockSize, System::nanoTime);
+    }
+
+    /** As above, with leases timing out on {@code clock} instead of {@link System#nanoTime()}. */
+    static PostingSequencer create(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int blockSize, LongSupplier clock) {
+        return new PostingSequencer(
+            new JdbcSequenceLeaseRepository(jdbcTemplate),
+            transactionManager,
+            new PostingSequenceProperties(blockSize, Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+            new SimpleMeterRegistry(),
+            clock
+        );
+    }
+}
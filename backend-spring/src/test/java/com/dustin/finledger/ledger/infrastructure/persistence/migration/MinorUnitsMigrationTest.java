@@ -0,0 +1,88 @@
+package com.dustin.finledger.ledger.infrastructure.persistence.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs the real migrations against a throwaway database: stops at V3, seeds
+ * decimal amounts, then applies the minor-unit conversion.
+ */
+class MinorUnitsMigrationTest {
+
+    private static final String[] LOCATIONS = {
+        "classpath:db/migration",
+        "classpath:com/dustin/finledger/ledger/infrastructure/persistence/migration"
+    };
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        flyway("3").migrate();
+    }
+
+    @Test
+    void migrate_shouldConvertAmountsUsingEachCurrencyScale() {
+        UUID usdLine = insertLine("USD", "12.34");
+        UUID jpyLine = insertLine("JPY", "1500");
+        UUID bhdLine = insertLine("BHD", "0.125");
+        UUID account = UUID.randomUUID();
+        jdbc.update("INSERT INTO account_balance (account_id, currency, debit_total, credit_total, version) VALUES (?, 'USD', 100.50, 0.25, 0)", account);
+
+        flyway(null).migrate();
+
+        assertThat(minor(usdLine)).isEqualTo(1234L);
+        assertThat(minor(jpyLine)).isEqualTo(1500L);
+        assertThat(minor(bhdLine)).isEqualTo(125L);
+        assertThat(jdbc.queryForObject("SELECT debit_minor FROM account_balance WHERE account_id = ?", Long.class, account)).isEqualTo(10050L);
+        assertThat(jdbc.queryForObject("SELECT credit_minor FROM account_balance WHERE account_id = ?", Long.class, account)).isEqualTo(25L);
+    }
+
+    @Test
+    void migrate_shouldFail_whenAmountHasMoreDecimalsThanCurrencyAllows() {
+        insertLine("JPY", "10.50");
+
+        assertThatThrownBy(() -> flyway(null).migrate())
+            .isInstanceOf(FlywayException.class)
+            .hasStackTraceContaining("more decimal places than the currency allows");
+    }
+
+    private Flyway flyway(String target) {
+        var config = Flyway.configure().dataSource(dataSource).locations(LOCATIONS);
+        if (target != null) {
+            config.target(target);
+        }
+        return config.load();
+    }
+
+    private UUID insertLine(String currency, String amount) {
+        UUID entryId = UUID.randomUUID();
+        UUID lineId = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbc.update("INSERT INTO journal_entry (id, description, created_at, posted) VALUES (?, 'seed', ?, TRUE)", entryId, now);
+        jdbc.update("""
+            INSERT INTO journal_line (id, journal_entry_id, account_id, amount, currency, occurred_at, side, posted, entry_created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'DEBIT', TRUE, ?)
+            """, lineId, entryId, UUID.randomUUID(), new BigDecimal(amount), currency, now, now);
+        return lineId;
+    }
+
+    private long minor(UUID lineId) {
+        return jdbc.queryForObject("SELECT amount_minor FROM journal_line WHERE id = ?", Long.class, lineId);
+    }
+}